@@ -5,6 +5,7 @@ import com.nezhub.app.domain.enums.UserRole;
 public class AuthResponse {
 
     private String token;
+    private String refreshToken;
     private String username;
     private UserRole role;
 
@@ -24,6 +25,14 @@ public class AuthResponse {
         this.token = token;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
     public String getUsername() {
         return username;
     }
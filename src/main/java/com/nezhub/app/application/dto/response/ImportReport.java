@@ -0,0 +1,57 @@
+package com.nezhub.app.application.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Resultado de una importación masiva de proyectos.
+ * Solo se detallan los primeros errores (nezhub.import.max-reported-errors); failed los cuenta todos.
+ */
+public class ImportReport {
+
+    private long received;
+    private long imported;
+    private long failed;
+    private List<RowError> errors = new ArrayList<>();
+
+    public ImportReport() {
+    }
+
+    public long getReceived() {
+        return received;
+    }
+
+    public void setReceived(long received) {
+        this.received = received;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    /**
+     * row: número de fila en el payload (1 = primera fila de datos)
+     */
+    public record RowError(long row, String message) {}
+}
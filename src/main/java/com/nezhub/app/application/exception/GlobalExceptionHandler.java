@@ -1,5 +1,6 @@
 package com.nezhub.app.application.exception;
 
+import graphql.ErrorClassification;
 import graphql.GraphQLError;
 import graphql.GraphqlErrorBuilder;
 import graphql.schema.DataFetchingEnvironment;
@@ -75,6 +76,26 @@ public class GlobalExceptionHandler extends DataFetcherExceptionResolverAdapter
                     .build();
         }
 
+        // Cursor de paginación inválido
+        if (ex instanceof InvalidCursorException) {
+            return GraphqlErrorBuilder.newError()
+                    .errorType(ErrorType.BAD_REQUEST)
+                    .message(ex.getMessage())
+                    .path(env.getExecutionStepInfo().getPath())
+                    .location(env.getField().getSourceLocation())
+                    .build();
+        }
+
+        // Índice de búsqueda en construcción: el cliente puede reintentar
+        if (ex instanceof SearchIndexUnavailableException) {
+            return GraphqlErrorBuilder.newError()
+                    .errorType(ErrorClassification.errorClassification("UNAVAILABLE"))
+                    .message(ex.getMessage())
+                    .path(env.getExecutionStepInfo().getPath())
+                    .location(env.getField().getSourceLocation())
+                    .build();
+        }
+
         // Colaboración ya existe
         if (ex instanceof CollaborationAlreadyExistsException) {
             return GraphqlErrorBuilder.newError()
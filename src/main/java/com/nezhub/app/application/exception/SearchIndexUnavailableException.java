@@ -0,0 +1,11 @@
+package com.nezhub.app.application.exception;
+
+/**
+ * El índice en memoria de una búsqueda aún no está construido (arranque o fallo al reconstruirlo).
+ * El cliente debe reintentar más tarde.
+ */
+public class SearchIndexUnavailableException extends RuntimeException {
+    public SearchIndexUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -7,6 +7,7 @@ import com.nezhub.app.application.exception.InvalidCredentialsException;
 import com.nezhub.app.application.exception.UserAlreadyExistsException;
 import com.nezhub.app.domain.model.User;
 import com.nezhub.app.infrastructure.security.JwtUtil;
+import io.jsonwebtoken.JwtException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -39,13 +40,7 @@ public class AuthService {
 
         User savedUser = userService.save(user);
 
-        String token = jwtUtil.generateToken(savedUser.getEmail(), savedUser.getRole());
-
-        AuthResponse response = new AuthResponse();
-        response.setToken(token);
-        response.setUsername(savedUser.getUsername());
-        response.setRole(savedUser.getRole());
-        return response;
+        return buildAuthResponse(savedUser);
     }
 
     public AuthResponse login(LoginRequest request) {
@@ -56,10 +51,36 @@ public class AuthService {
             throw new InvalidCredentialsException("Credenciales inválidas");
         }
 
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole());
+        return buildAuthResponse(user);
+    }
+
+    /**
+     * Emite un nuevo par access/refresh token a partir de un refresh token válido.
+     * Vuelve a leer el usuario, así que un usuario eliminado o con rol cambiado
+     * no sigue obteniendo access tokens con datos antiguos.
+     */
+    public AuthResponse refresh(String refreshToken) {
+        JwtUtil.VerifiedToken verified;
+        try {
+            verified = jwtUtil.verify(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidCredentialsException("Refresh token inválido");
+        }
+
+        if (!verified.isRefreshToken()) {
+            throw new InvalidCredentialsException("Refresh token inválido");
+        }
+
+        User user = userService.findByEmail(verified.email())
+                .orElseThrow(() -> new InvalidCredentialsException("Refresh token inválido"));
+
+        return buildAuthResponse(user);
+    }
 
+    private AuthResponse buildAuthResponse(User user) {
         AuthResponse response = new AuthResponse();
-        response.setToken(token);
+        response.setToken(jwtUtil.generateToken(user));
+        response.setRefreshToken(jwtUtil.generateRefreshToken(user));
         response.setUsername(user.getUsername());
         response.setRole(user.getRole());
         return response;
@@ -0,0 +1,168 @@
+package com.nezhub.app.application.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Precarga de las claves calientes de la caché al arrancar (L1 vacía tras cada despliegue).
+ *
+ * FUNCIONAMIENTO:
+ * - Empieza con ApplicationReadyEvent, cuando el índice de skills está construido
+ *   (las etiquetas de skillStats dependen de él)
+ * - Claves: statusStats, skillStats para cada límite configurado y searchBySkill para los
+ *   top-N skills (skillStats con límite top-skills, que también queda precargado)
+ * - Las cargas pasan por los servicios (proxies de caché): si Redis ya tiene el valor solo se copia a L1
+ * - Concurrencia acotada (pool fijo) para no saturar MongoDB al arrancar varios nodos
+ *
+ * READINESS: como HealthIndicator (grupo readiness) está OUT_OF_SERVICE hasta que termina la precarga
+ * o vence el plazo (deadline); un fallo de la precarga no impide que el nodo quede listo.
+ */
+@Component
+public class CacheWarmup implements HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheWarmup.class);
+
+    private static final long INDEX_POLL_MILLIS = 100;
+
+    private final ProjectStatisticsService statisticsService;
+    private final ProjectService projectService;
+    private final SkillBitmapIndex skillIndex;
+    private final boolean enabled;
+    private final List<Integer> skillStatsLimits;
+    private final int topSkills;
+    private final int concurrency;
+    private final Duration deadline;
+
+    private final AtomicInteger warmed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    private ExecutorService executor;
+    private volatile long deadlineNanos = Long.MAX_VALUE;
+    private volatile boolean finished;
+
+    public CacheWarmup(ProjectStatisticsService statisticsService,
+                       ProjectService projectService,
+                       SkillBitmapIndex skillIndex,
+                       @Value("${nezhub.cache.warmup.enabled:true}") boolean enabled,
+                       @Value("${nezhub.cache.warmup.skill-stats-limits:10}") List<Integer> skillStatsLimits,
+                       @Value("${nezhub.cache.warmup.top-skills:20}") int topSkills,
+                       @Value("${nezhub.cache.warmup.concurrency:4}") int concurrency,
+                       @Value("${nezhub.cache.warmup.deadline:30s}") Duration deadline) {
+        this.statisticsService = statisticsService;
+        this.projectService = projectService;
+        this.skillIndex = skillIndex;
+        this.enabled = enabled;
+        this.skillStatsLimits = List.copyOf(skillStatsLimits);
+        this.topSkills = topSkills;
+        this.concurrency = concurrency;
+        this.deadline = deadline;
+        this.finished = !enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        deadlineNanos = System.nanoTime() + deadline.toNanos();
+        executor = Executors.newFixedThreadPool(concurrency + 1, runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::run);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = finished || System.nanoTime() > deadlineNanos ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("finished", finished)
+                .withDetail("warmed", warmed.get())
+                .withDetail("failed", failed.get())
+                .build();
+    }
+
+    private void run() {
+        long start = System.nanoTime();
+        try {
+            awaitSkillIndex();
+
+            List<CompletableFuture<?>> loads = new ArrayList<>();
+            loads.add(warm(statisticsService::getProjectStatsByStatus));
+            for (int limit : skillStatsLimits) {
+                loads.add(warm(() -> statisticsService.getMostPopularSkills(limit)));
+            }
+            // Los top-N skills salen de la misma caché que se acaba de precargar
+            loads.add(warm(() -> statisticsService.getMostPopularSkills(topSkills))
+                    .thenCompose(stats -> CompletableFuture.allOf(stats == null ? new CompletableFuture[0] :
+                            stats.stream().filter(skill -> skill.getSkill() != null)
+                                    .map(skill -> warm(() -> projectService.searchBySkill(skill.getSkill())))
+                                    .toArray(CompletableFuture[]::new))));
+
+            CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new))
+                    .get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            log.info("Precarga de caché completada: {} claves ({} fallidas) en {} ms",
+                    warmed.get(), failed.get(), (System.nanoTime() - start) / 1_000_000);
+        } catch (TimeoutException e) {
+            log.warn("Precarga de caché incompleta tras {}: {} claves cargadas, el nodo pasa a listo",
+                    deadline, warmed.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Precarga de caché interrumpida: {}", e.getMessage());
+        } finally {
+            finished = true;
+            // Las cargas en curso terminan, pero el pool no queda vivo tras la precarga
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Carga una clave en el pool; un fallo se cuenta y se registra, pero no cancela el resto.
+     */
+    private <T> CompletableFuture<T> warm(Supplier<T> load) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                T value = load.get();
+                warmed.incrementAndGet();
+                return value;
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                log.debug("Fallo al precargar una clave de caché: {}", e.getMessage());
+                return null;
+            }
+        }, executor);
+    }
+
+    private void awaitSkillIndex() throws InterruptedException {
+        while (!skillIndex.isReady() && System.nanoTime() < deadlineNanos) {
+            Thread.sleep(INDEX_POLL_MILLIS);
+        }
+    }
+}
@@ -7,6 +7,10 @@ import com.nezhub.app.domain.model.Collaboration;
 import com.nezhub.app.domain.model.Project;
 import com.nezhub.app.domain.repository.CollaborationRepository;
 import com.nezhub.app.domain.repository.ProjectRepository;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
@@ -24,11 +28,14 @@ public class CollaborationService {
 
     private final CollaborationRepository collaborationRepository;
     private final ProjectRepository projectRepository;
+    private final MongoTemplate mongoTemplate;
 
     public CollaborationService(CollaborationRepository collaborationRepository,
-                                ProjectRepository projectRepository) {
+                                ProjectRepository projectRepository,
+                                MongoTemplate mongoTemplate) {
         this.collaborationRepository = collaborationRepository;
         this.projectRepository = projectRepository;
+        this.mongoTemplate = mongoTemplate;
     }
 
     /**
@@ -102,11 +109,14 @@ public class CollaborationService {
                 LocalDateTime.now()
         );
         collaborationRepository.save(approvedCollaboration);
-        // Agregar colaborador al proyecto
+        // Agregar colaborador al proyecto ($addToSet: no reescribe el resto del documento, p. ej. votes)
         if (!project.getCollaborators().contains(collaboration.getUserId())) {
-            project.getCollaborators().add(collaboration.getUserId());
-            project.setUpdatedAt(LocalDateTime.now());
-            projectRepository.save(project);
+            mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(project.getId())),
+                    new Update().addToSet("collaborators", collaboration.getUserId())
+                            .set("updatedAt", LocalDateTime.now()),
+                    Project.class
+            );
         }
         return approvedCollaboration;
     }
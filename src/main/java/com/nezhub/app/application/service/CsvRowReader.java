@@ -0,0 +1,81 @@
+package com.nezhub.app.application.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector CSV en streaming (RFC 4180): separador coma, campos entre comillas dobles,
+ * "" como comilla escapada y saltos de línea dentro de campos entrecomillados.
+ * Lee una fila cada vez; nunca carga el fichero completo.
+ */
+class CsvRowReader {
+
+    private final Reader reader;
+    private int pending = -2;
+
+    CsvRowReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * RETORNA: los campos de la siguiente fila, o null al final del fichero
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Comillas sin cerrar al final del CSV");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pending = next;
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
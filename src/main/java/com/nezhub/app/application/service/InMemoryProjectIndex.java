@@ -0,0 +1,334 @@
+package com.nezhub.app.application.service;
+
+import com.nezhub.app.domain.model.Project;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Base de los índices de proyectos en memoria (ProjectTextIndex, SkillBitmapIndex).
+ *
+ * ESTRUCTURA (Data):
+ * - Cada proyecto tiene un ordinal denso (int); los de proyectos eliminados se reutilizan
+ * - Por ordinal: id y votos (contadores atómicos); cada índice añade sus propias columnas
+ *
+ * CICLO DE VIDA:
+ * - Se construye desde la colección projects con ApplicationReadyEvent; si falla se reintenta cada
+ *   retry-interval. Mientras tanto isReady() es false: ProjectSearchService resuelve los skills en MongoDB
+ *   (por índice) y la búsqueda de texto responde que no está disponible
+ * - Se reconstruye cada refresh-interval (si falla se sigue usando la copia actual): recoge los cambios hechos en otros nodos. La copia nueva se
+ *   construye sin bloquear las consultas y se sustituye al terminar; las altas, ediciones y bajas
+ *   locales hechas mientras tanto se vuelven a aplicar sobre ella. Los votos se leen de MongoDB más
+ *   los aún no volcados por VoteWriteBuffer; los que cambian durante la reconstrucción se corrigen en la siguiente
+ *
+ * CONCURRENCIA: ReadWriteLock; altas y bajas con el de escritura, consultas y votos con el de lectura.
+ */
+abstract class InMemoryProjectIndex<D extends InMemoryProjectIndex.Data> {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryProjectIndex.class);
+
+    static final int INITIAL_CAPACITY = 1024;
+    private static final int BUILD_BATCH_SIZE = 1000;
+
+    protected final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final String name;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectProvider<VoteWriteBuffer> writeBuffer;
+    private final Duration refreshInterval;
+    private final Duration retryInterval;
+
+    protected D data;
+    // Cambios locales durante una reconstrucción (null si no hay ninguna en curso)
+    private List<Consumer<D>> journal;
+
+    private volatile boolean ready;
+    private ScheduledExecutorService refresher;
+
+    /**
+     * name: nombre del índice en logs y en el hilo de reconstrucción.
+     */
+    protected InMemoryProjectIndex(String name, MongoTemplate mongoTemplate, ObjectProvider<VoteWriteBuffer> writeBuffer,
+                                   Duration refreshInterval, Duration retryInterval) {
+        this.name = name;
+        this.mongoTemplate = mongoTemplate;
+        this.writeBuffer = writeBuffer;
+        this.refreshInterval = refreshInterval;
+        this.retryInterval = retryInterval;
+        this.data = newData();
+    }
+
+    /**
+     * Contenido vacío del índice (una copia nueva por reconstrucción).
+     */
+    protected abstract D newData();
+
+    /**
+     * Campos de Project que necesita el índice (además de _id y votes).
+     */
+    protected abstract List<String> fields();
+
+    /**
+     * Resumen del contenido para el log de la reconstrucción.
+     */
+    protected abstract String describe(D data);
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-index-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.execute(this::refreshAndReschedule);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    private void refreshAndReschedule() {
+        Duration next = refresh() ? refreshInterval : retryInterval;
+        refresher.schedule(this::refreshAndReschedule, next.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reconstruye el índice desde MongoDB (cursor por lotes, solo los campos necesarios) y lo sustituye.
+     *
+     * RETORNA: false si no se pudo leer la colección (se conserva el índice anterior)
+     */
+    boolean refresh() {
+        long start = System.nanoTime();
+        Query query = new Query();
+        fields().forEach(query.fields()::include);
+        query.fields().include("votes");
+        query.cursorBatchSize(BUILD_BATCH_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        D fresh = newData();
+        VoteWriteBuffer buffer = writeBuffer.getIfAvailable();
+        try (var projects = mongoTemplate.stream(query, Project.class)) {
+            projects.forEach(project -> {
+                if (buffer != null && project.getVotes() != null) {
+                    project.setVotes(project.getVotes() + buffer.unappliedVotes(project.getId()));
+                }
+                fresh.index(project);
+            });
+            fresh.optimize();
+        } catch (Exception e) {
+            lock.writeLock().lock();
+            try {
+                journal = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("No se pudo construir el índice {}: {}", name, e.getMessage());
+            return false;
+        }
+
+        String summary;
+        lock.writeLock().lock();
+        try {
+            journal.forEach(change -> change.accept(fresh));
+            journal = null;
+            data = fresh;
+            ready = true;
+            summary = describe(fresh);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Índice {} construido: {} en {} ms", name, summary, (System.nanoTime() - start) / 1_000_000);
+        return true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void onProjectSaved(Project project) {
+        write(current -> current.index(project));
+    }
+
+    /**
+     * Alta masiva (importación): un único lock para todo el chunk.
+     */
+    public void onProjectsSaved(Collection<Project> projects) {
+        List<Project> copy = List.copyOf(projects);
+        write(current -> copy.forEach(current::index));
+    }
+
+    public void onProjectRemoved(String projectId) {
+        write(current -> current.remove(projectId));
+    }
+
+    /**
+     * Solo el lock de lectura: el voto es un contador atómico y no cambia la estructura.
+     */
+    public void onVotesChanged(String projectId, int delta) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = data.ordinals.get(projectId);
+            if (ordinal != null) {
+                data.votes.accumulateAndGet(ordinal, delta, (votes, change) -> Math.max(0, votes + change));
+                data.votesChanged(ordinal);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica un cambio al índice actual y, si hay una reconstrucción en curso, lo anota para la copia nueva.
+     */
+    private void write(Consumer<D> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(data);
+            if (journal != null) {
+                journal.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Lectura con el lock de lectura sobre el contenido actual.
+     */
+    protected <T> T read(Function<D, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(data);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * (score, _id) estrictamente posterior al cursor en orden descendente.
+     */
+    static boolean isAfter(double score, String projectId, double afterScore, String afterId) {
+        return score < afterScore
+                || (score == afterScore && projectId.compareTo(afterId) < 0);
+    }
+
+    /**
+     * Resultado de una búsqueda: score de relevancia (texto) o votos (skills), que ordena y hace de cursor.
+     */
+    public record Hit(String projectId, double score) {}
+
+    /**
+     * Contenido de un índice; se sustituye entero al reconstruirlo. Se modifica con el lock de escritura
+     * (salvo votes, atómico) o sin lock mientras se construye y aún no es visible.
+     */
+    abstract static class Data {
+        final Map<String, Integer> ordinals = new HashMap<>();
+        private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+
+        String[] ids = new String[INITIAL_CAPACITY];
+        AtomicIntegerArray votes = new AtomicIntegerArray(INITIAL_CAPACITY);
+        int nextOrdinal;
+
+        /**
+         * Indexa las columnas propias del índice para el ordinal (ya sin contenido anterior).
+         */
+        protected abstract void indexDocument(int ordinal, Project project);
+
+        /**
+         * Quita las columnas propias del índice para el ordinal.
+         */
+        protected abstract void unindexDocument(int ordinal);
+
+        /**
+         * Amplía las columnas propias del índice a capacity.
+         */
+        protected abstract void grow(int capacity);
+
+        /**
+         * Aviso tras cambiar los votos del ordinal (con el lock de lectura).
+         */
+        protected void votesChanged(int ordinal) {
+        }
+
+        /**
+         * Compactación tras construir el índice completo.
+         */
+        protected void optimize() {
+        }
+
+        final void index(Project project) {
+            Integer existing = ordinals.get(project.getId());
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                unindexDocument(ordinal);
+            } else {
+                ordinal = freeOrdinals.isEmpty() ? nextOrdinal++ : freeOrdinals.pop();
+                ensureCapacity(ordinal + 1);
+                ordinals.put(project.getId(), ordinal);
+            }
+            ids[ordinal] = project.getId();
+            votes.set(ordinal, project.getVotes() != null ? project.getVotes() : 0);
+            indexDocument(ordinal, project);
+        }
+
+        final void remove(String projectId) {
+            Integer ordinal = ordinals.remove(projectId);
+            if (ordinal != null) {
+                unindexDocument(ordinal);
+                ids[ordinal] = null;
+                votes.set(ordinal, 0);
+                freeOrdinals.push(ordinal);
+            }
+        }
+
+        int size() {
+            return ordinals.size();
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= ids.length) {
+                return;
+            }
+            int newCapacity = Math.max(capacity, ids.length * 2);
+            ids = Arrays.copyOf(ids, newCapacity);
+            AtomicIntegerArray grown = new AtomicIntegerArray(newCapacity);
+            for (int i = 0; i < votes.length(); i++) {
+                grown.set(i, votes.get(i));
+            }
+            votes = grown;
+            grow(newCapacity);
+        }
+    }
+}
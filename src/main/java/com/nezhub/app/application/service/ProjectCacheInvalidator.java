@@ -0,0 +1,123 @@
+package com.nezhub.app.application.service;
+
+import com.nezhub.app.domain.enums.ProjectStatus;
+import com.nezhub.app.domain.model.Project;
+import com.nezhub.app.infrastructure.config.RedisConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Invalidación precisa de las cachés derivadas de un proyecto.
+ *
+ * FUNCIONAMIENTO:
+ * - A partir del documento antes y después de la escritura se calculan tags:
+ *   skill:<clave canónica>, stats:skills, stats:status
+ * - Cada tag se traduce en la entrada o caché afectada:
+ *   - skill:<k>      -> evict searchBySkill::<k> (skills de antes y de después)
+ *   - stats:skills   -> clear skillStats (solo si cambian los skills)
+ *   - stats:status   -> clear statusStats (solo si cambia el status)
+ * - projectDetails::<id> lo invalida ProjectService con @CacheEvict por clave
+ *
+ * Las entradas de otros proyectos y skills no se tocan.
+ */
+@Component
+public class ProjectCacheInvalidator {
+
+    private static final String SKILL_TAG = "skill:";
+    private static final String SKILL_STATS_TAG = "stats:skills";
+    private static final String STATUS_STATS_TAG = "stats:status";
+
+    private final CacheManager cacheManager;
+
+    public ProjectCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * before: estado previo a la escritura (null = proyecto nuevo); after: documento guardado.
+     */
+    public void onProjectSaved(Snapshot before, Project after) {
+        invalidate(tags(before, Snapshot.of(after)));
+    }
+
+    public void onProjectsSaved(Collection<Project> projects) {
+        Set<String> tags = new LinkedHashSet<>();
+        projects.forEach(project -> tags.addAll(tags(null, Snapshot.of(project))));
+        invalidate(tags);
+    }
+
+    public void onProjectRemoved(Project removed) {
+        invalidate(tags(Snapshot.of(removed), null));
+    }
+
+    /**
+     * Tags afectados por pasar de before a after (cualquiera de los dos puede ser null).
+     * Las listas searchBySkill contienen el proyecto completo: cualquier cambio invalida sus skills.
+     */
+    static Set<String> tags(Snapshot before, Snapshot after) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (before != null) {
+            before.skillKeys().forEach(key -> tags.add(SKILL_TAG + key));
+        }
+        if (after != null) {
+            after.skillKeys().forEach(key -> tags.add(SKILL_TAG + key));
+        }
+
+        Set<String> skillsBefore = before != null ? Set.copyOf(before.skillKeys()) : null;
+        Set<String> skillsAfter = after != null ? Set.copyOf(after.skillKeys()) : null;
+        if (!Objects.equals(skillsBefore, skillsAfter)) {
+            tags.add(SKILL_STATS_TAG);
+        }
+
+        ProjectStatus statusBefore = before != null ? before.status() : null;
+        ProjectStatus statusAfter = after != null ? after.status() : null;
+        if (statusBefore != statusAfter) {
+            tags.add(STATUS_STATS_TAG);
+        }
+        return tags;
+    }
+
+    private void invalidate(Set<String> tags) {
+        for (String tag : tags) {
+            if (tag.startsWith(SKILL_TAG)) {
+                evict(RedisConfig.CacheNames.SEARCH_BY_SKILL, tag.substring(SKILL_TAG.length()));
+            } else if (SKILL_STATS_TAG.equals(tag)) {
+                clear(RedisConfig.CacheNames.SKILL_STATS);
+            } else if (STATUS_STATS_TAG.equals(tag)) {
+                clear(RedisConfig.CacheNames.STATUS_STATS);
+            }
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Campos de un proyecto que determinan sus tags (copia: el documento se modifica después).
+     */
+    public record Snapshot(List<String> skillKeys, ProjectStatus status) {
+
+        public static Snapshot of(Project project) {
+            List<String> skillKeys = project.getSkillKeys() != null ? List.copyOf(project.getSkillKeys()) : List.of();
+            return new Snapshot(skillKeys, project.getStatus());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.nezhub.app.application.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.nezhub.app.domain.enums.ProjectStatus;
+import com.nezhub.app.domain.model.Project;
+import com.nezhub.app.domain.model.SkillKeys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Exportación completa del catálogo de proyectos en NDJSON (un proyecto por línea).
+ *
+ * FUNCIONAMIENTO:
+ * - Un único cursor de MongoDB (MongoTemplate.stream) leído por lotes de nezhub.export.batch-size
+ * - Cada proyecto se serializa y se escribe directamente en el stream de salida
+ * - En memoria solo está el lote actual del cursor: el heap no depende del número de proyectos
+ */
+@Service
+public class ProjectExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectExportService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectWriter projectWriter;
+    private final int batchSize;
+
+    public ProjectExportService(MongoTemplate mongoTemplate, ObjectMapper objectMapper,
+                                @Value("${nezhub.export.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        // El stream de salida lo cierra quien lo abrió (controlador / contenedor)
+        this.projectWriter = objectMapper.writerFor(Project.class)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Escribe los proyectos (filtros opcionales) en NDJSON, ordenados por _id.
+     *
+     * RETORNA: número de proyectos exportados
+     */
+    public long exportNdjson(ProjectStatus status, String skill, OutputStream out) throws IOException {
+        Criteria criteria = new Criteria();
+        if (status != null) {
+            criteria.and("status").is(status);
+        }
+        if (skill != null) {
+            criteria.and("skillKeys").is(SkillKeys.canonical(skill));
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .cursorBatchSize(batchSize);
+
+        long count = 0;
+        try (Stream<Project> projects = mongoTemplate.stream(query, Project.class);
+             SequenceWriter writer = projectWriter.writeValues(out)) {
+            for (Project project : (Iterable<Project>) projects::iterator) {
+                writer.write(project);
+                count++;
+            }
+            writer.flush();
+            if (count > 0) {
+                out.write('\n');
+            }
+        }
+        log.info("Exportación NDJSON completada: {} proyectos (status={}, skill={})", count, status, skill);
+        return count;
+    }
+}
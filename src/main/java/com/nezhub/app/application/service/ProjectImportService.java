@@ -0,0 +1,267 @@
+package com.nezhub.app.application.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mongodb.bulk.BulkWriteError;
+import com.nezhub.app.application.dto.request.CreateProjectRequest;
+import com.nezhub.app.application.dto.response.ImportReport;
+import com.nezhub.app.domain.enums.ProjectStatus;
+import com.nezhub.app.domain.model.Project;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de proyectos (onboarding de partners).
+ *
+ * FUNCIONAMIENTO:
+ * - El payload se lee en streaming (JSON array, NDJSON o CSV): en memoria solo hay un chunk
+ * - Cada fila se valida con las mismas reglas que createProject (CreateProjectRequest)
+ * - Las filas válidas se insertan por chunks de nezhub.import.chunk-size con BulkOperations
+ *   UNORDERED: un documento rechazado no detiene al resto del chunk
+ * - Una vez por chunk (no por fila): leaderboard trending, índices de búsqueda, caché searchBySkill de los
+ *   skills del chunk y cachés de estadísticas
+ *
+ * FORMATO CSV:
+ * - Cabecera obligatoria con las columnas title, description, goals, requiredSkills (en cualquier orden)
+ * - goals y requiredSkills separados por ';'
+ */
+@Service
+public class ProjectImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectImportService.class);
+
+    private static final List<String> CSV_COLUMNS = List.of("title", "description", "goals", "requiredSkills");
+
+    private final MongoTemplate mongoTemplate;
+    private final Validator validator;
+    private final TrendingLeaderboard trendingLeaderboard;
+    private final ProjectTextIndex textIndex;
+    private final SkillBitmapIndex skillIndex;
+    private final ProjectCacheInvalidator cacheInvalidator;
+    private final ObjectReader rowReader;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public ProjectImportService(MongoTemplate mongoTemplate, Validator validator,
+                                TrendingLeaderboard trendingLeaderboard, ProjectTextIndex textIndex,
+                                SkillBitmapIndex skillIndex,
+                                ProjectCacheInvalidator cacheInvalidator,
+                                ObjectMapper objectMapper,
+                                @Value("${nezhub.import.chunk-size:1000}") int chunkSize,
+                                @Value("${nezhub.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.mongoTemplate = mongoTemplate;
+        this.validator = validator;
+        this.trendingLeaderboard = trendingLeaderboard;
+        this.textIndex = textIndex;
+        this.skillIndex = skillIndex;
+        this.cacheInvalidator = cacheInvalidator;
+        this.rowReader = objectMapper.readerFor(CreateProjectRequest.class);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Importa un JSON array de proyectos o NDJSON (un proyecto por línea).
+     */
+    public ImportReport importJson(InputStream in, String creatorId) throws IOException {
+        ImportContext context = new ImportContext(creatorId);
+        long row = 0;
+        try (MappingIterator<CreateProjectRequest> rows = rowReader.readValues(in)) {
+            while (true) {
+                row++;
+                CreateProjectRequest request;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    request = rows.nextValue();
+                } catch (JsonParseException e) {
+                    // JSON mal formado: no se puede localizar la siguiente fila
+                    context.reject(row, "JSON mal formado: " + e.getOriginalMessage());
+                    break;
+                } catch (JsonMappingException e) {
+                    context.reject(row, "Fila inválida: " + e.getOriginalMessage());
+                    continue;
+                }
+                context.accept(row, request);
+            }
+        }
+        return context.finish();
+    }
+
+    /**
+     * Importa CSV con cabecera (ver formato en la documentación de la clase).
+     */
+    public ImportReport importCsv(InputStream in, String creatorId) throws IOException {
+        ImportContext context = new ImportContext(creatorId);
+        CsvRowReader csv = new CsvRowReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+
+        List<String> header = csv.next();
+        List<String> names = header != null ? header.stream().map(String::trim).toList() : List.of();
+        if (!names.containsAll(CSV_COLUMNS)) {
+            context.failed(0, "Cabecera CSV inválida: se esperan las columnas " + CSV_COLUMNS);
+            return context.finish();
+        }
+        int[] columns = CSV_COLUMNS.stream().mapToInt(names::indexOf).toArray();
+
+        long row = 0;
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            row++;
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            if (fields.size() != names.size()) {
+                context.reject(row, "Número de columnas incorrecto: " + fields.size() + " (esperadas " + names.size() + ")");
+                continue;
+            }
+            context.accept(row, new CreateProjectRequest(
+                    fields.get(columns[0]),
+                    fields.get(columns[1]),
+                    splitList(fields.get(columns[2])),
+                    splitList(fields.get(columns[3]))
+            ));
+        }
+        return context.finish();
+    }
+
+    private static List<String> splitList(String value) {
+        return Arrays.stream(value.split(";"))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Estado de una importación: chunk pendiente e informe.
+     */
+    private class ImportContext {
+
+        private final String creatorId;
+        private final ImportReport report = new ImportReport();
+        private final List<Project> chunk = new ArrayList<>(chunkSize);
+        private final List<Long> chunkRows = new ArrayList<>(chunkSize);
+
+        private ImportContext(String creatorId) {
+            this.creatorId = creatorId;
+        }
+
+        void accept(long row, CreateProjectRequest request) {
+            report.setReceived(report.getReceived() + 1);
+
+            Set<ConstraintViolation<CreateProjectRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                failed(row, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                return;
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            chunk.add(new Project(
+                    new ObjectId().toHexString(), // id propio: el leaderboard lo necesita tras el bulk
+                    request.getTitle(),
+                    request.getDescription(),
+                    request.getGoals() != null ? request.getGoals() : new ArrayList<>(),
+                    request.getRequiredSkills(),
+                    ProjectStatus.OPEN,
+                    creatorId,
+                    new ArrayList<>(),
+                    0,
+                    now,
+                    now
+            ));
+            chunkRows.add(row);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, String message) {
+            report.setReceived(report.getReceived() + 1);
+            failed(row, message);
+        }
+
+        ImportReport finish() {
+            flush();
+            log.info("Importación de proyectos: {} recibidos, {} importados, {} con error",
+                    report.getReceived(), report.getImported(), report.getFailed());
+            return report;
+        }
+
+        private void failed(long row, String message) {
+            report.setFailed(report.getFailed() + 1);
+            if (report.getErrors().size() < maxReportedErrors) {
+                report.getErrors().add(new ImportReport.RowError(row, message));
+            }
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            Set<Integer> rejected = new HashSet<>();
+            BulkOperations inserts = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Project.class);
+            inserts.insert(chunk);
+            try {
+                inserts.execute();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    rejected.add(error.getIndex());
+                    failed(chunkRows.get(error.getIndex()), "Error al insertar: " + error.getMessage());
+                }
+            }
+
+            List<Project> inserted = new ArrayList<>(chunk.size() - rejected.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                if (!rejected.contains(i)) {
+                    inserted.add(chunk.get(i));
+                }
+            }
+            report.setImported(report.getImported() + inserted.size());
+            afterChunk(inserted);
+
+            chunk.clear();
+            chunkRows.clear();
+        }
+    }
+
+    /**
+     * Mantenimiento derivado, una vez por chunk.
+     */
+    private void afterChunk(List<Project> inserted) {
+        if (inserted.isEmpty()) {
+            return;
+        }
+        trendingLeaderboard.onProjectsSaved(inserted);
+        textIndex.onProjectsSaved(inserted);
+        skillIndex.onProjectsSaved(inserted);
+        cacheInvalidator.onProjectsSaved(inserted);
+    }
+}
@@ -0,0 +1,83 @@
+package com.nezhub.app.application.service;
+
+import com.nezhub.app.domain.model.Project;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Migración única: elimina los índices de projects anteriores a la paginación por (votes, _id).
+ *
+ * FUNCIONAMIENTO:
+ * - Los índices nuevos llevan otro nombre (status_votes_id_idx...): auto-index-creation los crea al arrancar
+ *   junto a los antiguos, sin conflicto de nombre (IndexKeySpecsConflict)
+ * - Aquí se eliminan los antiguos, solo si siguen teniendo las claves de la versión anterior
+ *   (un índice con ese nombre y otras claves no se toca)
+ * - Marcador en la colección migrations (_id = project-indexes): con done = true no se vuelve a comprobar.
+ *   Si dos nodos la ejecutan a la vez, el segundo drop falla y se ignora
+ */
+@Component
+public class ProjectIndexMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectIndexMigration.class);
+
+    static final String MIGRATIONS_COLLECTION = "migrations";
+    static final String MIGRATION_ID = "project-indexes";
+
+    // Índice antiguo -> claves con las que lo creó la versión anterior
+    static final Map<String, List<String>> LEGACY_INDEXES = Map.of(
+            "status_votes_idx", List.of("status", "votes"),
+            "skill_status_votes_idx", List.of("requiredSkills", "status", "votes")
+    );
+
+    private final MongoTemplate mongoTemplate;
+
+    public ProjectIndexMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Query marker = Query.query(Criteria.where("_id").is(MIGRATION_ID).and("done").is(true));
+        if (mongoTemplate.exists(marker, MIGRATIONS_COLLECTION)) {
+            return;
+        }
+
+        IndexOperations indexes = mongoTemplate.indexOps(Project.class);
+        for (IndexInfo index : indexes.getIndexInfo()) {
+            List<String> legacyKeys = LEGACY_INDEXES.get(index.getName());
+            if (legacyKeys == null || !legacyKeys.equals(keysOf(index))) {
+                continue;
+            }
+            try {
+                indexes.dropIndex(index.getName());
+                log.info("Índice antiguo {} eliminado de projects", index.getName());
+            } catch (DataAccessException e) {
+                // Otro nodo lo eliminó antes
+                log.debug("No se pudo eliminar el índice {}: {}", index.getName(), e.getMessage());
+            }
+        }
+
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(MIGRATION_ID)),
+                new Update().set("done", true).set("completedAt", new Date()), MIGRATIONS_COLLECTION);
+    }
+
+    private static List<String> keysOf(IndexInfo index) {
+        return index.getIndexFields().stream().map(IndexField::getKey).toList();
+    }
+}
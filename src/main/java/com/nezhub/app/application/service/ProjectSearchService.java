@@ -1,75 +1,266 @@
 package com.nezhub.app.application.service;
 
+import com.nezhub.app.application.exception.InvalidCursorException;
+import com.nezhub.app.application.exception.SearchIndexUnavailableException;
 import com.nezhub.app.domain.enums.ProjectStatus;
 import com.nezhub.app.domain.model.Project;
+import com.nezhub.app.domain.model.SkillKeys;
 import com.nezhub.app.domain.repository.ProjectRepository;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 
 @Service
 public class ProjectSearchService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int DEFAULT_SUGGESTIONS = 10;
+    public static final int MAX_SUGGESTIONS = 50;
+
+    // Claves del cursor: (votes, _id) en el mismo orden que los índices compuestos
+    private static final String CURSOR_VOTES = "votes";
+    private static final String CURSOR_ID = "id";
+
+    // Claves del cursor de la búsqueda de texto: (score, _id)
+    private static final String CURSOR_SCORE = "score";
+
     private final ProjectRepository projectRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ProjectTextIndex textIndex;
+    private final SkillBitmapIndex skillIndex;
 
-    public ProjectSearchService(ProjectRepository projectRepository) {
+    public ProjectSearchService(ProjectRepository projectRepository, MongoTemplate mongoTemplate,
+                                ProjectTextIndex textIndex, SkillBitmapIndex skillIndex) {
         this.projectRepository = projectRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.textIndex = textIndex;
+        this.skillIndex = skillIndex;
     }
 
     /**
-     * Busca proyectos por skill con caché.
+     * Página de proyectos con paginación keyset (cursor), para listado, búsqueda y trending.
+     * Es el único camino de búsqueda: nunca se carga la colección completa.
+     *
+     * ORDEN: votes desc, _id desc (el _id desempata y hace el orden estable)
+     *
+     * FUNCIONAMIENTO:
+     * - El cursor guarda (votes, _id) del último proyecto devuelto
+     * - La siguiente página filtra "después de" esa clave en lugar de usar skip,
+     *   así el coste no depende de la profundidad y las inserciones concurrentes
+     *   no desplazan las páginas
+     * - Se piden first + 1 documentos para saber si hay página siguiente
+     * - first se limita a MAX_PAGE_SIZE en el servidor
      *
-     * CACHÉ:
-     * - Key: skill específico
-     * - TTL: 30 minutos
+     * FILTROS DE SKILLS (SkillFilter: all AND, any OR, none NOT):
+     * - Sin creatorId se resuelven con SkillBitmapIndex (bitmaps en memoria)
+     * - Con creatorId, o si el índice no está listo: $all / $in / $nin en MongoDB
+     *
+     * ÍNDICES (rango sobre el índice, sin ordenar en memoria):
+     * - creatorId (+ skills, status): creator_status_votes_idx
+     * - skills (+ status): skillkeys_status_votes_idx
+     * - status o sin filtros: status_votes_id_idx. Sin status se pide status $in [todos]:
+     *   MongoDB recorre un rango por status y los mezcla ya ordenados
      */
-    @Cacheable(value = "searchBySkill", key = "#skill")
-    public List<Project> searchBySkill(String skill) {
-        return projectRepository.findByRequiredSkillsContaining(skill);
-    }
+    public Window<Project> searchWindow(SkillFilter skills, ProjectStatus status, String creatorId,
+                                        ScrollPosition after, int first) {
+        int pageSize = Math.min(Math.max(first, 1), MAX_PAGE_SIZE);
+        VotesKey afterKey = votesKeyOf(after);
 
+        // Filtros de skills sin creador: bitmaps en memoria (SkillBitmapIndex)
+        if (!skills.isEmpty() && creatorId == null && skillIndex.isReady()) {
+            return searchSkillBitmaps(skills, status, afterKey, pageSize);
+        }
 
-    public List<Project> searchByStatus(ProjectStatus status) {
-        return projectRepository.findByStatus(status);
-    }
+        List<Criteria> filters = new ArrayList<>();
+        if (creatorId != null) {
+            filters.add(Criteria.where("creatorId").is(creatorId));
+        }
+        if (!skills.all().isEmpty()) {
+            filters.add(Criteria.where("skillKeys").all(skills.all()));
+        }
+        if (!skills.any().isEmpty()) {
+            filters.add(Criteria.where("skillKeys").in(skills.any()));
+        }
+        if (!skills.none().isEmpty()) {
+            filters.add(Criteria.where("skillKeys").nin(skills.none()));
+        }
+        filters.add(status != null
+                ? Criteria.where("status").is(status)
+                : Criteria.where("status").in((Object[]) ProjectStatus.values()));
+
+        if (afterKey != null) {
+            filters.add(afterCriteria(afterKey));
+        }
+
+        Query query = Query.query(new Criteria().andOperator(filters))
+                .with(Sort.by(Sort.Direction.DESC, "votes", "_id"))
+                .limit(pageSize + 1)
+                .withHint(indexFor(skills, creatorId));
 
+        List<Project> results = mongoTemplate.find(query, Project.class);
+        boolean hasNext = results.size() > pageSize;
+        List<Project> page = hasNext ? results.subList(0, pageSize) : results;
 
-    public List<Project> searchByCreator(String creatorId) {
-        return projectRepository.findByCreatorId(creatorId);
+        return Window.from(page, index -> cursorOf(page.get(index)), hasNext);
     }
 
     /**
-     * Búsqueda avanzada con múltiples filtros.
+     * Camino en memoria: álgebra de bitmaps + top-N por votos; los documentos
+     * de la página se cargan con un único findAllById.
+     */
+    private Window<Project> searchSkillBitmaps(SkillFilter skills, ProjectStatus status,
+                                               VotesKey afterKey, int pageSize) {
+        List<InMemoryProjectIndex.Hit> hits = skillIndex.search(
+                skills.all(), skills.any(), skills.none(), status,
+                afterKey != null ? afterKey.votes() : null,
+                afterKey != null ? afterKey.id() : null,
+                pageSize
+        );
+        // El cursor usa los votos del índice: son los que ordenan esta búsqueda
+        return pageOf(hits, pageSize, hit -> Map.of(CURSOR_VOTES, (int) hit.score(), CURSOR_ID, hit.projectId()));
+    }
+
+    /**
+     * Búsqueda de texto (title, description, goals) sobre el índice invertido en memoria.
      *
-     * - Si ambos filtros (skill + status): usa método optimizado con índice compuesto
-     * - Si solo skill: usa searchBySkill (con caché)
-     * - Si solo status: usa searchByStatus
-     * - Si ninguno: retorna todos
+     * ORDEN: score desc (BM25 mezclado con votos), _id desc
+     * El cursor guarda (score, _id) del último resultado; los documentos de la página
+     * se cargan con un único findAllById.
      *
-     * CACHÉ:
-     * - Solo se cachea cuando se busca por skill únicamente
-     * - Combinaciones no se cachean
+     * Mientras el índice no está listo (arranque, hasta la primera construcción correcta) no hay camino de reserva:
+     * una búsqueda por regex en MongoDB recorrería la colección. Se responde con un error
+     * SearchIndexUnavailableException (UNAVAILABLE en GraphQL) para que el cliente reintente.
      */
-    public List<Project> searchWithFilters(String skill, ProjectStatus status) {
+    public Window<Project> searchText(String text, ScrollPosition after, int first) {
+        int pageSize = Math.min(Math.max(first, 1), MAX_PAGE_SIZE);
+        if (!textIndex.isReady()) {
+            throw new SearchIndexUnavailableException("La búsqueda de texto se está preparando, inténtalo de nuevo en unos segundos");
+        }
 
-        if (skill != null && status != null) {
-            return projectRepository.findByRequiredSkillsContainingAndStatus(skill, status);
+        Double afterScore = null;
+        String afterId = null;
+        if (after instanceof KeysetScrollPosition keyset && !keyset.isInitial()) {
+            if (!(keyset.getKeys().get(CURSOR_SCORE) instanceof Number score)
+                    || !(keyset.getKeys().get(CURSOR_ID) instanceof String id)) {
+                throw new InvalidCursorException("Cursor inválido");
+            }
+            afterScore = score.doubleValue();
+            afterId = id;
+        } else if (after != null && !after.isInitial()) {
+            throw new InvalidCursorException("Cursor inválido");
         }
 
-        if (skill != null) {
-            return searchBySkill(skill);
+        List<InMemoryProjectIndex.Hit> hits = textIndex.search(text, afterScore, afterId, pageSize);
+        return pageOf(hits, pageSize, hit -> Map.of(CURSOR_SCORE, hit.score(), CURSOR_ID, hit.projectId()));
+    }
+
+    /**
+     * Página de un índice en memoria: los documentos se cargan con un único findAllById
+     * (los borrados desde la búsqueda se omiten) y cada uno lleva el cursor de su hit.
+     */
+    private Window<Project> pageOf(List<InMemoryProjectIndex.Hit> hits, int pageSize,
+                                   Function<InMemoryProjectIndex.Hit, Map<String, Object>> cursorOf) {
+        boolean hasNext = hits.size() > pageSize;
+        List<InMemoryProjectIndex.Hit> pageHits = hasNext ? hits.subList(0, pageSize) : hits;
+
+        Map<String, Project> projects = new HashMap<>();
+        projectRepository.findAllById(pageHits.stream().map(InMemoryProjectIndex.Hit::projectId).toList())
+                .forEach(project -> projects.put(project.getId(), project));
+
+        List<Project> page = new ArrayList<>(pageHits.size());
+        List<InMemoryProjectIndex.Hit> pageCursors = new ArrayList<>(pageHits.size());
+        for (InMemoryProjectIndex.Hit hit : pageHits) {
+            Project project = projects.get(hit.projectId());
+            if (project != null) {
+                page.add(project);
+                pageCursors.add(hit);
+            }
         }
+        return Window.from(page, index -> ScrollPosition.forward(cursorOf.apply(pageCursors.get(index))), hasNext);
+    }
 
-        if (status != null) {
-            return searchByStatus(status);
+    /**
+     * Autocompletado de skills por prefijo, los más usados primero.
+     * Se sirve del diccionario de SkillBitmapIndex: nunca consulta MongoDB
+     * (lista vacía mientras el índice se construye).
+     */
+    public List<SkillBitmapIndex.Suggestion> suggestSkills(String prefix, int limit) {
+        if (!skillIndex.isReady()) {
+            return List.of();
         }
+        return skillIndex.suggest(prefix, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS));
+    }
 
-        return projectRepository.findAll();
+    private static String indexFor(SkillFilter skills, String creatorId) {
+        if (creatorId != null) {
+            return "creator_status_votes_idx";
+        }
+        return skills.all().isEmpty() && skills.any().isEmpty() ? "status_votes_id_idx" : "skillkeys_status_votes_idx";
     }
 
+    private static VotesKey votesKeyOf(ScrollPosition after) {
+        if (after instanceof KeysetScrollPosition keyset && !keyset.isInitial()) {
+            Map<String, ?> keys = keyset.getKeys();
+            if (!(keys.get(CURSOR_VOTES) instanceof Number votes) || !(keys.get(CURSOR_ID) instanceof String id)) {
+                throw new InvalidCursorException("Cursor inválido");
+            }
+            return new VotesKey(votes.intValue(), id);
+        }
+        if (after != null && !after.isInitial()) {
+            throw new InvalidCursorException("Cursor inválido");
+        }
+        return null;
+    }
 
-    public List<Project> searchByCreatorAndStatus(String creatorId, ProjectStatus status) {
-        return projectRepository.findByCreatorIdAndStatus(creatorId, status);
+    /**
+     * (votes, _id) estrictamente posterior a la clave del cursor en orden descendente.
+     * El votes <= v exterior acota el rango del índice; el $or resuelve el empate.
+     */
+    private static Criteria afterCriteria(VotesKey key) {
+        return Criteria.where("votes").lte(key.votes()).orOperator(
+                Criteria.where("votes").lt(key.votes()),
+                Criteria.where("votes").is(key.votes()).and("_id").lt(key.id())
+        );
     }
-}
 
+    private static ScrollPosition cursorOf(Project project) {
+        int votes = project.getVotes() != null ? project.getVotes() : 0;
+        return ScrollPosition.forward(Map.of(CURSOR_VOTES, votes, CURSOR_ID, project.getId()));
+    }
+
+    private record VotesKey(int votes, String id) {}
+
+    /**
+     * Filtro de skills: all (AND), any (OR), none (NOT). Listas vacías = sin restricción.
+     * Los skills se guardan en forma canónica (SkillKeys): "ReactJS" filtra igual que "react".
+     */
+    public record SkillFilter(List<String> all, List<String> any, List<String> none) {
+
+        public SkillFilter {
+            all = List.copyOf(SkillKeys.of(all));
+            any = List.copyOf(SkillKeys.of(any));
+            none = List.copyOf(SkillKeys.of(none));
+        }
+
+        public static SkillFilter empty() {
+            return new SkillFilter(null, null, null);
+        }
+
+        public boolean isEmpty() {
+            return all.isEmpty() && any.isEmpty() && none.isEmpty();
+        }
+    }
+}
@@ -5,28 +5,64 @@ import com.nezhub.app.application.dto.request.UpdateProjectRequest;
 import com.nezhub.app.application.exception.ProjectNotFoundException;
 import com.nezhub.app.application.exception.UnauthorizedOperationException;
 import com.nezhub.app.domain.enums.ProjectStatus;
+import com.nezhub.app.domain.enums.TrendingRank;
 import com.nezhub.app.domain.model.Project;
+import com.nezhub.app.domain.model.SkillKeys;
 import com.nezhub.app.domain.repository.ProjectRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 @Service
 public class ProjectService {
 
-    private final ProjectRepository projectRepository;
+    private static final Logger log = LoggerFactory.getLogger(ProjectService.class);
 
-    public ProjectService(ProjectRepository projectRepository) {
+    private final ProjectRepository projectRepository;
+    private final MongoTemplate mongoTemplate;
+    private final VoteWriteBuffer writeBuffer;
+    private final TrendingLeaderboard trendingLeaderboard;
+    private final ProjectTextIndex textIndex;
+    private final SkillBitmapIndex skillIndex;
+    private final ProjectCacheInvalidator cacheInvalidator;
+    private final Counter hotDegraded;
+    // HOT servido ordenado por votos (leaderboard no disponible); se registra al entrar y salir de ese estado
+    private final AtomicBoolean hotDegradedState = new AtomicBoolean();
+
+    public ProjectService(ProjectRepository projectRepository, MongoTemplate mongoTemplate,
+                          VoteWriteBuffer writeBuffer, TrendingLeaderboard trendingLeaderboard,
+                          ProjectTextIndex textIndex, SkillBitmapIndex skillIndex,
+                          ProjectCacheInvalidator cacheInvalidator, MeterRegistry meterRegistry) {
         this.projectRepository = projectRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.writeBuffer = writeBuffer;
+        this.trendingLeaderboard = trendingLeaderboard;
+        this.textIndex = textIndex;
+        this.skillIndex = skillIndex;
+        this.cacheInvalidator = cacheInvalidator;
+        this.hotDegraded = Counter.builder("nezhub.trending.degraded")
+                .description("Consultas HOT servidas con el orden por votos de MongoDB (leaderboard no disponible)")
+                .tag("rank", TrendingRank.HOT.name())
+                .register(meterRegistry);
     }
 
 
-    @CacheEvict(value = "trendingProjects", allEntries = true)
     public Project createProject(CreateProjectRequest request, String userId) {
         LocalDateTime now = LocalDateTime.now();
 
@@ -44,12 +80,25 @@ public class ProjectService {
                 now  // updatedAt
         );
 
-        return projectRepository.save(project);
+        Project saved = projectRepository.save(project);
+        trendingLeaderboard.onProjectSaved(saved);
+        textIndex.onProjectSaved(saved);
+        skillIndex.onProjectSaved(saved);
+        cacheInvalidator.onProjectSaved(null, saved);
+        return saved;
     }
 
 
 
-    @CacheEvict(value = {"projectDetails", "trendingProjects"}, allEntries = true)
+    /**
+     * Solo se invalida projectDetails::<projectId>; searchBySkill y las estadísticas
+     * según los skills y el status de antes y después (ProjectCacheInvalidator).
+     *
+     * Solo se escriben los campos editados ($set): votes no se toca, así que un voto concurrente
+     * no se pierde, y el proyecto devuelto (y propagado al leaderboard y a los índices)
+     * lleva los votos actuales más los aún no volcados.
+     */
+    @CacheEvict(value = "projectDetails", key = "#projectId")
     public Project updateProject(String projectId, UpdateProjectRequest request, String userId) {
 
         Project project = projectRepository.findById(projectId)
@@ -59,31 +108,48 @@ public class ProjectService {
         if (!project.getCreatorId().equals(userId)) {
             throw new UnauthorizedOperationException("Solo el creador puede actualizar este proyecto");
         }
+        ProjectCacheInvalidator.Snapshot before = ProjectCacheInvalidator.Snapshot.of(project);
 
         // Actualizar campos (solo si no son null)
+        Update update = new Update().set("updatedAt", LocalDateTime.now());
         if (request.getTitle() != null) {
-            project.setTitle(request.getTitle());
+            update.set("title", request.getTitle());
         }
         if (request.getDescription() != null) {
-            project.setDescription(request.getDescription());
+            update.set("description", request.getDescription());
         }
         if (request.getGoals() != null) {
-            project.setGoals(request.getGoals());
+            update.set("goals", request.getGoals());
         }
         if (request.getRequiredSkills() != null) {
-            project.setRequiredSkills(request.getRequiredSkills());
+            update.set("requiredSkills", request.getRequiredSkills());
+            update.set("skillKeys", SkillKeys.of(request.getRequiredSkills()));
         }
         if (request.getStatus() != null) {
-            project.setStatus(request.getStatus());
+            update.set("status", request.getStatus());
         }
 
-        project.setUpdatedAt(LocalDateTime.now());
-
-        return projectRepository.save(project);
+        Project saved = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(projectId)),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                Project.class
+        );
+        if (saved == null) {
+            throw new ProjectNotFoundException("Proyecto no encontrado con ID: " + projectId);
+        }
+        if (saved.getVotes() != null) {
+            saved.setVotes(saved.getVotes() + writeBuffer.unappliedVotes(projectId));
+        }
+        trendingLeaderboard.onProjectSaved(saved);
+        textIndex.onProjectSaved(saved);
+        skillIndex.onProjectSaved(saved);
+        cacheInvalidator.onProjectSaved(before, saved);
+        return saved;
     }
 
 
-    @CacheEvict(value = {"projectDetails", "trendingProjects"}, allEntries = true)
+    @CacheEvict(value = "projectDetails", key = "#projectId")
     public void deleteProject(String projectId, String userId) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ProjectNotFoundException("Proyecto no encontrado con ID: " + projectId));
@@ -93,36 +159,60 @@ public class ProjectService {
         }
 
         projectRepository.delete(project);
+        trendingLeaderboard.onProjectRemoved(projectId);
+        textIndex.onProjectRemoved(projectId);
+        skillIndex.onProjectRemoved(projectId);
+        cacheInvalidator.onProjectRemoved(project);
     }
 
     // TODO: Corregir error en caché (de momento funciona si quitamos caché)
-    @Cacheable(value = "projectDetails", key = "#projectId")
+    @Cacheable(value = "projectDetails", key = "#projectId", sync = true)
     public Project getProjectById(String projectId) {
         return projectRepository.findById(projectId)
                 .orElseThrow(() -> new ProjectNotFoundException("Proyecto no encontrado con ID: " + projectId));
     }
 
 
-    @Cacheable(value = "trendingProjects", key = "'trending_' + #limit")
-    public List<Project> getTrendingProjects(int limit) {
+    /**
+     * Proyectos OPEN trending (limit se acota a MAX_PAGE_SIZE).
+     * rankBy: VOTES (votos totales) o HOT (votos con decaimiento temporal)
+     * Se sirven desde TrendingLeaderboard (Redis + top-K en memoria);
+     * solo se consulta MongoDB (ordenado por votos) si el leaderboard no está disponible.
+     * Para HOT ese orden no es el pedido: se cuenta en nezhub.trending.degraded y se registra en el log.
+     */
+    public List<Project> getTrendingProjects(int limit, TrendingRank rankBy) {
+        int pageSize = Math.min(Math.max(limit, 1), ProjectSearchService.MAX_PAGE_SIZE);
+        List<Project> top = trendingLeaderboard.top(rankBy, pageSize);
+        if (top != null) {
+            if (rankBy == TrendingRank.HOT && hotDegradedState.compareAndSet(true, false)) {
+                log.info("Ranking HOT disponible de nuevo");
+            }
+            return top;
+        }
+        if (rankBy == TrendingRank.HOT) {
+            hotDegraded.increment();
+            if (hotDegradedState.compareAndSet(false, true)) {
+                log.warn("Ranking HOT no disponible: se sirve ordenado por votos desde MongoDB");
+            }
+        }
         return projectRepository.findByStatusOrderByVotesDesc(
                 ProjectStatus.OPEN,
-                org.springframework.data.domain.PageRequest.of(0, limit)
+                org.springframework.data.domain.PageRequest.of(0, pageSize)
         ).getContent();
     }
 
 
-    @Cacheable(value = "searchBySkill", key = "#skill")
+    /**
+     * Proyectos más votados que requieren el skill (como mucho MAX_PAGE_SIZE).
+     * Caché por clave canónica: "React", "react" y "ReactJS" comparten entrada.
+     */
+    @Cacheable(value = "searchBySkill", key = "T(com.nezhub.app.domain.model.SkillKeys).canonical(#skill)", sync = true)
     public List<Project> searchBySkill(String skill) {
-        return projectRepository.findByRequiredSkillsContaining(skill);
+        return projectRepository.findBySkillKeysContainingOrderByVotesDesc(
+                SkillKeys.canonical(skill), Limit.of(ProjectSearchService.MAX_PAGE_SIZE));
     }
 
 
-    @CacheEvict(value = "trendingProjects", allEntries = true)
-    public void invalidateTrendingCache() {
-        // Método vacío - solo invalida el caché
-    }
-
     /**
      * Obtiene todos los proyectos.
      * Sin caché porque puede retornar muchos registros.
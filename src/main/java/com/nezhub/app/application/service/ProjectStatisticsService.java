@@ -17,19 +17,22 @@ import java.util.List;
 public class ProjectStatisticsService {
 
     private final MongoTemplate mongoTemplate;
+    private final SkillBitmapIndex skillIndex;
 
-    public ProjectStatisticsService(MongoTemplate mongoTemplate) {
+    public ProjectStatisticsService(MongoTemplate mongoTemplate, SkillBitmapIndex skillIndex) {
         this.mongoTemplate = mongoTemplate;
+        this.skillIndex = skillIndex;
     }
 
     /**
      * Obtiene las habilidades más populares (más usadas en proyectos).
+     * Se agrupa por clave canónica (skillKeys): "React" y "ReactJS" suman en el mismo skill.
      */
-    @Cacheable(value = "skillStats", key = "#limit")
+    @Cacheable(value = "skillStats", key = "#limit", sync = true)
     public List<SkillStats> getMostPopularSkills(int limit) {
-        UnwindOperation unwind = Aggregation.unwind("requiredSkills");
+        UnwindOperation unwind = Aggregation.unwind("skillKeys");
 
-        GroupOperation group = Aggregation.group("requiredSkills")
+        GroupOperation group = Aggregation.group("skillKeys")
                 .count().as("count");
 
         SortOperation sort = Aggregation.sort(
@@ -49,13 +52,15 @@ public class ProjectStatisticsService {
                 SkillStats.class
         );
 
-        return results.getMappedResults();
+        List<SkillStats> stats = results.getMappedResults();
+        stats.forEach(skill -> skill.setSkill(skillIndex.labelOf(skill.getSkill())));
+        return stats;
     }
 
     /**
      * Cuenta proyectos por estado.
      */
-    @Cacheable(value = "statusStats")
+    @Cacheable(value = "statusStats", sync = true)
     public List<StatusStats> getProjectStatsByStatus() {
         GroupOperation group = Aggregation.group("status")
                 .count().as("count");
@@ -75,11 +80,16 @@ public class ProjectStatisticsService {
      * DTOs para resultados de aggregations.
      */
     public static class SkillStats {
-        private String _id;  // Skill name (del group by)
+        private String _id;  // Clave canónica del skill (del group by)
+        private String skill; // Etiqueta legible
         private long count;  // Número de proyectos
 
         public String getSkill() {
-            return _id;
+            return skill != null ? skill : _id;
+        }
+
+        public void setSkill(String skill) {
+            this.skill = skill;
         }
 
         public void set_id(String _id) {
@@ -100,7 +110,12 @@ public class ProjectStatisticsService {
         private long count;
 
         public ProjectStatus getStatus() {
-            return ProjectStatus.valueOf(_id);
+            return _id != null ? ProjectStatus.valueOf(_id) : null;
+        }
+
+        // Para leerlo de la caché de Redis, que lo guarda como "status"
+        public void setStatus(ProjectStatus status) {
+            this._id = status != null ? status.name() : null;
         }
 
         public void set_id(String _id) {
@@ -0,0 +1,323 @@
+package com.nezhub.app.application.service;
+
+import com.nezhub.app.domain.model.Project;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Índice invertido en memoria para la búsqueda de texto sobre title, description y goals.
+ *
+ * ESTRUCTURA (además de ordinales, ids y votos de InMemoryProjectIndex):
+ * - Por término: postings ordenados por ordinal (ordinal + frecuencia en arrays de int)
+ * - Por ordinal: longitud del documento y términos (para poder desindexarlo)
+ *
+ * SCORE:
+ * - BM25 (k1 = 1.2, b = 0.75); los tokens del título cuentan doble
+ * - Mezclado con votos: bm25 * (1 + votes-weight * ln(1 + votes))
+ *
+ * ACUMULADORES (score parcial por proyecto durante una consulta):
+ * - Denso: float[] del tamaño del corpus, de un pool de search.text.accumulators arrays compartidos
+ *   por todos los hilos (la memoria no crece con los hilos de Tomcat)
+ * - Disperso: mapa ordinal -> score, para consultas con pocos postings (menos de 1/SPARSE_RATIO del
+ *   corpus) o si el pool está agotado en ese momento
+ *
+ * FUNCIONAMIENTO: construcción, reconstrucción periódica y concurrencia en InMemoryProjectIndex.
+ * ProjectService lo mantiene al crear/actualizar/eliminar; VoteService actualiza los votos.
+ *
+ * MÉTRICAS:
+ * - nezhub.search.text.index.memory (bytes estimados, acumuladores densos incluidos), .documents, .terms
+ * - nezhub.search.text.query (latencia de las consultas)
+ */
+@Component
+public class ProjectTextIndex extends InMemoryProjectIndex<ProjectTextIndex.TextData> {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_BOOST = 2;
+
+    private static final Comparator<Hit> BY_SCORE_DESC = Comparator
+            .comparingDouble(Hit::score)
+            .thenComparing(Hit::projectId)
+            .reversed();
+
+    // Con menos postings que documentos / SPARSE_RATIO se acumula en un mapa (ver ACUMULADORES)
+    static final int SPARSE_RATIO = 16;
+
+    private final double votesWeight;
+    private final Timer queryTimer;
+
+    // Acumuladores densos libres; cada float[] queda a cero al devolverlo
+    private final BlockingQueue<float[]> accumulators;
+    private final AtomicLong accumulatorBytes = new AtomicLong();
+
+    public ProjectTextIndex(MongoTemplate mongoTemplate, MeterRegistry meterRegistry,
+                            ObjectProvider<VoteWriteBuffer> writeBuffer,
+                            @Value("${nezhub.search.text.votes-weight:0.2}") double votesWeight,
+                            @Value("${nezhub.search.text.accumulators:4}") int accumulators,
+                            @Value("${nezhub.search.index.refresh-interval:10m}") Duration refreshInterval,
+                            @Value("${nezhub.search.index.retry-interval:30s}") Duration retryInterval) {
+        super("text", mongoTemplate, writeBuffer, refreshInterval, retryInterval);
+        this.votesWeight = votesWeight;
+        this.accumulators = new ArrayBlockingQueue<>(Math.max(accumulators, 1));
+        for (int i = 0; i < accumulators; i++) {
+            this.accumulators.add(new float[0]);
+        }
+
+        this.queryTimer = Timer.builder("nezhub.search.text.query")
+                .description("Latencia de searchProjectsText (índice en memoria)")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("nezhub.search.text.index.memory", this, ProjectTextIndex::estimatedBytes)
+                .description("Memoria estimada del índice invertido")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+        Gauge.builder("nezhub.search.text.index.documents", this, index -> index.read(TextData::size))
+                .description("Proyectos indexados")
+                .register(meterRegistry);
+        Gauge.builder("nezhub.search.text.index.terms", this, index -> index.read(current -> current.termIds.size()))
+                .description("Términos distintos en el índice")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected TextData newData() {
+        return new TextData();
+    }
+
+    @Override
+    protected List<String> fields() {
+        return List.of("title", "description", "goals");
+    }
+
+    @Override
+    protected String describe(TextData current) {
+        return current.size() + " proyectos, " + current.termIds.size() + " términos";
+    }
+
+    /**
+     * Mejores resultados para la consulta, estrictamente después del cursor (afterScore, afterId).
+     * Se devuelven hasta limit + 1 hits para que el llamador sepa si hay página siguiente.
+     */
+    public List<Hit> search(String text, Double afterScore, String afterId, int limit) {
+        List<String> terms = TextTokenizer.tokenize(text).stream().distinct().toList();
+        return queryTimer.record(() -> read(current -> searchLocked(current, terms, afterScore, afterId, limit + 1)));
+    }
+
+    private List<Hit> searchLocked(TextData current, List<String> terms, Double afterScore, String afterId, int size) {
+        int documents = current.size();
+        List<Postings> lists = new ArrayList<>(terms.size());
+        long postings = 0;
+        for (String term : terms) {
+            Integer termId = current.termIds.get(term);
+            if (termId != null && current.postings.get(termId).size > 0) {
+                lists.add(current.postings.get(termId));
+                postings += current.postings.get(termId).size;
+            }
+        }
+        if (lists.isEmpty() || documents == 0) {
+            return List.of();
+        }
+
+        TopN<Hit> top = new TopN<>(size, BY_SCORE_DESC);
+        float[] scores = postings * SPARSE_RATIO >= documents ? accumulators.poll() : null;
+        if (scores == null) {
+            Map<Integer, Float> sparse = new HashMap<>((int) Math.min(postings * 2, Integer.MAX_VALUE));
+            for (Postings list : lists) {
+                double idf = idf(documents, list);
+                for (int i = 0; i < list.size; i++) {
+                    sparse.merge(list.docs[i], termScore(current, list, i, idf), Float::sum);
+                }
+            }
+            sparse.forEach((doc, bm25) -> collect(top, current, doc, bm25, afterScore, afterId));
+            return top.sorted();
+        }
+
+        if (scores.length < current.nextOrdinal) {
+            accumulatorBytes.addAndGet(4L * (current.ids.length - scores.length));
+            scores = new float[current.ids.length];
+        }
+        int[] touched = new int[(int) Math.min(postings, current.nextOrdinal)];
+        int touchedCount = 0;
+        try {
+            for (Postings list : lists) {
+                double idf = idf(documents, list);
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    if (scores[doc] == 0f) {
+                        touched[touchedCount++] = doc;
+                    }
+                    scores[doc] += termScore(current, list, i, idf);
+                }
+            }
+            for (int i = 0; i < touchedCount; i++) {
+                collect(top, current, touched[i], scores[touched[i]], afterScore, afterId);
+            }
+            return top.sorted();
+        } finally {
+            // Solo se limpian las posiciones usadas: el array vuelve al pool a cero
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0f;
+            }
+            accumulators.offer(scores);
+        }
+    }
+
+    private static double idf(int documents, Postings list) {
+        return Math.log(1 + (documents - list.size + 0.5) / (list.size + 0.5));
+    }
+
+    /**
+     * Aportación BM25 del término al documento en la posición i de sus postings.
+     */
+    private static float termScore(TextData current, Postings list, int i, double idf) {
+        double avgLength = (double) current.totalLength / current.size();
+        int tf = list.tfs[i];
+        double norm = K1 * (1 - B + B * current.docLengths[list.docs[i]] / avgLength);
+        return (float) (idf * tf * (K1 + 1) / (tf + norm));
+    }
+
+    private void collect(TopN<Hit> top, TextData current, int doc, float bm25, Double afterScore, String afterId) {
+        double score = bm25 * (1 + votesWeight * Math.log1p(current.votes.get(doc)));
+        if (afterScore == null || isAfter(score, current.ids[doc], afterScore, afterId)) {
+            top.add(new Hit(current.ids[doc], score));
+        }
+    }
+
+    /**
+     * Estimación (cabeceras de objeto y entradas de HashMap incluidas) recalculada en cada lectura de la métrica.
+     */
+    private double estimatedBytes() {
+        return read(current -> {
+            long bytes = 0;
+            for (String term : current.termIds.keySet()) {
+                bytes += 48 + 40 + term.length();   // entrada del HashMap + String
+            }
+            for (Postings list : current.postings) {
+                bytes += 24 + 2L * (16 + 4L * list.docs.length);
+            }
+            for (Map.Entry<String, Integer> entry : current.ordinals.entrySet()) {
+                bytes += 48 + 40 + entry.getKey().length();
+                int[] terms = current.docTerms[entry.getValue()];
+                bytes += terms != null ? 16 + 4L * terms.length : 0;
+            }
+            bytes += 4L * current.ids.length * 4;            // ids, docTerms, docLengths, votes
+            bytes += accumulatorBytes.get();
+            return (double) bytes;
+        });
+    }
+
+    static final class TextData extends InMemoryProjectIndex.Data {
+        private final Map<String, Integer> termIds = new HashMap<>();
+        private final List<Postings> postings = new ArrayList<>();
+
+        private int[][] docTerms = new int[INITIAL_CAPACITY][];
+        private int[] docLengths = new int[INITIAL_CAPACITY];
+        private long totalLength;
+
+        @Override
+        protected void indexDocument(int ordinal, Project project) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            int length = 0;
+            for (String token : TextTokenizer.tokenize(project.getTitle())) {
+                frequencies.merge(token, TITLE_BOOST, Integer::sum);
+                length += TITLE_BOOST;
+            }
+            List<String> bodyTokens = new ArrayList<>(TextTokenizer.tokenize(project.getDescription()));
+            if (project.getGoals() != null) {
+                project.getGoals().forEach(goal -> bodyTokens.addAll(TextTokenizer.tokenize(goal)));
+            }
+            for (String token : bodyTokens) {
+                frequencies.merge(token, 1, Integer::sum);
+                length++;
+            }
+
+            int[] terms = new int[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                int termId = termIds.computeIfAbsent(entry.getKey(), term -> {
+                    postings.add(new Postings());
+                    return postings.size() - 1;
+                });
+                postings.get(termId).put(ordinal, entry.getValue());
+                terms[i++] = termId;
+            }
+
+            docTerms[ordinal] = terms;
+            docLengths[ordinal] = length;
+            totalLength += length;
+        }
+
+        @Override
+        protected void unindexDocument(int ordinal) {
+            int[] terms = docTerms[ordinal];
+            if (terms != null) {
+                for (int termId : terms) {
+                    postings.get(termId).remove(ordinal);
+                }
+            }
+            totalLength -= docLengths[ordinal];
+            docTerms[ordinal] = null;
+            docLengths[ordinal] = 0;
+        }
+
+        @Override
+        protected void grow(int capacity) {
+            docTerms = Arrays.copyOf(docTerms, capacity);
+            docLengths = Arrays.copyOf(docLengths, capacity);
+        }
+    }
+
+    /**
+     * Lista de ordinales (ordenados) y frecuencias de un término.
+     */
+    private static final class Postings {
+        private int[] docs = new int[2];
+        private int[] tfs = new int[2];
+        private int size;
+
+        void put(int doc, int tf) {
+            int index = Arrays.binarySearch(docs, 0, size, doc);
+            if (index >= 0) {
+                tfs[index] = tf;
+                return;
+            }
+            index = -index - 1;
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            System.arraycopy(docs, index, docs, index + 1, size - index);
+            System.arraycopy(tfs, index, tfs, index + 1, size - index);
+            docs[index] = doc;
+            tfs[index] = tf;
+            size++;
+        }
+
+        void remove(int doc) {
+            int index = Arrays.binarySearch(docs, 0, size, doc);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(docs, index + 1, docs, index, size - index - 1);
+            System.arraycopy(tfs, index + 1, tfs, index, size - index - 1);
+            size--;
+        }
+    }
+}
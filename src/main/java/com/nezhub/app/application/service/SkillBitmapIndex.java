@@ -0,0 +1,388 @@
+package com.nezhub.app.application.service;
+
+import com.nezhub.app.domain.enums.ProjectStatus;
+import com.nezhub.app.domain.model.Project;
+import com.nezhub.app.domain.model.SkillKeys;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de proyectos por skill con bitsets comprimidos (RoaringBitmap).
+ *
+ * ESTRUCTURA (además de ordinales, ids y votos de InMemoryProjectIndex):
+ * - Diccionario de skills ordenado por clave canónica (SkillKeys): cada clave se interna como un id entero;
+ *   se guarda la primera grafía vista ("React") como etiqueta
+ * - Un bitmap de ordinales por skill, por status y por número de votos
+ *
+ * CONSULTA (allSkills AND, anySkills OR, noneSkills NOT, status):
+ * - status (o todos los proyectos) AND cada skill de allSkills
+ *   AND (OR de anySkills) ANDNOT cada skill de noneSkills
+ * - Orden votes desc, _id desc (mismo orden y cursor que ProjectSearchService.searchWindow): se recorren
+ *   los bitmaps de votos de mayor a menor desde el del cursor, y dentro de cada uno se ordena por _id.
+ *   Se para al completar la página: una página profunda no ordena todos los candidatos
+ *
+ * VOTOS: el contador cambia con el lock de lectura y el ordinal queda pendiente; la siguiente consulta
+ * lo mueve a su bitmap de votos antes de recorrerlos.
+ *
+ * AUTOCOMPLETADO (suggest):
+ * - Rango de claves con el prefijo en el diccionario ordenado, ordenado por número de proyectos
+ *   (cardinalidad del bitmap del skill). No consulta MongoDB
+ *
+ * FUNCIONAMIENTO: construcción, reconstrucción periódica y concurrencia en InMemoryProjectIndex.
+ * ProjectService, la importación y VoteService lo mantienen en cada escritura.
+ *
+ * MÉTRICAS: nezhub.search.skills.index.memory (bytes), .skills, nezhub.search.skills.query
+ */
+@Component
+public class SkillBitmapIndex extends InMemoryProjectIndex<SkillBitmapIndex.SkillData> {
+
+    private static final Comparator<Suggestion> BY_PROJECTS_DESC = Comparator
+            .comparingInt(Suggestion::count)
+            .reversed()
+            .thenComparing(Suggestion::skill);
+
+    // Dentro de un mismo número de votos
+    private static final Comparator<Hit> BY_ID_DESC = Comparator.comparing(Hit::projectId).reversed();
+
+    private final Timer queryTimer;
+
+    public SkillBitmapIndex(MongoTemplate mongoTemplate, MeterRegistry meterRegistry,
+                            ObjectProvider<VoteWriteBuffer> writeBuffer,
+                            @Value("${nezhub.search.index.refresh-interval:10m}") Duration refreshInterval,
+                            @Value("${nezhub.search.index.retry-interval:30s}") Duration retryInterval) {
+        super("skills", mongoTemplate, writeBuffer, refreshInterval, retryInterval);
+
+        this.queryTimer = Timer.builder("nezhub.search.skills.query")
+                .description("Latencia de las búsquedas por skills (bitmaps en memoria)")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("nezhub.search.skills.index.memory", this, SkillBitmapIndex::bitmapBytes)
+                .description("Memoria de los bitmaps de skills, status y votos")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+        Gauge.builder("nezhub.search.skills.index.skills", this, index -> index.read(current -> current.skillIds.size()))
+                .description("Skills distintos en el diccionario")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected SkillData newData() {
+        return new SkillData();
+    }
+
+    @Override
+    protected List<String> fields() {
+        return List.of("requiredSkills", "status");
+    }
+
+    @Override
+    protected String describe(SkillData current) {
+        return current.size() + " proyectos, " + current.skillIds.size() + " skills";
+    }
+
+    /**
+     * Proyectos que cumplen el filtro, ordenados por votos, estrictamente después del cursor.
+     * Se devuelven hasta limit + 1 hits para que el llamador sepa si hay página siguiente;
+     * el score de cada hit son sus votos según el índice (los mismos que usa el cursor).
+     *
+     * allSkills / anySkills / noneSkills: vacíos = sin restricción; status null = todos
+     */
+    public List<Hit> search(Collection<String> allSkills, Collection<String> anySkills,
+                            Collection<String> noneSkills, ProjectStatus status,
+                            Integer afterVotes, String afterId, int limit) {
+        return queryTimer.record(() -> read(current -> {
+            RoaringBitmap matches = current.match(allSkills, anySkills, noneSkills, status);
+            return matches.isEmpty() ? List.<Hit>of() : current.top(matches, afterVotes, afterId, limit + 1);
+        }));
+    }
+
+    /**
+     * Skills que empiezan por el prefijo (comparado en forma canónica), los más usados primero.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = SkillKeys.canonical(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return read(current -> {
+            TopN<Suggestion> top = new TopN<>(limit, BY_PROJECTS_DESC);
+            for (int skillId : current.skillIds.subMap(key, true, key + Character.MAX_VALUE, false).values()) {
+                int projects = current.bySkill.get(skillId).getCardinality();
+                if (projects > 0) {
+                    top.add(new Suggestion(current.skillLabels.get(skillId), projects));
+                }
+            }
+            return top.sorted();
+        });
+    }
+
+    /**
+     * Etiqueta legible de una clave canónica ("react" -> "React"); la propia clave si no está indexada.
+     */
+    public String labelOf(String skillKey) {
+        return read(current -> {
+            Integer skillId = current.skillIds.get(skillKey);
+            return skillId != null ? current.skillLabels.get(skillId) : skillKey;
+        });
+    }
+
+    private double bitmapBytes() {
+        return read(current -> {
+            long bytes = current.live.getLongSizeInBytes();
+            for (RoaringBitmap bitmap : current.bySkill) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            for (RoaringBitmap bitmap : current.byStatus.values()) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            current.votesLock.readLock().lock();
+            try {
+                for (RoaringBitmap bitmap : current.byVotes.values()) {
+                    bytes += bitmap.getLongSizeInBytes();
+                }
+            } finally {
+                current.votesLock.readLock().unlock();
+            }
+            return (double) bytes;
+        });
+    }
+
+    static final class SkillData extends InMemoryProjectIndex.Data {
+        private static final int NO_BUCKET = -1;
+
+        private final NavigableMap<String, Integer> skillIds = new TreeMap<>();
+        private final List<String> skillLabels = new ArrayList<>();
+        private final List<RoaringBitmap> bySkill = new ArrayList<>();
+        private final Map<ProjectStatus, RoaringBitmap> byStatus = new EnumMap<>(ProjectStatus.class);
+        private final RoaringBitmap live = new RoaringBitmap();
+
+        // Bitmap por número de votos; bucketOf: votos con los que está el ordinal en byVotes
+        private final NavigableMap<Integer, RoaringBitmap> byVotes = new TreeMap<>();
+        // Ordinales con votos cambiados aún sin mover de bitmap (se cambian con el lock de lectura)
+        private final Set<Integer> pendingVotes = ConcurrentHashMap.newKeySet();
+        // byVotes/bucketOf: escritura para mover ordinales pendientes, lectura para recorrerlos
+        private final ReentrantReadWriteLock votesLock = new ReentrantReadWriteLock();
+
+        private int[][] docSkills = new int[INITIAL_CAPACITY][];
+        private ProjectStatus[] statuses = new ProjectStatus[INITIAL_CAPACITY];
+        private int[] bucketOf = emptyBuckets(INITIAL_CAPACITY);
+
+        SkillData() {
+            for (ProjectStatus status : ProjectStatus.values()) {
+                byStatus.put(status, new RoaringBitmap());
+            }
+        }
+
+        @Override
+        protected void indexDocument(int ordinal, Project project) {
+            List<String> skills = project.getRequiredSkills() != null ? project.getRequiredSkills() : List.of();
+            int[] internedSkills = skills.stream()
+                    .filter(skill -> !SkillKeys.canonical(skill).isEmpty())
+                    .mapToInt(skill -> skillIds.computeIfAbsent(SkillKeys.canonical(skill), key -> {
+                        bySkill.add(new RoaringBitmap());
+                        skillLabels.add(skill.trim());
+                        return bySkill.size() - 1;
+                    }))
+                    .distinct()
+                    .toArray();
+            for (int skillId : internedSkills) {
+                bySkill.get(skillId).add(ordinal);
+            }
+
+            ProjectStatus status = project.getStatus() != null ? project.getStatus() : ProjectStatus.OPEN;
+            byStatus.get(status).add(ordinal);
+
+            live.add(ordinal);
+            docSkills[ordinal] = internedSkills;
+            statuses[ordinal] = status;
+            moveToBucket(ordinal, votes.get(ordinal));
+        }
+
+        @Override
+        protected void unindexDocument(int ordinal) {
+            int[] skills = docSkills[ordinal];
+            if (skills != null) {
+                for (int skillId : skills) {
+                    bySkill.get(skillId).remove(ordinal);
+                }
+            }
+            if (statuses[ordinal] != null) {
+                byStatus.get(statuses[ordinal]).remove(ordinal);
+            }
+            live.remove(ordinal);
+            docSkills[ordinal] = null;
+            statuses[ordinal] = null;
+            moveToBucket(ordinal, NO_BUCKET);
+        }
+
+        @Override
+        protected void grow(int capacity) {
+            int previous = bucketOf.length;
+            docSkills = Arrays.copyOf(docSkills, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            bucketOf = Arrays.copyOf(bucketOf, capacity);
+            Arrays.fill(bucketOf, previous, capacity, NO_BUCKET);
+        }
+
+        @Override
+        protected void votesChanged(int ordinal) {
+            pendingVotes.add(ordinal);
+        }
+
+        @Override
+        protected void optimize() {
+            live.runOptimize();
+            bySkill.forEach(RoaringBitmap::runOptimize);
+            byStatus.values().forEach(RoaringBitmap::runOptimize);
+            byVotes.values().forEach(RoaringBitmap::runOptimize);
+        }
+
+        RoaringBitmap match(Collection<String> allSkills, Collection<String> anySkills,
+                            Collection<String> noneSkills, ProjectStatus status) {
+            RoaringBitmap result = (status != null ? byStatus.get(status) : live).clone();
+
+            for (String skill : allSkills) {
+                RoaringBitmap projects = bitmapOf(skill);
+                if (projects == null) {
+                    return new RoaringBitmap();
+                }
+                result.and(projects);
+            }
+
+            if (!anySkills.isEmpty()) {
+                List<RoaringBitmap> alternatives = anySkills.stream()
+                        .map(this::bitmapOf)
+                        .filter(bitmap -> bitmap != null)
+                        .toList();
+                result.and(alternatives.isEmpty() ? new RoaringBitmap() : FastAggregation.or(alternatives.iterator()));
+            }
+
+            for (String skill : noneSkills) {
+                RoaringBitmap projects = bitmapOf(skill);
+                if (projects != null) {
+                    result.andNot(projects);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Los size primeros de matches en orden votes desc, _id desc tras el cursor; solo se ordenan
+         * los candidatos de los números de votos que llegan a la página.
+         */
+        List<Hit> top(RoaringBitmap matches, Integer afterVotes, String afterId, int size) {
+            applyPendingVotes();
+            votesLock.readLock().lock();
+            try {
+                NavigableMap<Integer, RoaringBitmap> buckets = afterVotes != null
+                        ? byVotes.headMap(afterVotes, true).descendingMap()
+                        : byVotes.descendingMap();
+                List<Hit> hits = new ArrayList<>(size);
+                for (Map.Entry<Integer, RoaringBitmap> bucket : buckets.entrySet()) {
+                    if (!RoaringBitmap.intersects(bucket.getValue(), matches)) {
+                        continue;
+                    }
+                    int bucketVotes = bucket.getKey();
+                    boolean cursorBucket = afterVotes != null && bucketVotes == afterVotes;
+                    TopN<Hit> top = new TopN<>(size - hits.size(), BY_ID_DESC);
+                    IntIterator ordinals = RoaringBitmap.and(bucket.getValue(), matches).getIntIterator();
+                    while (ordinals.hasNext()) {
+                        String projectId = ids[ordinals.next()];
+                        if (cursorBucket && projectId.compareTo(afterId) >= 0) {
+                            continue;
+                        }
+                        top.add(new Hit(projectId, bucketVotes));
+                    }
+                    hits.addAll(top.sorted());
+                    if (hits.size() >= size) {
+                        break;
+                    }
+                }
+                return hits;
+            } finally {
+                votesLock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Mueve a su bitmap de votos los ordinales con votos cambiados (con el lock de lectura del índice:
+         * no hay altas ni bajas en curso).
+         */
+        private void applyPendingVotes() {
+            if (pendingVotes.isEmpty()) {
+                return;
+            }
+            votesLock.writeLock().lock();
+            try {
+                Iterator<Integer> pending = pendingVotes.iterator();
+                while (pending.hasNext()) {
+                    int ordinal = pending.next();
+                    pending.remove();
+                    if (ids[ordinal] != null) {
+                        moveToBucket(ordinal, votes.get(ordinal));
+                    }
+                }
+            } finally {
+                votesLock.writeLock().unlock();
+            }
+        }
+
+        private void moveToBucket(int ordinal, int bucketVotes) {
+            int current = bucketOf[ordinal];
+            if (current == bucketVotes) {
+                return;
+            }
+            if (current != NO_BUCKET) {
+                RoaringBitmap bucket = byVotes.get(current);
+                bucket.remove(ordinal);
+                if (bucket.isEmpty()) {
+                    byVotes.remove(current);
+                }
+            }
+            if (bucketVotes != NO_BUCKET) {
+                byVotes.computeIfAbsent(bucketVotes, votes -> new RoaringBitmap()).add(ordinal);
+            }
+            bucketOf[ordinal] = bucketVotes;
+        }
+
+        private RoaringBitmap bitmapOf(String skill) {
+            Integer skillId = skillIds.get(SkillKeys.canonical(skill));
+            return skillId != null ? bySkill.get(skillId) : null;
+        }
+
+        private static int[] emptyBuckets(int capacity) {
+            int[] buckets = new int[capacity];
+            Arrays.fill(buckets, NO_BUCKET);
+            return buckets;
+        }
+    }
+
+    /**
+     * Sugerencia de autocompletado: skill y número de proyectos que lo usan.
+     */
+    public record Suggestion(String skill, int count) {}
+}
@@ -0,0 +1,166 @@
+package com.nezhub.app.application.service;
+
+import com.nezhub.app.domain.model.Project;
+import com.nezhub.app.domain.model.SkillKeys;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Migración de Project.skillKeys: rellena el campo en los documentos que no lo tienen.
+ *
+ * FUNCIONAMIENTO:
+ * - Barrido al arrancar, antes de ApplicationReadyEvent (los índices en memoria ya ven skillKeys),
+ *   y cada sweep-interval mientras dure el despliegue: los nodos de la versión anterior siguen
+ *   insertando y guardando proyectos sin skillKeys, así que no hay marcador de "hecha"
+ * - El filtro {skillKeys: {$exists: false}} va por skillkeys_status_votes_idx (los documentos sin el
+ *   campo están en la rama null del índice): sin pendientes, el barrido no recorre la colección
+ * - Marcador en la colección migrations (_id = skill-keys) como lease: un solo nodo barre a la vez
+ *   (lockedUntil) y el resto sigue sin esperar; si el nodo muere, otro lo reclama cuando vence LEASE
+ * - Actualiza por lotes con BulkOperations; cada $set vuelve a exigir que falte skillKeys para no pisar
+ *   lo que un nodo nuevo haya escrito mientras tanto
+ *
+ * El índice antiguo skill_status_votes_idx (sobre requiredSkills) lo elimina ProjectIndexMigration.
+ * Cuando ningún nodo anterior al campo siga desplegado, sweep-interval = 0 deja solo el barrido al arrancar.
+ */
+@Component
+public class SkillKeysMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillKeysMigration.class);
+
+    static final String MIGRATIONS_COLLECTION = "migrations";
+    static final String MIGRATION_ID = "skill-keys";
+    static final String SKILL_KEYS_INDEX = "skillkeys_status_votes_idx";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration sweepInterval;
+
+    private ScheduledExecutorService sweeper;
+
+    public SkillKeysMigration(MongoTemplate mongoTemplate,
+                              @Value("${nezhub.migration.skill-keys.sweep-interval:5m}") Duration sweepInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.sweepInterval = sweepInterval;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        sweep();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        long intervalMillis = sweepInterval.toMillis();
+        if (intervalMillis <= 0) {
+            return;
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "skill-keys-migration");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweepSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            log.warn("Barrido de skillKeys fallido, se reintenta en {}: {}", sweepInterval, e.getMessage());
+        }
+    }
+
+    /**
+     * Rellena skillKeys en los proyectos que no lo tienen.
+     *
+     * RETORNA: proyectos actualizados (0 si otro nodo tiene el lease)
+     */
+    long sweep() {
+        if (!claim()) {
+            return 0;
+        }
+
+        Query query = Query.query(Criteria.where("skillKeys").exists(false)).withHint(SKILL_KEYS_INDEX);
+        query.fields().include("requiredSkills");
+        query.cursorBatchSize(BATCH_SIZE);
+
+        long migrated = 0;
+        int pending = 0;
+        BulkOperations updates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Project.class);
+        try (Stream<Project> projects = mongoTemplate.stream(query, Project.class)) {
+            for (Project project : (Iterable<Project>) projects::iterator) {
+                updates.updateOne(
+                        Query.query(Criteria.where("_id").is(project.getId()).and("skillKeys").exists(false)),
+                        Update.update("skillKeys", SkillKeys.of(project.getRequiredSkills()))
+                );
+                if (++pending == BATCH_SIZE) {
+                    updates.execute();
+                    migrated += pending;
+                    pending = 0;
+                    updates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Project.class);
+                }
+            }
+        }
+        if (pending > 0) {
+            updates.execute();
+            migrated += pending;
+        }
+
+        // Libera el lease: el siguiente barrido (de cualquier nodo) puede empezar ya
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(MIGRATION_ID)),
+                new Update().set("lockedUntil", new Date()).set("lastSweepAt", new Date()).set("migrated", migrated),
+                MIGRATIONS_COLLECTION);
+        if (migrated > 0) {
+            log.info("Barrido de skillKeys: {} proyectos actualizados", migrated);
+        }
+        return migrated;
+    }
+
+    /**
+     * RETORNA: true si este nodo debe barrer (nadie tiene el lease).
+     * El upsert solo casa con un marcador vencido; si el marcador existe y no casa,
+     * el insert choca con el _id y otro nodo está barriendo.
+     */
+    private boolean claim() {
+        Instant now = Instant.now();
+        Query claimable = Query.query(Criteria.where("_id").is(MIGRATION_ID)
+                .and("lockedUntil").lt(Date.from(now)));
+        Update lease = new Update().set("lockedUntil", Date.from(now.plus(LEASE)));
+        try {
+            mongoTemplate.upsert(claimable, lease, MIGRATIONS_COLLECTION);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+}
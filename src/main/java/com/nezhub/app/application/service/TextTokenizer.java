@@ -0,0 +1,49 @@
+package com.nezhub.app.application.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Tokenizador de la búsqueda de texto (ProjectTextIndex).
+ *
+ * - Minúsculas y sin acentos ("Programación" -> "programacion")
+ * - Separa por cualquier carácter que no sea letra, dígito, '+' o '#' (conserva "c++", "c#")
+ * - Descarta stopwords comunes en español e inglés
+ */
+final class TextTokenizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}+#]+");
+
+    private static final Set<String> STOPWORDS = Set.of(
+            // Español
+            "a", "al", "con", "de", "del", "el", "en", "es", "la", "las", "lo", "los", "o",
+            "para", "por", "que", "se", "sin", "su", "sus", "un", "una", "uno", "y",
+            // Inglés
+            "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "this", "to", "with"
+    );
+
+    private TextTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        String normalized = DIACRITICS.matcher(
+                Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD)
+        ).replaceAll("");
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty() && !STOPWORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,53 @@
+package com.nezhub.app.application.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Los size mejores elementos según order (el primero es el mejor), con un heap acotado:
+ * O(n log size) y memoria O(size) sin ordenar todos los candidatos.
+ */
+final class TopN<T> {
+
+    private final int size;
+    private final Comparator<T> order;
+    // El peor de los retenidos en la cabeza
+    private final PriorityQueue<T> heap;
+
+    TopN(int size, Comparator<T> order) {
+        this.size = size;
+        this.order = order;
+        this.heap = new PriorityQueue<>(size + 1, order.reversed());
+    }
+
+    void add(T candidate) {
+        if (size <= 0) {
+            return;
+        }
+        if (heap.size() < size) {
+            heap.add(candidate);
+        } else if (order.compare(candidate, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(candidate);
+        }
+    }
+
+    int size() {
+        return heap.size();
+    }
+
+    boolean isFull() {
+        return heap.size() >= size;
+    }
+
+    /**
+     * Los retenidos, del mejor al peor.
+     */
+    List<T> sorted() {
+        List<T> result = new ArrayList<>(heap);
+        result.sort(order);
+        return result;
+    }
+}
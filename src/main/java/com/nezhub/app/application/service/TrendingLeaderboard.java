@@ -0,0 +1,813 @@
+package com.nezhub.app.application.service;
+
+import com.nezhub.app.domain.enums.ProjectStatus;
+import com.nezhub.app.domain.enums.TrendingRank;
+import com.nezhub.app.domain.model.Project;
+import com.nezhub.app.domain.model.Vote;
+import com.nezhub.app.domain.repository.ProjectRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Leaderboards de proyectos trending (solo proyectos OPEN).
+ *
+ * RANKINGS:
+ * - VOTES: votos totales
+ * - HOT: votos con decaimiento exponencial (half-life configurable). Se guarda
+ *   score = log2(Σ 2^((t_voto - epoch) / halfLife)), que ordena igual que la suma
+ *   decaída pero crece de forma acotada y se actualiza en O(1) con cada voto
+ *   (log-sum-exp), sin recorrer la colección votes
+ *
+ * FUNCIONAMIENTO:
+ * - Un Redis sorted set por ranking, compartido por todos los nodos,
+ *   actualizado en cada voto y en cada cambio de estado del proyecto
+ * - Copia en memoria de los top-K de cada ranking: getTrendingProjects(limit <= K)
+ *   se responde sin consultar MongoDB ni invalidar cachés
+ * - Cada refresh-interval las copias locales se recargan desde Redis para
+ *   incorporar los votos y cambios hechos en otros nodos
+ *
+ * REPARACIÓN (repairFailed): un cambio que falla al escribir en Redis anota sus proyectos; en el
+ * siguiente refresh se recalculan solo esos desde MongoDB (documento + sus votos, por índice) y se
+ * sobrescriben sus scores. Un ZINCRBY perdido no se queda para siempre sin recorrer la colección votes.
+ * Si se acumulan más de MAX_REPAIRS proyectos (Redis caído un buen rato) se reconstruye todo.
+ *
+ * RECONSTRUCCIÓN COMPLETA DESDE MONGODB (reconcile): recorre todos los proyectos OPEN y toda la
+ * colección votes, así que no es periódica por defecto:
+ * - Al arrancar si falta algún sorted set, tras demasiados fallos y desde el endpoint de actuator
+ *   trending (POST /actuator/trending); reconcile-interval > 0 la programa además cada ese tiempo
+ * - Un solo nodo a la vez (lock en Redis). Los rankings se construyen en claves temporales y se
+ *   sustituyen con RENAME: las lecturas nunca ven un ranking a medias
+ * - Los cambios de este nodo durante la reconstrucción se aplican a las claves actuales y se
+ *   anotan para repetirlos sobre las nuevas antes del RENAME. Los votos de otros nodos en ese
+ *   intervalo (o un voto contado también por MongoDB) se corrigen en la siguiente reconstrucción
+ */
+@Component
+public class TrendingLeaderboard {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingLeaderboard.class);
+
+    static final String VOTES_KEY = "nezhub:trending:votes";
+    static final String HOT_KEY = "nezhub:trending:hot";
+
+    // Origen de tiempos del score HOT (fijo: cambiarlo invalida los scores guardados)
+    private static final Instant HOT_EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+    // Un proyecto sin votos puntúa como un "voto" 10^6 half-lives anterior a su creación
+    private static final double NO_VOTES_OFFSET = 1_000_000d;
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    // Proyectos pendientes de reparar a partir de los cuales se reconstruye todo
+    static final int MAX_REPAIRS = 1000;
+
+    static final String REBUILD_LOCK_KEY = "nezhub:trending:rebuild-lock";
+    private static final String REBUILD_SUFFIX = ":rebuild";
+    // Margen sobre lo que tarda una reconstrucción: si el nodo cae, otro puede reconstruir después
+    private static final Duration REBUILD_LOCK_TTL = Duration.ofMinutes(10);
+
+    private static final Comparator<Ranked> BY_SCORE_DESC = Comparator
+            .comparingDouble(Ranked::score)
+            .reversed()
+            .thenComparing(ranked -> ranked.project().getId(), Comparator.reverseOrder());
+
+    // ZINCRBY solo si el proyecto ya está en el leaderboard (no añadir proyectos no OPEN)
+    private static final RedisScript<String> INCREMENT_IF_PRESENT = new DefaultRedisScript<>(
+            "if redis.call('ZSCORE', KEYS[1], ARGV[2]) then " +
+            "  return redis.call('ZINCRBY', KEYS[1], ARGV[1], ARGV[2]) " +
+            "end " +
+            "return false",
+            String.class
+    );
+
+    // Suma (ARGV[3] = 1) o resta (ARGV[3] = -1) 2^x en escala log2, solo si el proyecto ya está
+    private static final RedisScript<String> HOT_UPDATE_IF_PRESENT = new DefaultRedisScript<>(
+            "local current = redis.call('ZSCORE', KEYS[1], ARGV[1]) " +
+            "if not current then return false end " +
+            "current = tonumber(current) " +
+            "local x = tonumber(ARGV[2]) " +
+            "local score " +
+            "if ARGV[3] == '1' then " +
+            "  local hi = math.max(current, x) " +
+            "  local lo = math.min(current, x) " +
+            "  score = hi + math.log(1 + 2 ^ (lo - hi)) / math.log(2) " +
+            "else " +
+            "  local rest = 1 - 2 ^ (x - current) " +
+            "  if rest <= 1e-9 then score = x - " + NO_VOTES_OFFSET + " " +
+            "  else score = current + math.log(rest) / math.log(2) end " +
+            "end " +
+            "redis.call('ZADD', KEYS[1], score, ARGV[1]) " +
+            "return tostring(score)",
+            String.class
+    );
+
+    // DEL solo si el lock sigue siendo de este nodo (no borrar el de otro tras expirar el propio)
+    private static final RedisScript<Long> RELEASE_IF_OWNER = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('DEL', KEYS[1]) " +
+            "end " +
+            "return 0",
+            Long.class
+    );
+
+    private final StringRedisTemplate redisTemplate;
+    private final ProjectRepository projectRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectProvider<VoteWriteBuffer> writeBuffer;
+    private final int topK;
+    private final Duration refreshInterval;
+    private final Duration reconcileInterval;
+    private final double halfLifeMillis;
+
+    private final Map<TrendingRank, Board> boards = new EnumMap<>(TrendingRank.class);
+
+    // Cambios hechos durante una reconstrucción (null si no hay ninguna en curso), con rebuildLock
+    private final Object rebuildLock = new Object();
+    private volatile List<RedisChange<?>> journal;
+    private final AtomicBoolean reconcileRequested = new AtomicBoolean();
+    // Proyectos cuyo cambio en Redis falló (ver REPARACIÓN)
+    private final Set<String> failedProjects = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService refresher;
+
+    public TrendingLeaderboard(StringRedisTemplate redisTemplate,
+                               ProjectRepository projectRepository,
+                               MongoTemplate mongoTemplate,
+                               ObjectProvider<VoteWriteBuffer> writeBuffer,
+                               @Value("${nezhub.trending.top-k:100}") int topK,
+                               @Value("${nezhub.trending.refresh-interval:5s}") Duration refreshInterval,
+                               @Value("${nezhub.trending.reconcile-interval:0s}") Duration reconcileInterval,
+                               @Value("${nezhub.trending.hot.half-life:12h}") Duration halfLife) {
+        this.redisTemplate = redisTemplate;
+        this.projectRepository = projectRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.writeBuffer = writeBuffer;
+        this.topK = topK;
+        this.refreshInterval = refreshInterval;
+        this.reconcileInterval = reconcileInterval;
+        this.halfLifeMillis = halfLife.toMillis();
+
+        boards.put(TrendingRank.VOTES, new Board(VOTES_KEY));
+        boards.put(TrendingRank.HOT, new Board(HOT_KEY));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "trending-leaderboard");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.execute(this::initialize);
+        long intervalMillis = refreshInterval.toMillis();
+        refresher.scheduleWithFixedDelay(this::refreshSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        long reconcileMillis = reconcileInterval.toMillis();
+        if (reconcileMillis > 0) {
+            refresher.scheduleWithFixedDelay(this::reconcileSafely, reconcileMillis, reconcileMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * Top proyectos según el ranking.
+     *
+     * - limit <= K: copia en memoria (cada Project devuelto es una copia: el llamador puede modificarlo)
+     * - HOT con limit > K: rango del sorted set + una consulta findAllById
+     *
+     * RETORNA: null si hay que usar MongoDB (VOTES con limit > K o leaderboard no disponible)
+     */
+    public List<Project> top(TrendingRank rank, int limit) {
+        List<Ranked> current = boards.get(rank).top;
+        if (current != null && limit <= topK) {
+            return current.subList(0, Math.min(limit, current.size())).stream()
+                    .map(ranked -> copyOf(ranked.project()))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+        if (rank == TrendingRank.HOT) {
+            try {
+                return loadRange(HOT_KEY, limit);
+            } catch (Exception e) {
+                log.warn("No se pudo leer el ranking HOT de Redis: {}", e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Voto aceptado (síncrono o en el buffer write-behind).
+     */
+    public void onVoteAdded(Vote vote) {
+        applyVote(vote, 1);
+    }
+
+    /**
+     * Voto retirado (unvote, voto cancelado en el buffer o duplicado descartado).
+     */
+    public void onVoteRemoved(Vote vote) {
+        applyVote(vote, -1);
+    }
+
+    /**
+     * Proyecto creado o actualizado: entra o sale del leaderboard según su estado.
+     */
+    public void onProjectSaved(Project project) {
+        if (project.getStatus() != ProjectStatus.OPEN) {
+            onProjectRemoved(project.getId());
+            return;
+        }
+
+        Double hotScore = null;
+        try {
+            hotScore = write((votesKey, hotKey) -> {
+                redisTemplate.opsForZSet().add(votesKey, project.getId(), votesOf(project));
+                // El score HOT no se pisa en una actualización; solo se calcula al entrar en el ranking
+                Double existing = redisTemplate.opsForZSet().score(hotKey, project.getId());
+                if (existing != null) {
+                    return existing;
+                }
+                double score = hotScoreFromVotes(project);
+                redisTemplate.opsForZSet().add(hotKey, project.getId(), score);
+                return score;
+            });
+        } catch (Exception e) {
+            writeFailed(e, List.of(project.getId()));
+        }
+
+        upsertMirror(boards.get(TrendingRank.VOTES), project, votesOf(project));
+        if (hotScore != null) {
+            upsertMirror(boards.get(TrendingRank.HOT), project, hotScore);
+        }
+    }
+
+    /**
+     * Alta masiva de proyectos (importación): un ZADD por ranking y un único refresh.
+     */
+    public void onProjectsSaved(Collection<Project> projects) {
+        Set<ZSetOperations.TypedTuple<String>> votes = new HashSet<>();
+        Set<ZSetOperations.TypedTuple<String>> hot = new HashSet<>();
+        for (Project project : projects) {
+            if (project.getStatus() == ProjectStatus.OPEN) {
+                votes.add(ZSetOperations.TypedTuple.of(project.getId(), (double) votesOf(project)));
+                hot.add(ZSetOperations.TypedTuple.of(project.getId(), hotScoreFromVotes(project)));
+            }
+        }
+        if (votes.isEmpty()) {
+            return;
+        }
+        try {
+            write((votesKey, hotKey) -> {
+                redisTemplate.opsForZSet().add(votesKey, votes);
+                return redisTemplate.opsForZSet().addIfAbsent(hotKey, hot);
+            });
+            refresh();
+        } catch (Exception e) {
+            writeFailed(e, votes.stream().map(ZSetOperations.TypedTuple::getValue).toList());
+        }
+    }
+
+    public void onProjectRemoved(String projectId) {
+        try {
+            write((votesKey, hotKey) -> {
+                redisTemplate.opsForZSet().remove(votesKey, projectId);
+                return redisTemplate.opsForZSet().remove(hotKey, projectId);
+            });
+        } catch (Exception e) {
+            writeFailed(e, List.of(projectId));
+        }
+        for (Board board : boards.values()) {
+            synchronized (board) {
+                List<Ranked> current = board.top;
+                if (current != null && current.stream().anyMatch(r -> r.project().getId().equals(projectId))) {
+                    board.top = current.stream()
+                            .filter(r -> !r.project().getId().equals(projectId))
+                            .toList();
+                }
+            }
+        }
+    }
+
+    /**
+     * Recarga las copias locales: ids y scores desde Redis, documentos desde MongoDB (una consulta).
+     */
+    public void refresh() {
+        Map<TrendingRank, Map<String, Double>> scores = new EnumMap<>(TrendingRank.class);
+        Set<String> ids = new HashSet<>();
+        for (Map.Entry<TrendingRank, Board> entry : boards.entrySet()) {
+            Map<String, Double> boardScores = readRange(entry.getValue().key, topK);
+            scores.put(entry.getKey(), boardScores);
+            ids.addAll(boardScores.keySet());
+        }
+
+        Map<String, Project> projects = projectRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        // Los votos de Redis van por delante de MongoDB con write-behind
+        scores.get(TrendingRank.VOTES).forEach((id, votes) -> {
+            Project project = projects.get(id);
+            if (project != null) {
+                project.setVotes(votes.intValue());
+            }
+        });
+
+        scores.forEach((rank, boardScores) -> {
+            List<Ranked> refreshed = new ArrayList<>(boardScores.size());
+            boardScores.forEach((id, score) -> {
+                Project project = projects.get(id);
+                if (project != null) {
+                    refreshed.add(new Ranked(project, score));
+                }
+            });
+            refreshed.sort(BY_SCORE_DESC);
+            Board board = boards.get(rank);
+            synchronized (board) {
+                board.top = List.copyOf(refreshed);
+            }
+        });
+    }
+
+    /**
+     * Reconstruye los dos rankings desde MongoDB y sustituye los sorted sets (ver RECONCILIACIÓN).
+     *
+     * RETORNA: false si otro nodo está reconstruyendo (solo se recargan las copias locales)
+     */
+    boolean reconcile() {
+        String owner = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(REBUILD_LOCK_KEY, owner, REBUILD_LOCK_TTL))) {
+            refresh();
+            return false;
+        }
+
+        long start = System.nanoTime();
+        String votesKey = VOTES_KEY + REBUILD_SUFFIX;
+        String hotKey = HOT_KEY + REBUILD_SUFFIX;
+        synchronized (rebuildLock) {
+            journal = new ArrayList<>();
+            // La reconstrucción los incluye; los fallos a partir de aquí se anotan de nuevo
+            failedProjects.clear();
+        }
+        try {
+            redisTemplate.delete(List.of(votesKey, hotKey));
+            VoteWriteBuffer buffer = writeBuffer.getIfAvailable();
+            int projects = rebuildVotesFromMongo(votesKey, buffer);
+            rebuildHotFromMongo(hotKey, buffer);
+
+            int replayed;
+            synchronized (rebuildLock) {
+                replayed = journal.size();
+                journal.forEach(change -> change.apply(votesKey, hotKey));
+                replace(votesKey, VOTES_KEY);
+                replace(hotKey, HOT_KEY);
+            }
+            log.info("Leaderboard trending reconstruido desde MongoDB: {} proyectos, {} cambios repetidos en {} ms",
+                    projects, replayed, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            synchronized (rebuildLock) {
+                journal = null;
+            }
+            redisTemplate.execute(RELEASE_IF_OWNER, List.of(REBUILD_LOCK_KEY), owner);
+        }
+        refresh();
+        return true;
+    }
+
+    /**
+     * Recalcula desde MongoDB los proyectos cuyo cambio falló y sobrescribe sus scores (ver REPARACIÓN).
+     * Un voto de otro nodo entre la lectura y la escritura se pierde hasta la siguiente reconstrucción.
+     */
+    void repairFailed() {
+        List<String> ids = List.copyOf(failedProjects);
+        if (ids.isEmpty()) {
+            return;
+        }
+        failedProjects.removeAll(ids);
+        try {
+            Map<String, Project> projects = projectRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Project::getId, Function.identity()));
+            VoteWriteBuffer buffer = writeBuffer.getIfAvailable();
+            Map<String, List<Vote>> pending = buffer != null
+                    ? buffer.pendingVotes().stream()
+                        .filter(vote -> projects.containsKey(vote.getProjectId()))
+                        .collect(Collectors.groupingBy(Vote::getProjectId))
+                    : Map.of();
+
+            for (String id : ids) {
+                Project project = projects.get(id);
+                if (project == null || project.getStatus() != ProjectStatus.OPEN) {
+                    write((votesKey, hotKey) -> {
+                        redisTemplate.opsForZSet().remove(votesKey, id);
+                        return redisTemplate.opsForZSet().remove(hotKey, id);
+                    });
+                    continue;
+                }
+                double votes = votesOf(project) + (buffer != null ? buffer.unappliedVotes(id) : 0);
+                double hot = hotScoreFromVotes(project);
+                for (Vote vote : pending.getOrDefault(id, List.of())) {
+                    hot = HotScore.add(hot, hotExponent(vote.getCreatedAt()));
+                }
+                double hotScore = hot;
+                write((votesKey, hotKey) -> {
+                    redisTemplate.opsForZSet().add(votesKey, id, votes);
+                    return redisTemplate.opsForZSet().add(hotKey, id, hotScore);
+                });
+            }
+            log.info("Leaderboard trending: {} proyectos reparados desde MongoDB", ids.size());
+        } catch (RuntimeException e) {
+            failedProjects.addAll(ids);
+            throw e;
+        }
+    }
+
+    private void initialize() {
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(VOTES_KEY))
+                    || !Boolean.TRUE.equals(redisTemplate.hasKey(HOT_KEY))) {
+                reconcile();
+            } else {
+                refresh();
+            }
+        } catch (Exception e) {
+            reconcileRequested.set(true);
+            log.warn("Leaderboard trending no disponible, se usará MongoDB: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Ranking VOTES en key: id y votos de los proyectos OPEN, más los votos aún no volcados por VoteWriteBuffer.
+     * RETORNA: número de proyectos
+     */
+    private int rebuildVotesFromMongo(String key, VoteWriteBuffer buffer) {
+        Query query = Query.query(Criteria.where("status").is(ProjectStatus.OPEN));
+        query.fields().include("votes");
+        query.cursorBatchSize(REBUILD_BATCH_SIZE);
+
+        Map<String, Double> scores = new HashMap<>();
+        try (var projects = mongoTemplate.stream(query, Project.class)) {
+            projects.forEach(project -> {
+                int unapplied = buffer != null ? buffer.unappliedVotes(project.getId()) : 0;
+                scores.put(project.getId(), (double) (votesOf(project) + unapplied));
+            });
+        }
+        addAll(key, scores);
+        return scores.size();
+    }
+
+    /**
+     * Ranking HOT en key: una pasada por los proyectos OPEN y otra por votes
+     * (más los votos aún pendientes en VoteWriteBuffer).
+     */
+    private void rebuildHotFromMongo(String key, VoteWriteBuffer buffer) {
+        Query projectsQuery = Query.query(Criteria.where("status").is(ProjectStatus.OPEN));
+        projectsQuery.fields().include("createdAt");
+        projectsQuery.cursorBatchSize(REBUILD_BATCH_SIZE);
+
+        Map<String, Double> scores = new HashMap<>();
+        try (var projects = mongoTemplate.stream(projectsQuery, Project.class)) {
+            projects.forEach(project -> scores.put(project.getId(), noVotesScore(project.getCreatedAt())));
+        }
+
+        Query votesQuery = new Query();
+        votesQuery.fields().include("projectId").include("createdAt");
+        votesQuery.cursorBatchSize(REBUILD_BATCH_SIZE);
+        try (var votes = mongoTemplate.stream(votesQuery, Vote.class)) {
+            votes.forEach(vote -> addHotVote(scores, vote));
+        }
+        if (buffer != null) {
+            buffer.pendingVotes().forEach(vote -> addHotVote(scores, vote));
+        }
+        addAll(key, scores);
+    }
+
+    private void addHotVote(Map<String, Double> scores, Vote vote) {
+        scores.computeIfPresent(vote.getProjectId(), (id, score) -> HotScore.add(score, hotExponent(vote.getCreatedAt())));
+    }
+
+    /**
+     * Sustituye target por source; si source no existe (ningún proyecto OPEN) target queda vacío.
+     */
+    private void replace(String source, String target) {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(source))) {
+            redisTemplate.rename(source, target);
+        } else {
+            redisTemplate.delete(target);
+        }
+    }
+
+    /**
+     * Aplica el cambio a los sorted sets actuales y, si hay una reconstrucción en curso, lo anota
+     * (aunque falle aquí) para repetirlo sobre los nuevos.
+     */
+    private <T> T write(RedisChange<T> change) {
+        if (journal == null) {
+            return change.apply(VOTES_KEY, HOT_KEY);
+        }
+        synchronized (rebuildLock) {
+            if (journal != null) {
+                journal.add(change);
+            }
+            return change.apply(VOTES_KEY, HOT_KEY);
+        }
+    }
+
+    /**
+     * Redis no reflejará el cambio: esos proyectos se reparan desde MongoDB en el siguiente refresh.
+     */
+    private void writeFailed(Exception e, Collection<String> projectIds) {
+        failedProjects.addAll(projectIds);
+        if (failedProjects.size() > MAX_REPAIRS) {
+            reconcileRequested.set(true);
+        }
+        log.warn("No se pudo actualizar el leaderboard en Redis, se repararán {} proyectos desde MongoDB: {}",
+                projectIds.size(), e.getMessage());
+    }
+
+    /**
+     * Score HOT de un proyecto que entra (o vuelve) al ranking.
+     */
+    private double hotScoreFromVotes(Project project) {
+        double score = noVotesScore(project.getCreatedAt());
+        if (votesOf(project) == 0) {
+            return score;
+        }
+        Query query = Query.query(Criteria.where("projectId").is(project.getId()));
+        query.fields().include("createdAt");
+        try (var votes = mongoTemplate.stream(query, Vote.class)) {
+            for (Vote vote : (Iterable<Vote>) votes::iterator) {
+                score = HotScore.add(score, hotExponent(vote.getCreatedAt()));
+            }
+        }
+        return score;
+    }
+
+    private void addAll(String key, Map<String, Double> scores) {
+        Set<ZSetOperations.TypedTuple<String>> batch = new HashSet<>();
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            batch.add(ZSetOperations.TypedTuple.of(entry.getKey(), entry.getValue()));
+            if (batch.size() >= REBUILD_BATCH_SIZE) {
+                redisTemplate.opsForZSet().add(key, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            redisTemplate.opsForZSet().add(key, batch);
+        }
+    }
+
+    private Map<String, Double> readRange(String key, int limit) {
+        Set<ZSetOperations.TypedTuple<String>> entries =
+                redisTemplate.opsForZSet().reverseRangeWithScores(key, 0, limit - 1);
+        Map<String, Double> scores = new LinkedHashMap<>();
+        if (entries != null) {
+            for (ZSetOperations.TypedTuple<String> entry : entries) {
+                scores.put(entry.getValue(), entry.getScore() != null ? entry.getScore() : 0d);
+            }
+        }
+        return scores;
+    }
+
+    private List<Project> loadRange(String key, int limit) {
+        Map<String, Double> scores = readRange(key, limit);
+        Map<String, Project> projects = projectRepository.findAllById(scores.keySet()).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        List<Project> result = new ArrayList<>(scores.size());
+        for (String id : scores.keySet()) {
+            Project project = projects.get(id);
+            if (project != null) {
+                result.add(project);
+            }
+        }
+        return result;
+    }
+
+    private void refreshSafely() {
+        if (reconcileRequested.getAndSet(false)) {
+            reconcileSafely();
+            return;
+        }
+        try {
+            repairFailed();
+        } catch (Exception e) {
+            log.warn("No se pudo reparar el leaderboard trending desde MongoDB: {}", e.getMessage());
+        }
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("No se pudo refrescar el leaderboard trending: {}", e.getMessage());
+        }
+    }
+
+    private void reconcileSafely() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            reconcileRequested.set(true);
+            log.warn("No se pudo reconciliar el leaderboard trending con MongoDB: {}", e.getMessage());
+        }
+    }
+
+    private void applyVote(Vote vote, int sign) {
+        String projectId = vote.getProjectId();
+        double exponent = hotExponent(vote.getCreatedAt());
+
+        Scores scores = new Scores(null, null);
+        try {
+            scores = write((votesKey, hotKey) -> {
+                String votesResult = redisTemplate.execute(INCREMENT_IF_PRESENT, List.of(votesKey),
+                        Integer.toString(sign), projectId);
+                String hotResult = redisTemplate.execute(HOT_UPDATE_IF_PRESENT, List.of(hotKey),
+                        projectId, Double.toString(exponent), Integer.toString(sign));
+                return new Scores(votesResult != null ? Double.valueOf(votesResult) : null,
+                        hotResult != null ? Double.valueOf(hotResult) : null);
+            });
+        } catch (Exception e) {
+            writeFailed(e, List.of(projectId));
+        }
+
+        Double votesScore = scores.votes();
+        Double hotScore = scores.hot();
+        updateMirror(TrendingRank.VOTES, projectId, sign, votesScore,
+                current -> Math.max(0, current + sign));
+        updateMirror(TrendingRank.HOT, projectId, sign, hotScore,
+                current -> sign > 0 ? HotScore.add(current, exponent) : HotScore.remove(current, exponent));
+    }
+
+    /**
+     * Actualiza la entrada del proyecto en la copia local. Si no estaba y ahora
+     * supera al último del top-K, se carga (caso poco frecuente).
+     */
+    private void updateMirror(TrendingRank rank, String projectId, int voteDelta, Double newScore,
+                              DoubleUnaryOperator localUpdate) {
+        Board board = boards.get(rank);
+        synchronized (board) {
+            List<Ranked> current = board.top;
+            if (current == null) {
+                return;
+            }
+            List<Ranked> updated = new ArrayList<>(current.size());
+            boolean found = false;
+            for (Ranked ranked : current) {
+                if (ranked.project().getId().equals(projectId)) {
+                    Project copy = copyOf(ranked.project());
+                    copy.setVotes(Math.max(0, votesOf(copy) + voteDelta));
+                    double score = newScore != null ? newScore : localUpdate.applyAsDouble(ranked.score());
+                    updated.add(new Ranked(copy, score));
+                    found = true;
+                } else {
+                    updated.add(ranked);
+                }
+            }
+            if (found) {
+                updated.sort(BY_SCORE_DESC);
+                board.top = List.copyOf(updated);
+                return;
+            }
+        }
+
+        if (newScore != null && entersTop(board, newScore)) {
+            projectRepository.findById(projectId).ifPresent(project -> upsertMirror(board, project, newScore));
+        }
+    }
+
+    private void upsertMirror(Board board, Project project, double score) {
+        synchronized (board) {
+            List<Ranked> current = board.top;
+            if (current == null) {
+                return;
+            }
+            List<Ranked> updated = new ArrayList<>(current.size() + 1);
+            for (Ranked existing : current) {
+                if (!existing.project().getId().equals(project.getId())) {
+                    updated.add(existing);
+                }
+            }
+            updated.add(new Ranked(project, score));
+            updated.sort(BY_SCORE_DESC);
+            board.top = List.copyOf(updated.size() > topK ? updated.subList(0, topK) : updated);
+        }
+    }
+
+    private boolean entersTop(Board board, double score) {
+        List<Ranked> current = board.top;
+        return current != null
+                && (current.size() < topK || score > current.get(current.size() - 1).score());
+    }
+
+    /**
+     * Exponente del voto en half-lives desde HOT_EPOCH.
+     */
+    private double hotExponent(LocalDateTime time) {
+        Instant instant = time != null ? time.atZone(ZoneId.systemDefault()).toInstant() : Instant.now();
+        return (instant.toEpochMilli() - HOT_EPOCH.toEpochMilli()) / halfLifeMillis;
+    }
+
+    private double noVotesScore(LocalDateTime createdAt) {
+        return hotExponent(createdAt) - NO_VOTES_OFFSET;
+    }
+
+    private static int votesOf(Project project) {
+        return project.getVotes() != null ? project.getVotes() : 0;
+    }
+
+    /**
+     * Las entradas del top-K se comparten entre requests: no se mutan, se copian.
+     */
+    private static Project copyOf(Project project) {
+        return new Project(
+                project.getId(), project.getTitle(), project.getDescription(), copyOf(project.getGoals()),
+                copyOf(project.getRequiredSkills()), project.getStatus(), project.getCreatorId(),
+                copyOf(project.getCollaborators()), project.getVotes(), project.getCreatedAt(),
+                project.getUpdatedAt()
+        );
+    }
+
+    private static List<String> copyOf(List<String> values) {
+        return values != null ? new ArrayList<>(values) : null;
+    }
+
+    /**
+     * Escritura en Redis sobre los sorted sets indicados (los actuales o los de una reconstrucción).
+     */
+    @FunctionalInterface
+    private interface RedisChange<T> {
+        T apply(String votesKey, String hotKey);
+    }
+
+    /**
+     * Scores devueltos por Redis tras un voto (null si el proyecto no está en ese ranking).
+     */
+    private record Scores(Double votes, Double hot) {}
+
+    private static final class Board {
+        private final String key;
+        // Top-K ordenado; se reemplaza entero (lecturas sin lock)
+        private volatile List<Ranked> top;
+
+        private Board(String key) {
+            this.key = key;
+        }
+    }
+
+    private record Ranked(Project project, double score) {}
+
+    /**
+     * Aritmética log2 del score HOT (misma fórmula que el script Lua).
+     */
+    static final class HotScore {
+
+        private HotScore() {
+        }
+
+        static double add(double current, double exponent) {
+            double hi = Math.max(current, exponent);
+            double lo = Math.min(current, exponent);
+            return hi + Math.log1p(Math.pow(2, lo - hi)) / Math.log(2);
+        }
+
+        static double remove(double current, double exponent) {
+            double rest = 1 - Math.pow(2, exponent - current);
+            if (rest <= 1e-9) {
+                return exponent - NO_VOTES_OFFSET;
+            }
+            return current + Math.log(rest) / Math.log(2);
+        }
+    }
+}
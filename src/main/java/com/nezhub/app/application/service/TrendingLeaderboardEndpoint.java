@@ -0,0 +1,30 @@
+package com.nezhub.app.application.service;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Acción de administración: reconstrucción completa del leaderboard trending desde MongoDB
+ * (POST /actuator/trending, o por JMX). Solo accesible si se expone el endpoint (management.endpoints).
+ */
+@Component
+@Endpoint(id = "trending")
+public class TrendingLeaderboardEndpoint {
+
+    private final TrendingLeaderboard trendingLeaderboard;
+
+    public TrendingLeaderboardEndpoint(TrendingLeaderboard trendingLeaderboard) {
+        this.trendingLeaderboard = trendingLeaderboard;
+    }
+
+    /**
+     * RETORNA: rebuilt = false si otro nodo ya está reconstruyendo
+     */
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        return Map.of("rebuilt", trendingLeaderboard.reconcile());
+    }
+}
@@ -3,17 +3,24 @@ package com.nezhub.app.application.service;
 import com.nezhub.app.application.exception.UserNotFoundException;
 import com.nezhub.app.domain.model.User;
 import com.nezhub.app.domain.repository.UserRepository;
+import com.nezhub.app.infrastructure.security.VerifiedTokenCache;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
+    private final VerifiedTokenCache tokenCache;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, VerifiedTokenCache tokenCache) {
         this.userRepository = userRepository;
+        this.tokenCache = tokenCache;
     }
 
     public Optional<User> findByEmail(String email) {
@@ -24,12 +31,38 @@ public class UserService {
         return userRepository.existsByEmail(email);
     }
 
+    /**
+     * Guarda el usuario. Si es una actualización (rol o password pueden haber cambiado)
+     * descarta los tokens cacheados de ese usuario en este nodo.
+     */
     public User save(User user) {
-        return userRepository.save(user);
+        boolean isUpdate = user.getId() != null;
+        User saved = userRepository.save(user);
+        if (isUpdate) {
+            tokenCache.invalidateUser(saved.getEmail());
+        }
+        return saved;
     }
 
     public User findById(String userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado con ID: " + userId));
     }
+
+    /**
+     * Carga varios usuarios en una sola consulta ($in sobre _id).
+     * Usado por los DataLoaders de GraphQL para evitar el patrón N+1.
+     */
+    public Map<String, User> findAllByIds(Collection<String> userIds) {
+        return userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    /**
+     * Resuelve userId -> username con una sola consulta que solo trae el campo username.
+     */
+    public Map<String, String> findUsernamesByIds(Collection<String> userIds) {
+        return userRepository.findUsernamesByIdIn(userIds).stream()
+                .collect(Collectors.toMap(User::getId, User::getUsername));
+    }
 }
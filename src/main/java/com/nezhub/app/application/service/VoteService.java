@@ -7,89 +7,224 @@ import com.nezhub.app.domain.model.Project;
 import com.nezhub.app.domain.model.Vote;
 import com.nezhub.app.domain.repository.ProjectRepository;
 import com.nezhub.app.domain.repository.VoteRepository;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 
 /**
  * Servicio para gestionar votos en proyectos.
  * RESPONSABILIDADES:
  * - Registrar votos de usuarios
- * - Prevenir votos duplicados
- * - Actualizar contador en proyecto
- * - Invalidar caché de trending projects
+ * - Prevenir votos duplicados (índice único projectId + userId)
+ * - Actualizar contador en proyecto con $inc atómico (sin read-modify-write)
+ * - Actualizar el leaderboard trending y los votos del índice de texto
+ * - Opcionalmente, delegar en VoteWriteBuffer (write-behind) en picos de votación
  */
 @Service
 public class VoteService {
 
     private final VoteRepository voteRepository;
     private final ProjectRepository projectRepository;
+    private final MongoTemplate mongoTemplate;
+    private final TrendingLeaderboard trendingLeaderboard;
+    private final ProjectTextIndex textIndex;
+    private final SkillBitmapIndex skillIndex;
+    private final VoteWriteBuffer writeBuffer;
 
-    public VoteService(VoteRepository voteRepository, ProjectRepository projectRepository) {
+    public VoteService(VoteRepository voteRepository, ProjectRepository projectRepository,
+                       MongoTemplate mongoTemplate, TrendingLeaderboard trendingLeaderboard,
+                       ProjectTextIndex textIndex, SkillBitmapIndex skillIndex,
+                       VoteWriteBuffer writeBuffer) {
         this.voteRepository = voteRepository;
         this.projectRepository = projectRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.trendingLeaderboard = trendingLeaderboard;
+        this.textIndex = textIndex;
+        this.skillIndex = skillIndex;
+        this.writeBuffer = writeBuffer;
     }
 
     /**
      * Usuario vota un proyecto.
      * Se valida
-     * 1. Crear registro Vote
-     * 2. Incrementar Project.votes
-     * 3. Invalidar caché trending
+     * 1. Crear registro Vote (el índice único rechaza el voto duplicado)
+     * 2. Incrementar Project.votes con $inc (solo si el proyecto no está cerrado)
+     * 3. Actualizar leaderboard trending
+     *
+     * En modo write-behind el voto queda en el buffer y 1-3 se hacen en el siguiente flush.
+     *
+     * fields: campos del proyecto a devolver (vacío = documento completo)
      */
     @Transactional
-    @CacheEvict(value = "trendingProjects", allEntries = true)
-    public Project voteProject(String projectId, String userId) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new ProjectNotFoundException("Proyecto no encontrado"));
-        // Validar que proyecto no está cerrado
-        if (project.getStatus() == ProjectStatus.CLOSED) {
-            throw new InvalidProjectDataException("No se puede votar un proyecto cerrado");
-        }
-        // Validar que usuario no ha votado antes
-        if (voteRepository.existsByProjectIdAndUserId(projectId, userId)) {
-            throw new InvalidProjectDataException("Ya has votado este proyecto");
+    public Project voteProject(String projectId, String userId, Collection<String> fields) {
+        if (writeBuffer.isEnabled() && writeBuffer.hasCapacity()) {
+            return bufferVote(projectId, userId, fields);
         }
+
         // Crear voto
         Vote vote = new Vote(null, projectId, userId, LocalDateTime.now());
-        voteRepository.save(vote);
-        // Incrementar contador en proyecto
-        project.setVotes(project.getVotes() + 1);
-        project.setUpdatedAt(LocalDateTime.now());
-        return projectRepository.save(project);
+        try {
+            voteRepository.insert(vote);
+        } catch (DuplicateKeyException e) {
+            throw new InvalidProjectDataException("Ya has votado este proyecto");
+        }
+
+        // Incrementar contador en proyecto (atómico, proyecto no cerrado)
+        Query query = Query.query(Criteria.where("_id").is(projectId)
+                .and("status").ne(ProjectStatus.CLOSED));
+        Project updated = incrementVotes(query, 1, fields);
+
+        if (updated == null) {
+            // Compensar: el voto no cuenta si el proyecto no existe o está cerrado
+            voteRepository.deleteByProjectIdAndUserId(projectId, userId);
+            if (!projectRepository.existsById(projectId)) {
+                throw new ProjectNotFoundException("Proyecto no encontrado");
+            }
+            throw new InvalidProjectDataException("No se puede votar un proyecto cerrado");
+        }
+        trendingLeaderboard.onVoteAdded(vote);
+        textIndex.onVotesChanged(projectId, 1);
+        skillIndex.onVotesChanged(projectId, 1);
+        return updated;
     }
 
     /**
      * Usuario retira su voto de un proyecto.
      * Se valida
      * 1. Eliminar registro Vote
-     * 2. Decrementar Project.votes
-     * 3. Invalidar caché trending
+     * 2. Decrementar Project.votes con $inc (nunca por debajo de 0)
+     * 3. Actualizar leaderboard trending
+     *
+     * fields: campos del proyecto a devolver (vacío = documento completo)
      */
     @Transactional
-    @CacheEvict(value = "trendingProjects", allEntries = true)
-    public Project unvoteProject(String projectId, String userId) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new ProjectNotFoundException("Proyecto no encontrado"));
-        // Validar que usuario ha votado antes
-        if (!voteRepository.existsByProjectIdAndUserId(projectId, userId)) {
+    public Project unvoteProject(String projectId, String userId, Collection<String> fields) {
+        if (writeBuffer.isEnabled()) {
+            // Voto aún en el buffer: basta con cancelarlo
+            Vote cancelled = writeBuffer.cancel(projectId, userId);
+            if (cancelled != null) {
+                trendingLeaderboard.onVoteRemoved(cancelled);
+                textIndex.onVotesChanged(projectId, -1);
+                skillIndex.onVotesChanged(projectId, -1);
+                return findWithUnappliedVotes(projectId, fields);
+            }
+            // Si el voto se está volcando justo ahora, esperar a que llegue a MongoDB
+            writeBuffer.awaitFlush();
+        }
+
+        // Eliminar voto (se recupera su fecha para el ranking HOT)
+        Query voteQuery = Query.query(Criteria.where("projectId").is(projectId).and("userId").is(userId));
+        Vote removed = mongoTemplate.findAndRemove(voteQuery, Vote.class);
+        if (removed == null) {
+            if (!projectRepository.existsById(projectId)) {
+                throw new ProjectNotFoundException("Proyecto no encontrado");
+            }
             throw new InvalidProjectDataException("No has votado este proyecto");
         }
-        // Eliminar voto
-        voteRepository.deleteByProjectIdAndUserId(projectId, userId);
+
         // Decrementar contador
-        int newVotes = Math.max(0, project.getVotes() - 1);
-        project.setVotes(newVotes);
-        project.setUpdatedAt(LocalDateTime.now());
-        return projectRepository.save(project);
+        Query query = Query.query(Criteria.where("_id").is(projectId).and("votes").gt(0));
+        Project updated = incrementVotes(query, -1, fields);
+
+        if (updated != null) {
+            trendingLeaderboard.onVoteRemoved(removed);
+            textIndex.onVotesChanged(projectId, -1);
+            skillIndex.onVotesChanged(projectId, -1);
+        } else {
+            // El contador ya estaba en 0 (o el proyecto fue eliminado)
+            Query byId = Query.query(Criteria.where("_id").is(projectId));
+            includeFields(byId, fields);
+            updated = mongoTemplate.findOne(byId, Project.class);
+            if (updated == null) {
+                throw new ProjectNotFoundException("Proyecto no encontrado");
+            }
+        }
+        return updated;
     }
 
     /**
      * Verifica si un usuario ha votado un proyecto.
      */
     public boolean hasUserVoted(String projectId, String userId) {
-        return voteRepository.existsByProjectIdAndUserId(projectId, userId);
+        return (writeBuffer.isEnabled() && writeBuffer.isPending(projectId, userId))
+                || voteRepository.existsByProjectIdAndUserId(projectId, userId);
+    }
+
+    /**
+     * Camino write-behind: valida proyecto y duplicado, y deja el voto en el buffer.
+     * El contador devuelto incluye los votos aceptados que aún no se han volcado.
+     */
+    private Project bufferVote(String projectId, String userId, Collection<String> fields) {
+        Query query = Query.query(Criteria.where("_id").is(projectId));
+        includeFields(query, fields);
+        if (!fields.isEmpty()) {
+            query.fields().include("status");
+        }
+        Project project = mongoTemplate.findOne(query, Project.class);
+        if (project == null) {
+            throw new ProjectNotFoundException("Proyecto no encontrado");
+        }
+        if (project.getStatus() == ProjectStatus.CLOSED) {
+            throw new InvalidProjectDataException("No se puede votar un proyecto cerrado");
+        }
+        // Duplicado rápido: primero el buffer, luego el índice de votes
+        Vote vote = new Vote(null, projectId, userId, LocalDateTime.now());
+        if (writeBuffer.isPending(projectId, userId)
+                || voteRepository.existsByProjectIdAndUserId(projectId, userId)
+                || !writeBuffer.offer(vote)) {
+            throw new InvalidProjectDataException("Ya has votado este proyecto");
+        }
+        trendingLeaderboard.onVoteAdded(vote);
+        textIndex.onVotesChanged(projectId, 1);
+        skillIndex.onVotesChanged(projectId, 1);
+        return withUnappliedVotes(project);
+    }
+
+    private Project findWithUnappliedVotes(String projectId, Collection<String> fields) {
+        Query query = Query.query(Criteria.where("_id").is(projectId));
+        includeFields(query, fields);
+        Project project = mongoTemplate.findOne(query, Project.class);
+        if (project == null) {
+            throw new ProjectNotFoundException("Proyecto no encontrado");
+        }
+        return withUnappliedVotes(project);
+    }
+
+    private Project withUnappliedVotes(Project project) {
+        if (project.getVotes() != null) {
+            project.setVotes(project.getVotes() + writeBuffer.unappliedVotes(project.getId()));
+        }
+        return project;
+    }
+
+    /**
+     * $inc sobre votes + $set de updatedAt en una sola operación atómica.
+     * Solo se escriben esos dos campos y solo se devuelven los campos pedidos.
+     */
+    private Project incrementVotes(Query query, int delta, Collection<String> fields) {
+        includeFields(query, fields);
+        Update update = new Update()
+                .inc("votes", delta)
+                .set("updatedAt", LocalDateTime.now());
+        return mongoTemplate.findAndModify(
+                query,
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                Project.class
+        );
+    }
+
+    private static void includeFields(Query query, Collection<String> fields) {
+        for (String field : fields) {
+            query.fields().include(field);
+        }
     }
 }
@@ -0,0 +1,506 @@
+package com.nezhub.app.application.service;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
+import com.nezhub.app.domain.model.Project;
+import com.nezhub.app.domain.model.Vote;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Buffer write-behind de votos (opcional, nezhub.votes.write-behind.enabled).
+ *
+ * FUNCIONAMIENTO:
+ * - voteProject deja el voto en un buffer en memoria dividido en stripes
+ *   (un lock por stripe, así los votos concurrentes no compiten por el mismo lock)
+ * - Un hilo en segundo plano vacía el buffer cada flush-interval:
+ *   1. insert unordered de los votos con BulkOperations (el índice único descarta duplicados)
+ *   2. un único $inc agregado por proyecto con los votos realmente insertados
+ * - Al apagar la aplicación el buffer se vacía por completo, también los votos en backoff;
+ *   los que aún así no se vuelcan se registran como error (se pierden)
+ *
+ * FALLOS:
+ * - Error transitorio del lote (red, timeout...): el lote vuelve al buffer y se reintenta en el siguiente flush
+ * - Un voto rechazado (distinto de duplicado) vuelve al buffer al terminar el flush, con backoff
+ *   exponencial; tras max-retries intentos se descarta y se deshace su efecto en contadores e índices
+ * - Si falla el $inc de votos ya insertados, en el siguiente flush se recalcula Project.votes
+ *   contando la colección votes (idempotente, no se cuentan dos veces)
+ *
+ * DURABILIDAD:
+ * - Los votos aún no volcados se pierden si el proceso muere (ventana = flush-interval)
+ * - durability fija el write concern de los flushes (ACKNOWLEDGED, JOURNALED, MAJORITY)
+ * - max-pending limita los votos en memoria; si se alcanza, VoteService vuelve al camino síncrono
+ */
+@Component
+public class VoteWriteBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteWriteBuffer.class);
+
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final boolean enabled;
+    private final Duration flushInterval;
+    private final int maxBatchSize;
+    private final int maxPending;
+    private final int maxRetries;
+    private final MongoTemplate flushTemplate;
+    private final TrendingLeaderboard trendingLeaderboard;
+    private final ProjectTextIndex textIndex;
+    private final SkillBitmapIndex skillIndex;
+
+    private final Stripe[] stripes;
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    // Votos aceptados pero aún no sumados a Project.votes, por proyecto
+    private final Map<String, AtomicInteger> unappliedByProject = new ConcurrentHashMap<>();
+    // Votos rechazados pendientes de reintento, por clave proyecto:usuario
+    private final Map<String, Retry> retries = new ConcurrentHashMap<>();
+    // Proyectos cuyo $inc falló: votos insertados que aún no están en Project.votes
+    private final Map<String, Integer> recounts = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private ScheduledExecutorService flusher;
+
+    public VoteWriteBuffer(@Value("${nezhub.votes.write-behind.enabled:false}") boolean enabled,
+                           @Value("${nezhub.votes.write-behind.flush-interval:200ms}") Duration flushInterval,
+                           @Value("${nezhub.votes.write-behind.max-batch-size:1000}") int maxBatchSize,
+                           @Value("${nezhub.votes.write-behind.max-pending:100000}") int maxPending,
+                           @Value("${nezhub.votes.write-behind.max-retries:5}") int maxRetries,
+                           @Value("${nezhub.votes.write-behind.stripes:16}") int stripeCount,
+                           @Value("${nezhub.votes.write-behind.durability:ACKNOWLEDGED}") String durability,
+                           MongoTemplate mongoTemplate,
+                           TrendingLeaderboard trendingLeaderboard,
+                           ProjectTextIndex textIndex,
+                           SkillBitmapIndex skillIndex) {
+        this.enabled = enabled;
+        this.flushInterval = flushInterval;
+        this.maxBatchSize = maxBatchSize;
+        this.maxPending = maxPending;
+        this.maxRetries = maxRetries;
+        this.trendingLeaderboard = trendingLeaderboard;
+        this.textIndex = textIndex;
+        this.skillIndex = skillIndex;
+
+        // Template propio para poder usar otro write concern sin afectar al resto de la aplicación
+        this.flushTemplate = new MongoTemplate(mongoTemplate.getMongoDatabaseFactory(), mongoTemplate.getConverter());
+        this.flushTemplate.setWriteConcern(WriteConcern.valueOf(durability));
+
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vote-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Write-behind de votos activo (intervalo {} ms, lote máximo {})", intervalMillis, maxBatchSize);
+    }
+
+    /**
+     * Vacía el buffer antes de cerrar la conexión con MongoDB, sin esperar el backoff de los reintentos.
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(flushInterval.toMillis() * 10, TimeUnit.MILLISECONDS);
+        try {
+            flush(true);
+        } catch (Exception e) {
+            log.error("Error en el último volcado del buffer write-behind: {}", e.getMessage());
+        }
+        int lost = pendingCount.get();
+        if (lost > 0) {
+            log.error("{} votos del buffer write-behind no se pudieron volcar al apagar y se pierden", lost);
+        }
+        if (!recounts.isEmpty()) {
+            log.error("Project.votes de {} proyectos queda sin recalcular al apagar: {}", recounts.size(), recounts.keySet());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Indica si el buffer admite más votos (si no, se usa el camino síncrono).
+     */
+    public boolean hasCapacity() {
+        return pendingCount.get() < maxPending;
+    }
+
+    /**
+     * Añade un voto al buffer.
+     * RETORNA: false si ese usuario ya tenía un voto pendiente en ese proyecto
+     */
+    public boolean offer(Vote vote) {
+        String key = key(vote.getProjectId(), vote.getUserId());
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            if (stripe.pending.putIfAbsent(key, vote) != null) {
+                return false;
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+        pendingCount.incrementAndGet();
+        unappliedByProject.computeIfAbsent(vote.getProjectId(), id -> new AtomicInteger()).incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Cancela un voto que todavía no se ha volcado a MongoDB.
+     * RETORNA: el voto cancelado, o null si no estaba pendiente
+     */
+    public Vote cancel(String projectId, String userId) {
+        String key = key(projectId, userId);
+        Stripe stripe = stripeFor(key);
+        Vote cancelled;
+        stripe.lock.lock();
+        try {
+            cancelled = stripe.pending.remove(key);
+            if (cancelled == null) {
+                return null;
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+        retries.remove(key);
+        pendingCount.decrementAndGet();
+        decrementUnapplied(projectId, 1);
+        return cancelled;
+    }
+
+    public boolean isPending(String projectId, String userId) {
+        String key = key(projectId, userId);
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            return stripe.pending.containsKey(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Votos aceptados para el proyecto que aún no están sumados en Project.votes.
+     */
+    public int unappliedVotes(String projectId) {
+        AtomicInteger count = unappliedByProject.get(projectId);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Copia de los votos aceptados que aún no están en la colección votes.
+     */
+    public List<Vote> pendingVotes() {
+        List<Vote> votes = new ArrayList<>(pendingCount.get());
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                votes.addAll(stripe.pending.values());
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return votes;
+    }
+
+    /**
+     * Espera a que termine el flush en curso (si lo hay).
+     * Usado por unvote para no perder un voto que se está volcando en ese momento.
+     */
+    public void awaitFlush() {
+        flushLock.lock();
+        flushLock.unlock();
+    }
+
+    /**
+     * Vuelca todo lo pendiente en lotes de max-batch-size.
+     * Los votos rechazados vuelven al buffer al terminar: no se pueden volver a drenar en el mismo flush.
+     */
+    public void flush() {
+        flush(false);
+    }
+
+    /**
+     * force: vuelca también los reintentos cuyo backoff no ha vencido (último flush al apagar).
+     */
+    void flush(boolean force) {
+        flushLock.lock();
+        try {
+            recountFailedIncrements();
+            List<Vote> rejected = new ArrayList<>();
+            try {
+                List<Vote> batch;
+                while (!(batch = drain(maxBatchSize, force)).isEmpty()) {
+                    writeBatch(batch, rejected);
+                }
+            } finally {
+                rejected.forEach(this::retryLater);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Error volcando votos del buffer write-behind: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Extrae hasta max votos recorriendo las stripes (sin los reintentos cuyo backoff no ha vencido, salvo con force).
+     */
+    private List<Vote> drain(int max, boolean force) {
+        List<Vote> batch = new ArrayList<>(Math.min(max, pendingCount.get()));
+        long now = System.nanoTime();
+        for (Stripe stripe : stripes) {
+            if (batch.size() >= max) {
+                break;
+            }
+            stripe.lock.lock();
+            try {
+                Iterator<Map.Entry<String, Vote>> iterator = stripe.pending.entrySet().iterator();
+                while (iterator.hasNext() && batch.size() < max) {
+                    Map.Entry<String, Vote> entry = iterator.next();
+                    Retry retry = retries.get(entry.getKey());
+                    if (!force && retry != null && retry.notBefore() - now > 0) {
+                        continue;
+                    }
+                    batch.add(entry.getValue());
+                    iterator.remove();
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        pendingCount.addAndGet(-batch.size());
+        return batch;
+    }
+
+    /**
+     * rejected: recibe los votos rechazados por un motivo distinto a duplicado.
+     */
+    private void writeBatch(List<Vote> batch, List<Vote> rejected) {
+        List<Vote> retry = new ArrayList<>();
+        List<Vote> inserted;
+        try {
+            inserted = insertVotes(batch, retry);
+        } catch (RuntimeException e) {
+            // Error transitorio (red, timeout...): el lote completo vuelve al buffer
+            batch.forEach(this::requeue);
+            throw e;
+        }
+
+        Map<String, Long> votesByProject = inserted.stream()
+                .collect(Collectors.groupingBy(Vote::getProjectId, Collectors.counting()));
+
+        boolean incrementFailed = false;
+        if (!votesByProject.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            BulkOperations increments = flushTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Project.class);
+            votesByProject.forEach((projectId, count) -> increments.updateOne(
+                    Query.query(Criteria.where("_id").is(projectId)),
+                    new Update().inc("votes", count).set("updatedAt", now)
+            ));
+            try {
+                increments.execute();
+            } catch (RuntimeException e) {
+                // Los votos ya están insertados: repetir el $inc podría contarlos dos veces,
+                // así que se recalcula Project.votes en el siguiente flush
+                incrementFailed = true;
+                votesByProject.forEach((projectId, count) -> recounts.merge(projectId, count.intValue(), Integer::sum));
+                log.error("Votos insertados sin actualizar Project.votes ({} proyectos), se recalcularán: {}",
+                        votesByProject.size(), e.getMessage());
+            }
+        }
+
+        Set<Vote> retried = Collections.newSetFromMap(new IdentityHashMap<>());
+        retried.addAll(retry);
+        rejected.addAll(retry);
+        Set<Vote> insertedVotes = Collections.newSetFromMap(new IdentityHashMap<>());
+        insertedVotes.addAll(inserted);
+        batch.stream()
+                .filter(vote -> !retried.contains(vote))
+                .forEach(vote -> retries.remove(key(vote.getProjectId(), vote.getUserId())));
+
+        // Insertados y duplicados descartados dejan de contar como pendientes;
+        // los insertados sin $inc siguen pendientes hasta el recálculo
+        boolean awaitingRecount = incrementFailed;
+        batch.stream()
+                .filter(vote -> !retried.contains(vote))
+                .filter(vote -> !(awaitingRecount && insertedVotes.contains(vote)))
+                .collect(Collectors.groupingBy(Vote::getProjectId, Collectors.counting()))
+                .forEach((projectId, count) -> decrementUnapplied(projectId, count.intValue()));
+
+        // El leaderboard y los índices de búsqueda ya contaron estos votos al aceptarlos: descontar los duplicados descartados
+        batch.stream()
+                .filter(vote -> !retried.contains(vote) && !insertedVotes.contains(vote))
+                .forEach(this::undoAccepted);
+    }
+
+    /**
+     * Recalcula Project.votes de los proyectos cuyo $inc falló contando sus votos en la colección.
+     * Los votos del buffer aún no volcados no están ni en la colección ni en Project.votes.
+     */
+    private void recountFailedIncrements() {
+        for (Map.Entry<String, Integer> entry : List.copyOf(recounts.entrySet())) {
+            String projectId = entry.getKey();
+            try {
+                long count = flushTemplate.count(Query.query(Criteria.where("projectId").is(projectId)), Vote.class);
+                flushTemplate.updateFirst(Query.query(Criteria.where("_id").is(projectId)),
+                        new Update().set("votes", count).set("updatedAt", LocalDateTime.now()), Project.class);
+            } catch (RuntimeException e) {
+                log.warn("No se pudo recalcular los votos de {}: {}", projectId, e.getMessage());
+                continue;
+            }
+            recounts.remove(projectId);
+            decrementUnapplied(projectId, entry.getValue());
+        }
+    }
+
+    /**
+     * Devuelve un voto rechazado al buffer con backoff exponencial, o lo descarta tras max-retries intentos.
+     */
+    private void retryLater(Vote vote) {
+        String key = key(vote.getProjectId(), vote.getUserId());
+        Retry previous = retries.get(key);
+        int attempts = previous != null ? previous.attempts() + 1 : 1;
+        if (attempts > maxRetries) {
+            retries.remove(key);
+            decrementUnapplied(vote.getProjectId(), 1);
+            undoAccepted(vote);
+            log.error("Voto de {} en {} descartado tras {} intentos", vote.getUserId(), vote.getProjectId(), maxRetries);
+            return;
+        }
+        long backoffMillis = Math.min(flushInterval.toMillis() << Math.min(attempts, 20), MAX_BACKOFF_MILLIS);
+        retries.put(key, new Retry(attempts, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMillis)));
+        requeue(vote);
+    }
+
+    /**
+     * Deshace lo que se contó al aceptar el voto (leaderboard e índices de búsqueda).
+     */
+    private void undoAccepted(Vote vote) {
+        trendingLeaderboard.onVoteRemoved(vote);
+        textIndex.onVotesChanged(vote.getProjectId(), -1);
+        skillIndex.onVotesChanged(vote.getProjectId(), -1);
+    }
+
+    /**
+     * Inserta los votos del lote.
+     * RETORNA: los votos realmente insertados (sin duplicados)
+     * retry: recibe los votos que fallaron por un motivo distinto a duplicado
+     */
+    private List<Vote> insertVotes(List<Vote> batch, List<Vote> retry) {
+        BulkOperations inserts = flushTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Vote.class);
+        inserts.insert(batch);
+        try {
+            inserts.execute();
+            return batch;
+        } catch (BulkOperationException e) {
+            Set<Integer> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(error.getIndex());
+                if (error.getCode() != DUPLICATE_KEY_ERROR) {
+                    retry.add(batch.get(error.getIndex()));
+                }
+            }
+            if (!retry.isEmpty()) {
+                log.warn("{} votos no se pudieron volcar, se reintentarán con backoff", retry.size());
+            }
+
+            List<Vote> inserted = new ArrayList<>(batch.size() - failed.size());
+            for (int i = 0; i < batch.size(); i++) {
+                if (!failed.contains(i)) {
+                    inserted.add(batch.get(i));
+                }
+            }
+            return inserted;
+        }
+    }
+
+    /**
+     * Devuelve un voto al buffer para el siguiente flush.
+     * Sigue contando como pendiente de aplicar, así que no toca unappliedByProject.
+     */
+    private void requeue(Vote vote) {
+        String key = key(vote.getProjectId(), vote.getUserId());
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            if (stripe.pending.putIfAbsent(key, vote) != null) {
+                return;
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+        pendingCount.incrementAndGet();
+    }
+
+    private void decrementUnapplied(String projectId, int delta) {
+        unappliedByProject.computeIfPresent(projectId, (id, count) ->
+                count.addAndGet(-delta) <= 0 ? null : count);
+    }
+
+    private Stripe stripeFor(String key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    private static String key(String projectId, String userId) {
+        return projectId + ':' + userId;
+    }
+
+    private record Retry(int attempts, long notBefore) {}
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Vote> pending = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,11 @@
+package com.nezhub.app.domain.enums;
+
+/**
+ * Criterio de ordenación de proyectos trending.
+ */
+public enum TrendingRank {
+    // Votos totales
+    VOTES,
+    // Votos con decaimiento exponencial en el tiempo (half-life configurable)
+    HOT
+}
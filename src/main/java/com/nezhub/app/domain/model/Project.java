@@ -14,8 +14,9 @@ import java.util.List;
 
 @Document(collection = "projects")
 @CompoundIndexes({
-        @CompoundIndex(name = "skill_status_votes_idx", def = "{'requiredSkills': 1, 'status': 1, 'votes': -1}"),
-        @CompoundIndex(name = "status_votes_idx", def = "{'status': 1, 'votes': -1}")
+        @CompoundIndex(name = "skillkeys_status_votes_idx", def = "{'skillKeys': 1, 'status': 1, 'votes': -1, '_id': -1}"),
+        @CompoundIndex(name = "status_votes_id_idx", def = "{'status': 1, 'votes': -1, '_id': -1}"),
+        @CompoundIndex(name = "creator_status_votes_idx", def = "{'creatorId': 1, 'status': 1, 'votes': -1, '_id': -1}")
 })
 public class Project {
     @Id
@@ -26,9 +27,11 @@ public class Project {
 
     private List<String> goals = new ArrayList<>();
 
-    @Indexed
     private List<String> requiredSkills = new ArrayList<>();
 
+    // Forma canónica de requiredSkills (SkillKeys), se recalcula al asignar requiredSkills
+    private List<String> skillKeys = new ArrayList<>();
+
     @Indexed
     private ProjectStatus status = ProjectStatus.OPEN;
 
@@ -56,6 +59,7 @@ public class Project {
         this.description = description;
         this.goals = goals;
         this.requiredSkills = requiredSkills;
+        this.skillKeys = SkillKeys.of(requiredSkills);
         this.status = status;
         this.creatorId = creatorId;
         this.collaborators = collaborators;
@@ -102,6 +106,15 @@ public class Project {
 
     public void setRequiredSkills(List<String> requiredSkills) {
         this.requiredSkills = requiredSkills;
+        this.skillKeys = SkillKeys.of(requiredSkills);
+    }
+
+    public List<String> getSkillKeys() {
+        return skillKeys;
+    }
+
+    public void setSkillKeys(List<String> skillKeys) {
+        this.skillKeys = skillKeys;
     }
 
     public ProjectStatus getStatus() {
@@ -0,0 +1,67 @@
+package com.nezhub.app.domain.model;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Forma canónica de un skill (Project.skillKeys).
+ *
+ * "React", "react", "ReactJS" y "React.js" -> "react"
+ * "Node.js" -> "node", "C++" -> "c++", "Programación" -> "programacion"
+ *
+ * REGLAS:
+ * - Minúsculas y sin acentos
+ * - Sin espacios, '.', '-' ni '_'
+ * - Sufijo "js" eliminado (también repetido: "reactjsjs" -> "react") mientras quede un nombre de al menos
+ *   3 caracteres ("nextjs" -> "next", "js" se mantiene)
+ *
+ * Es idempotente: canonical(canonical(x)) == canonical(x), así que una clave ya canónica se busca tal cual.
+ */
+public final class SkillKeys {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[\\s._-]+");
+
+    private static final String JS_SUFFIX = "js";
+    private static final int MIN_KEY_WITHOUT_SUFFIX = 3;
+
+    private SkillKeys() {
+    }
+
+    public static String canonical(String skill) {
+        if (skill == null) {
+            return "";
+        }
+        String key = DIACRITICS.matcher(
+                Normalizer.normalize(skill.toLowerCase(Locale.ROOT), Normalizer.Form.NFD)
+        ).replaceAll("");
+        key = SEPARATORS.matcher(key).replaceAll("");
+        while (key.endsWith(JS_SUFFIX) && key.length() - JS_SUFFIX.length() >= MIN_KEY_WITHOUT_SUFFIX) {
+            key = key.substring(0, key.length() - JS_SUFFIX.length());
+        }
+        return key;
+    }
+
+    /**
+     * Claves canónicas distintas, en el orden de los skills originales.
+     */
+    public static List<String> of(Collection<String> skills) {
+        if (skills == null) {
+            return new ArrayList<>();
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        for (String skill : skills) {
+            String key = canonical(skill);
+            if (!key.isEmpty()) {
+                keys.add(key);
+            }
+        }
+        return new ArrayList<>(keys);
+    }
+}
@@ -2,8 +2,11 @@ package com.nezhub.app.domain.repository;
 
 import com.nezhub.app.domain.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +17,10 @@ public interface UserRepository extends MongoRepository<User, String> {
     boolean existsByEmail(String email);
 
     Optional<User> findByUsername(String username);
+
+    /**
+     * Carga varios usuarios con un solo $in, proyectando únicamente el username.
+     */
+    @Query(value = "{ '_id': { '$in': ?0 } }", fields = "{ 'username': 1 }")
+    List<User> findUsernamesByIdIn(Collection<String> ids);
 }
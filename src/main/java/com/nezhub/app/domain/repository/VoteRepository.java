@@ -21,6 +21,7 @@ public interface VoteRepository extends MongoRepository<Vote, String> {
 
     /**
      * Elimina voto de usuario en proyecto.
+     * RETORNA: número de votos eliminados (0 si el usuario no había votado)
      */
-    void deleteByProjectIdAndUserId(String projectId, String userId);
+    long deleteByProjectIdAndUserId(String projectId, String userId);
 }
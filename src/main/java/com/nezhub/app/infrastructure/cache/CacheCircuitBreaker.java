@@ -0,0 +1,119 @@
+package com.nezhub.app.infrastructure.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker de Redis para la caché (uno por aplicación: todas las cachés comparten servidor).
+ *
+ * ESTADOS:
+ * - CLOSED: se llama a Redis; failureThreshold fallos seguidos lo abren
+ * - OPEN: no se llama a Redis durante openDuration (las cachés usan su fallback local)
+ * - HALF_OPEN: pasado openDuration se deja pasar una sola llamada de prueba;
+ *   si va bien se cierra, si falla se vuelve a abrir
+ *
+ * Al cerrarse tras OPEN / HALF_OPEN avisa a los recovery listeners (fuera del lock), p. ej. para repetir
+ * las escrituras que se perdieron mientras Redis no respondía.
+ *
+ * MÉTRICAS: nezhub.cache.circuit.state (0 = CLOSED, 1 = OPEN, 2 = HALF_OPEN)
+ */
+public class CacheCircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheCircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    private final List<Runnable> recoveryListeners = new CopyOnWriteArrayList<>();
+
+    public CacheCircuitBreaker(int failureThreshold, Duration openDuration, MeterRegistry meterRegistry) {
+        this(failureThreshold, openDuration, meterRegistry, System::nanoTime);
+    }
+
+    /**
+     * nanoClock: reloj monótono (System.nanoTime); los tests lo sustituyen para no depender de esperas.
+     */
+    CacheCircuitBreaker(int failureThreshold, Duration openDuration, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+        Gauge.builder("nezhub.cache.circuit.state", this, breaker -> breaker.state().ordinal())
+                .description("Estado del circuit breaker de Redis (0 cerrado, 1 abierto, 2 semiabierto)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * RETORNA: true si se puede llamar a Redis; después hay que llamar a onSuccess u onFailure
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return false;
+            }
+            probeInFlight = true;
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+
+    public void addRecoveryListener(Runnable listener) {
+        recoveryListeners.add(listener);
+    }
+
+    public void onSuccess() {
+        boolean recovered;
+        synchronized (this) {
+            recovered = state != State.CLOSED;
+            if (recovered) {
+                log.info("Redis responde de nuevo: circuito de la caché cerrado");
+            }
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            probeInFlight = false;
+        }
+        if (recovered) {
+            recoveryListeners.forEach(Runnable::run);
+        }
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            log.warn("Circuito de la caché abierto tras {} fallos de Redis", consecutiveFailures);
+            state = State.OPEN;
+            openedAt = nanoClock.getAsLong();
+            probeInFlight = false;
+        }
+    }
+
+    /**
+     * La llamada permitida no llegó a Redis (p. ej. pool lleno): no cuenta como fallo ni como éxito,
+     * pero libera la llamada de prueba si el circuito estaba semiabierto.
+     */
+    public synchronized void onSkipped() {
+        probeInFlight = false;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+}
@@ -0,0 +1,118 @@
+package com.nezhub.app.infrastructure.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.cache.CacheKeyPrefix;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Generación de cada caché de Redis: forma parte del prefijo de sus claves.
+ *
+ * CLAVES: <caché>::<generación>::<clave>  (generación en nezhub:cache:generation:<caché>)
+ *
+ * FUNCIONAMIENTO:
+ * - "Vaciar" una caché es un INCR de su generación: O(1), sin KEYS ni SCAN en el camino del request
+ * - Las claves de generaciones anteriores dejan de leerse y caducan por su TTL
+ * - Opcionalmente (reclaimer != null) se borran antes en segundo plano con SCAN + DEL por lotes
+ * - Cada nodo guarda la generación en memoria: se descarta al recibir un clear de otro nodo
+ *   (CacheInvalidationBus) y se vuelve a leer de Redis como mucho cada syncInterval
+ */
+public class CacheGenerations implements CacheKeyPrefix, CacheInvalidationBus.Listener {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheGenerations.class);
+
+    private static final String KEY_PREFIX = "nezhub:cache:generation:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final CacheInvalidationBus bus;
+    private final long syncIntervalNanos;
+    private final RedisCacheWriter reclaimer;
+    private final ExecutorService reclaimExecutor;
+
+    private final ConcurrentMap<String, Generation> generations = new ConcurrentHashMap<>();
+
+    /**
+     * reclaimer: writer con BatchStrategies.scan para borrar la generación anterior en segundo plano;
+     * null para dejar que las claves antiguas caduquen solo por TTL.
+     */
+    public CacheGenerations(StringRedisTemplate redisTemplate, CacheInvalidationBus bus, Duration syncInterval,
+                            RedisCacheWriter reclaimer) {
+        this.redisTemplate = redisTemplate;
+        this.bus = bus;
+        this.syncIntervalNanos = syncInterval.toNanos();
+        this.reclaimer = reclaimer;
+        this.reclaimExecutor = reclaimer != null
+                ? Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "cache-generation-reclaimer");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+        bus.addListener(this);
+    }
+
+    @Override
+    public String compute(String cacheName) {
+        return cacheName + SEPARATOR + current(cacheName) + SEPARATOR;
+    }
+
+    public long current(String cacheName) {
+        long now = System.nanoTime();
+        Generation generation = generations.get(cacheName);
+        if (generation == null || now - generation.readAt() > syncIntervalNanos) {
+            String stored = redisTemplate.opsForValue().get(KEY_PREFIX + cacheName);
+            generation = new Generation(stored != null ? Long.parseLong(stored) : 0, now);
+            generations.put(cacheName, generation);
+        }
+        return generation.value();
+    }
+
+    /**
+     * Pasa la caché a una generación nueva y avisa al resto de nodos.
+     */
+    public long increment(String cacheName) {
+        Long next = redisTemplate.opsForValue().increment(KEY_PREFIX + cacheName);
+        long value = next != null ? next : 0;
+        generations.put(cacheName, new Generation(value, System.nanoTime()));
+        bus.publishClear(cacheName);
+
+        if (reclaimer != null && value > 0) {
+            reclaim(cacheName, value - 1);
+        }
+        return value;
+    }
+
+    @Override
+    public void onClear(String cacheName) {
+        generations.remove(cacheName);
+    }
+
+    public void close() {
+        if (reclaimExecutor != null) {
+            reclaimExecutor.shutdownNow();
+        }
+    }
+
+    private void reclaim(String cacheName, long generation) {
+        byte[] pattern = (cacheName + SEPARATOR + generation + SEPARATOR + "*").getBytes(StandardCharsets.UTF_8);
+        reclaimExecutor.execute(() -> {
+            try {
+                reclaimer.clean(cacheName, pattern);
+            } catch (RuntimeException e) {
+                // Sin consecuencias: las claves caducarán por TTL
+                log.warn("No se pudieron borrar las claves de {} (generación {}): {}",
+                        cacheName, generation, e.getMessage());
+            }
+        });
+    }
+
+    private record Generation(long value, long readAt) {}
+}
@@ -0,0 +1,101 @@
+package com.nezhub.app.infrastructure.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Difusión de invalidaciones de la caché L1 entre nodos (Redis pub/sub).
+ *
+ * MENSAJE: "<nodo>\n<caché>\n<evict|clear>\n<clave>"
+ * - Cada nodo ignora sus propios mensajes (ya invalidó su L1 al publicar)
+ * - Los listeners se avisan en orden de registro: CacheGenerations se registra antes que la L1,
+ *   así la L1 no se rellena con la generación anterior
+ * - Pub/sub no garantiza entrega: el TTL de L1 acota cuánto puede durar una entrada obsoleta
+ * - PUBLISH pasa por RedisGuard (pool acotado y timeout): con Redis lento no bloquea el request y con el
+ *   circuito abierto no se publica. Los evicts perdidos los repite ResilientCache cuando Redis vuelve
+ */
+public class CacheInvalidationBus implements MessageListener {
+
+    public static final String CHANNEL = "nezhub:cache:invalidation";
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private static final String EVICT = "evict";
+    private static final String CLEAR = "clear";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisGuard guard;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate) {
+        this(redisTemplate, null);
+    }
+
+    /**
+     * guard: null para publicar directamente, en el hilo que llama.
+     */
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate, RedisGuard guard) {
+        this.redisTemplate = redisTemplate;
+        this.guard = guard;
+    }
+
+    void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    void publishEvict(String cacheName, String key) {
+        publish(cacheName, EVICT, key);
+    }
+
+    void publishClear(String cacheName) {
+        publish(cacheName, CLEAR, "");
+    }
+
+    private void publish(String cacheName, String operation, String key) {
+        String message = nodeId + "\n" + cacheName + "\n" + operation + "\n" + key;
+        if (guard != null) {
+            // Fallos y timeouts: los registra RedisGuard
+            guard.call(cacheName, "publish", () -> redisTemplate.convertAndSend(CHANNEL, message));
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (RuntimeException e) {
+            // Redis no disponible: los demás nodos se quedan con su L1 hasta que expire
+            log.warn("No se pudo publicar la invalidación de {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 4);
+        if (parts.length < 4 || nodeId.equals(parts[0])) {
+            return;
+        }
+        for (Listener listener : listeners) {
+            if (CLEAR.equals(parts[2])) {
+                listener.onClear(parts[1]);
+            } else {
+                listener.onEvict(parts[1], parts[3]);
+            }
+        }
+    }
+
+    interface Listener {
+
+        default void onEvict(String cacheName, String key) {
+        }
+
+        void onClear(String cacheName);
+    }
+}
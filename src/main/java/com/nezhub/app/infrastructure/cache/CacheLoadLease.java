@@ -0,0 +1,75 @@
+package com.nezhub.app.infrastructure.cache;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Lease en Redis para que un fallo de caché se cargue una sola vez en todo el clúster.
+ *
+ * - SET NX PX: solo un nodo obtiene el lease de <caché>::lease::<clave>
+ * - El lease caduca solo (ttl): si el nodo que carga muere, otro puede reintentar
+ * - Se libera con un script que solo borra el lease si sigue siendo del mismo nodo
+ * - Quien no lo obtiene espera como mucho maxWait (corto: ocupa un hilo del request) a que llegue
+ *   el aviso de la escritura por CacheInvalidationBus; después carga él mismo
+ * - SET NX y el script pasan por RedisGuard (pool acotado y timeout): si Redis no responde, el nodo
+ *   carga sin lease (sin coordinación entre nodos) y el lease que no se pudo liberar caduca por ttl
+ */
+public class CacheLoadLease {
+
+    private static final String KEY_PREFIX = "nezhub:cache:lease:";
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisGuard guard;
+    private final Duration ttl;
+    private final Duration maxWait;
+    private final String owner = UUID.randomUUID().toString();
+
+    /**
+     * guard: null para llamar a Redis directamente, en el hilo que carga.
+     */
+    public CacheLoadLease(StringRedisTemplate redisTemplate, RedisGuard guard, Duration ttl, Duration maxWait) {
+        this.redisTemplate = redisTemplate;
+        this.guard = guard;
+        this.ttl = ttl;
+        this.maxWait = maxWait.compareTo(ttl) < 0 ? maxWait : ttl;
+    }
+
+    public Duration ttl() {
+        return ttl;
+    }
+
+    /**
+     * Lo que espera un nodo sin lease al valor de otro (nunca más que el ttl).
+     */
+    public Duration maxWait() {
+        return maxWait;
+    }
+
+    boolean tryAcquire(String cacheName, String key) {
+        Object acquired = call(cacheName,
+                () -> redisTemplate.opsForValue().setIfAbsent(leaseKey(cacheName, key), owner, ttl));
+        return acquired == RedisGuard.FAILED || Boolean.TRUE.equals(acquired);
+    }
+
+    void release(String cacheName, String key) {
+        call(cacheName, () -> redisTemplate.execute(RELEASE, List.of(leaseKey(cacheName, key)), owner));
+    }
+
+    private Object call(String cacheName, Supplier<?> redisOperation) {
+        return guard != null ? guard.call(cacheName, "lease", redisOperation::get) : redisOperation.get();
+    }
+
+    private static String leaseKey(String cacheName, String key) {
+        return KEY_PREFIX + cacheName + "::" + key;
+    }
+}
@@ -0,0 +1,68 @@
+package com.nezhub.app.infrastructure.cache;
+
+import io.micrometer.context.ContextRegistry;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Marca de obsolescencia de un request GraphQL: las cachés que sirvieron un valor caducado
+ * (RefreshAheadCache) la anotan y la capa de presentación la expone en la respuesta.
+ *
+ * FUNCIONAMIENTO:
+ * - StaleCacheInterceptor crea un Marker por request y lo guarda en el GraphQLContext (CONTEXT_KEY)
+ * - Spring GraphQL restaura las entradas del GraphQLContext con ThreadLocalAccessor registrado
+ *   (Context Propagation) alrededor de cada data fetcher, también en los que terminan en otro hilo
+ *   (Callable, Mono, DataLoader): mark() anota en el Marker del request que lo está resolviendo
+ * - Fuera de un request GraphQL no hay Marker y mark() no hace nada
+ */
+public final class CacheStaleness {
+
+    public static final String CONTEXT_KEY = "nezhub.cache.staleness";
+
+    private static final ThreadLocal<Marker> CURRENT = new ThreadLocal<>();
+
+    static {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(CONTEXT_KEY, CURRENT::get, CURRENT::set, CURRENT::remove);
+    }
+
+    private CacheStaleness() {
+    }
+
+    /**
+     * Marker nuevo para un request (registra además el ThreadLocalAccessor antes del primer data fetcher).
+     */
+    public static Marker newMarker() {
+        return new Marker();
+    }
+
+    static void mark(String cacheName) {
+        Marker marker = CURRENT.get();
+        if (marker != null) {
+            marker.add(cacheName);
+        }
+    }
+
+    /**
+     * Cachés servidas caducadas durante un request; se anota desde cualquier hilo.
+     */
+    public static final class Marker {
+
+        private final Set<String> caches = new LinkedHashSet<>();
+
+        private Marker() {
+        }
+
+        synchronized void add(String cacheName) {
+            caches.add(cacheName);
+        }
+
+        /**
+         * RETORNA: las cachés anotadas hasta ahora, en orden de aparición (vacío si ninguna)
+         */
+        public synchronized List<String> caches() {
+            return List.copyOf(caches);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.nezhub.app.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.luben.zstd.Zstd;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serializador de los valores de la caché de Redis: Smile (JSON binario) con cabecera versionada
+ * y compresión Zstandard a partir de un tamaño.
+ *
+ * FORMATO: 'N' 'Z' | versión (1 byte) | flags (1 byte) | [tamaño sin comprimir (4 bytes) si ZSTD] | datos
+ * - Versión 1: datos en Smile con la misma información de tipos (@class) que el serializador JSON;
+ *   los nombres de campo y los valores repetidos (p. ej. las @class de cada elemento de una lista)
+ *   se escriben una vez y después como referencias
+ * - Flag ZSTD: datos comprimidos, solo si el Smile ocupa al menos compressionThreshold bytes
+ *
+ * LECTURA: lo que no empieza por la cabecera es una entrada JSON anterior y se lee con el
+ * serializador JSON, así que los nodos nuevos leen las entradas de los antiguos durante un despliegue.
+ * Una versión desconocida (de un nodo más nuevo) es un error de serialización.
+ *
+ * Con Format.JSON escribe JSON sin cabecera, legible por los nodos anteriores: primer paso de un
+ * despliegue gradual desde una versión que solo lee JSON.
+ */
+public class CompactCacheSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC_0 = 'N';
+    static final byte MAGIC_1 = 'Z';
+    static final byte VERSION = 1;
+    static final byte FLAG_ZSTD = 0x01;
+
+    private static final int HEADER_SIZE = 4;
+    private static final int LENGTH_SIZE = 4;
+    private static final int ZSTD_LEVEL = 3;
+
+    private final Format format;
+    private final int compressionThreshold;
+    private final RedisSerializer<Object> smile;
+    private final RedisSerializer<Object> json;
+
+    public enum Format { JSON, SMILE }
+
+    /**
+     * compressionThreshold: tamaño en bytes a partir del cual se comprime; <= 0 para no comprimir nunca.
+     */
+    public CompactCacheSerializer(Format format, int compressionThreshold) {
+        this.format = format;
+        this.compressionThreshold = compressionThreshold;
+
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        ObjectMapper smileMapper = new ObjectMapper(smileFactory).registerModule(new JavaTimeModule());
+        this.smile = GenericJackson2JsonRedisSerializer.builder()
+                .objectMapper(smileMapper)
+                .defaultTyping(true)
+                .build();
+        // Idéntico al serializador JSON anterior (mismo formato de tipos), más fechas java.time
+        this.json = new GenericJackson2JsonRedisSerializer()
+                .configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        value = readableRoot(value);
+        if (format == Format.JSON) {
+            return json.serialize(value);
+        }
+        byte[] payload = smile.serialize(value);
+        if (compressionThreshold <= 0 || payload.length < compressionThreshold) {
+            return ByteBuffer.allocate(HEADER_SIZE + payload.length)
+                    .put(MAGIC_0).put(MAGIC_1).put(VERSION).put((byte) 0)
+                    .put(payload)
+                    .array();
+        }
+        byte[] compressed = Zstd.compress(payload, ZSTD_LEVEL);
+        return ByteBuffer.allocate(HEADER_SIZE + LENGTH_SIZE + compressed.length)
+                .put(MAGIC_0).put(MAGIC_1).put(VERSION).put(FLAG_ZSTD)
+                .putInt(payload.length)
+                .put(compressed)
+                .array();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes.length < HEADER_SIZE || bytes[0] != MAGIC_0 || bytes[1] != MAGIC_1) {
+            return json.deserialize(bytes);
+        }
+        if (bytes[2] != VERSION) {
+            throw new SerializationException("Versión de valor de caché no soportada: " + bytes[2]);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+        byte[] payload;
+        if ((bytes[3] & FLAG_ZSTD) != 0) {
+            int originalLength = buffer.getInt();
+            byte[] compressed = new byte[buffer.remaining()];
+            buffer.get(compressed);
+            payload = Zstd.decompress(compressed, originalLength);
+        } else {
+            payload = new byte[buffer.remaining()];
+            buffer.get(payload);
+        }
+        return smile.deserialize(payload);
+    }
+
+    /**
+     * Jackson no escribe el tipo de una lista raíz de clase final (List.of, Stream.toList)
+     * y después no la puede leer: se guarda como ArrayList.
+     */
+    private static Object readableRoot(Object value) {
+        if (value instanceof List<?> list && Modifier.isFinal(value.getClass().getModifiers())) {
+            return new ArrayList<>(list);
+        }
+        return value;
+    }
+}
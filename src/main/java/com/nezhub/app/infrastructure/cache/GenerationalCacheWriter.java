@@ -0,0 +1,89 @@
+package com.nezhub.app.infrastructure.cache;
+
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * RedisCacheWriter que vacía una caché cambiando de generación (CacheGenerations)
+ * en lugar de borrar por patrón (KEYS en el writer por defecto). El resto de operaciones se delegan.
+ */
+public class GenerationalCacheWriter implements RedisCacheWriter {
+
+    private final RedisCacheWriter delegate;
+    private final CacheGenerations generations;
+
+    public GenerationalCacheWriter(RedisCacheWriter delegate, CacheGenerations generations) {
+        this.delegate = delegate;
+        this.generations = generations;
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        generations.increment(name);
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key) {
+        return delegate.get(name, key);
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key, Duration ttl) {
+        return delegate.get(name, key, ttl);
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key, Supplier<byte[]> valueLoader, Duration ttl, boolean timeToIdleEnabled) {
+        return delegate.get(name, key, valueLoader, ttl, timeToIdleEnabled);
+    }
+
+    @Override
+    public boolean supportsAsyncRetrieve() {
+        return delegate.supportsAsyncRetrieve();
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key, Duration ttl) {
+        return delegate.retrieve(name, key, ttl);
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, Duration ttl) {
+        delegate.put(name, key, value, ttl);
+    }
+
+    @Override
+    public CompletableFuture<Void> store(String name, byte[] key, byte[] value, Duration ttl) {
+        return delegate.store(name, key, value, ttl);
+    }
+
+    @Override
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+        return delegate.putIfAbsent(name, key, value, ttl);
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        delegate.remove(name, key);
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        delegate.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new GenerationalCacheWriter(delegate.withStatisticsCollector(cacheStatisticsCollector), generations);
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return delegate.getCacheStatistics(cacheName);
+    }
+}
@@ -0,0 +1,38 @@
+package com.nezhub.app.infrastructure.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+
+/**
+ * Los errores de caché en @Cacheable / @CachePut / @CacheEvict no llegan a los resolvers:
+ * un get fallido es un miss (se ejecuta el método) y el resto se registran y se ignoran.
+ *
+ * Cubre lo que ResilientCache no absorbe (p. ej. las capas por encima de Redis);
+ * los get con sync = true no pasan por aquí, de eso se encarga la propia caché.
+ */
+public class MissOnErrorCacheErrorHandler implements CacheErrorHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(MissOnErrorCacheErrorHandler.class);
+
+    @Override
+    public void handleCacheGetError(RuntimeException exception, Cache cache, Object key) {
+        log.warn("Error al leer {}::{}, se trata como miss: {}", cache.getName(), key, exception.getMessage());
+    }
+
+    @Override
+    public void handleCachePutError(RuntimeException exception, Cache cache, Object key, Object value) {
+        log.warn("Error al escribir {}::{}: {}", cache.getName(), key, exception.getMessage());
+    }
+
+    @Override
+    public void handleCacheEvictError(RuntimeException exception, Cache cache, Object key) {
+        log.warn("Error al invalidar {}::{}: {}", cache.getName(), key, exception.getMessage());
+    }
+
+    @Override
+    public void handleCacheClearError(RuntimeException exception, Cache cache) {
+        log.warn("Error al vaciar {}: {}", cache.getName(), exception.getMessage());
+    }
+}
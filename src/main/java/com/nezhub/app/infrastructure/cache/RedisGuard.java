@@ -0,0 +1,123 @@
+package com.nezhub.app.infrastructure.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Llamadas a Redis de la caché que no bloquean el hilo del request: pool acotado, timeout y circuit breaker.
+ * Lo comparten las cachés (ResilientCache), el bus de invalidaciones (PUBLISH) y el lease de carga (SET NX / EVAL).
+ *
+ * FUNCIONAMIENTO:
+ * - Cada operación se ejecuta en un pool fijo de threads hilos con cola acotada y se espera como mucho timeout:
+ *   con Redis colgado como mucho esos hilos quedan bloqueados, nunca los del request
+ * - Pool lleno: fallo local (no se encolan hilos del request) que no cuenta para el circuito
+ * - Timeout o error: se anota en el CacheCircuitBreaker; con el circuito abierto no se llama a Redis
+ * - Los errores de deserialización no abren el circuito (Redis sí respondió)
+ *
+ * MÉTRICAS: nezhub.cache.redis.failures{cache, operation, reason=timeout|error|open|rejected}
+ */
+public class RedisGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisGuard.class);
+
+    /**
+     * Resultado de call cuando no se llamó a Redis, falló o superó el timeout.
+     */
+    static final Object FAILED = new Object();
+
+    private static final int QUEUE_PER_THREAD = 4;
+
+    private final CacheCircuitBreaker breaker;
+    private final long timeoutMillis;
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+
+    public RedisGuard(CacheCircuitBreaker breaker, Duration timeout, int threads, MeterRegistry meterRegistry) {
+        this(breaker, timeout, new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * QUEUE_PER_THREAD),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-redis-io");
+                    thread.setDaemon(true);
+                    return thread;
+                }), meterRegistry);
+    }
+
+    /**
+     * executor: pool de las llamadas (los tests pasan uno ya cerrado para simular el pool lleno).
+     */
+    RedisGuard(CacheCircuitBreaker breaker, Duration timeout, ExecutorService executor, MeterRegistry meterRegistry) {
+        this.breaker = breaker;
+        this.timeoutMillis = timeout.toMillis();
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public CacheCircuitBreaker breaker() {
+        return breaker;
+    }
+
+    /**
+     * RETORNA: el resultado de la operación, o FAILED si no se llamó a Redis, falló o superó el timeout
+     */
+    Object call(String cacheName, String operation, Callable<?> redisOperation) {
+        if (!breaker.allowRequest()) {
+            failure(cacheName, operation, "open");
+            return FAILED;
+        }
+        Future<?> future;
+        try {
+            future = executor.submit(redisOperation);
+        } catch (RejectedExecutionException e) {
+            breaker.onSkipped();
+            failure(cacheName, operation, "rejected");
+            return FAILED;
+        }
+        try {
+            Object result = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            breaker.onSuccess();
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            breaker.onFailure();
+            failure(cacheName, operation, "timeout");
+            return FAILED;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SerializationException) {
+                breaker.onSuccess();
+            } else {
+                breaker.onFailure();
+            }
+            failure(cacheName, operation, "error");
+            log.warn("Fallo de Redis en {} de {}: {}", operation, cacheName, e.getCause().getMessage());
+            return FAILED;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            // Libera la llamada de prueba si el circuito estaba semiabierto
+            breaker.onFailure();
+            Thread.currentThread().interrupt();
+            return FAILED;
+        }
+    }
+
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void failure(String cacheName, String operation, String reason) {
+        meterRegistry.counter("nezhub.cache.redis.failures",
+                "cache", cacheName, "operation", operation, "reason", reason).increment();
+    }
+}
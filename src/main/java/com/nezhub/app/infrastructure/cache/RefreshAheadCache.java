@@ -0,0 +1,233 @@
+package com.nezhub.app.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Refresh-ahead y stale-while-revalidate sobre otra caché (TwoLevelCache o Redis).
+ *
+ * Los valores se guardan como Stamped(valor, computedAt) y su edad decide qué se hace
+ * en cada lectura con loader (@Cacheable(sync = true)):
+ * - edad < refreshAfter: se sirve tal cual
+ * - refreshAfter <= edad < ttl: se sirve y se recalcula en segundo plano (una vez por clave y nodo)
+ * - edad >= ttl: se espera el recálculo como mucho loadTimeout; si Mongo falla o tarda más,
+ *   se sirve el último valor bueno marcado como obsoleto (CacheStaleness) y el recálculo sigue
+ *
+ * La entrada vive en Redis ttl + staleFor (RefreshPolicy.retention): ese es el margen durante
+ * el que hay un valor que servir si la base de datos no responde.
+ * Los valores anteriores sin Stamped se tratan como caducados.
+ *
+ * Un clear o evict en este nodo durante un recálculo descarta su resultado: el valor se calculó con
+ * datos anteriores a la invalidación y no se guarda (la siguiente lectura vuelve a cargar).
+ *
+ * MÉTRICAS (tag cache):
+ * - nezhub.cache.refreshes{result=success|failure}
+ * - nezhub.cache.stale.served: lecturas servidas con un valor caducado
+ */
+public class RefreshAheadCache implements Cache {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshAheadCache.class);
+
+    private final Cache delegate;
+    private final RefreshAheadCacheManager.RefreshPolicy policy;
+    private final long loadTimeoutMillis;
+    private final Executor executor;
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> refreshing = new ConcurrentHashMap<>();
+    // Se incrementa en cada clear/evict: un recálculo solo guarda si no cambió desde que empezó
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Counter refreshSuccess;
+    private final Counter refreshFailure;
+    private final Counter staleServed;
+
+    RefreshAheadCache(Cache delegate, RefreshAheadCacheManager.RefreshPolicy policy, long loadTimeoutMillis,
+                      Executor executor, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.policy = policy;
+        this.loadTimeoutMillis = loadTimeoutMillis;
+        this.executor = executor;
+
+        this.refreshSuccess = refreshes(meterRegistry, "success");
+        this.refreshFailure = refreshes(meterRegistry, "failure");
+        this.staleServed = Counter.builder("nezhub.cache.stale.served")
+                .description("Lecturas servidas con un valor caducado porque el recálculo falló o tardó")
+                .tag("cache", delegate.getName())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        return wrapper != null ? new SimpleValueWrapper(Stamped.of(wrapper.get()).value()) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("El valor cacheado no es del tipo " + type.getName() + ": " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Fallo: la caché delegada carga (coalescida) y guarda el valor ya sellado
+        Stamped stamped = Stamped.of(delegate.get(key, () -> Stamped.now(valueLoader.call())));
+        long age = System.currentTimeMillis() - stamped.computedAt();
+
+        if (age < policy.refreshAfter().toMillis()) {
+            return (T) stamped.value();
+        }
+        CompletableFuture<Object> refresh = refresh(key, valueLoader);
+        if (age < policy.ttl().toMillis()) {
+            return (T) stamped.value();
+        }
+
+        try {
+            return (T) refresh.get(loadTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return (T) serveStale(key, stamped, e);
+        } catch (ExecutionException | TimeoutException e) {
+            return (T) serveStale(key, stamped, e);
+        }
+    }
+
+    private Object serveStale(Object key, Stamped stamped, Exception cause) {
+        staleServed.increment();
+        CacheStaleness.mark(getName());
+        log.warn("Sirviendo {}::{} caducado (calculado hace {} s): {}", getName(), key,
+                (System.currentTimeMillis() - stamped.computedAt()) / 1000, describe(cause));
+        return stamped.value();
+    }
+
+    /**
+     * Recalcula la clave en segundo plano; si ya hay un recálculo en curso, devuelve ese.
+     */
+    private CompletableFuture<Object> refresh(Object key, Callable<?> valueLoader) {
+        String refreshKey = String.valueOf(key);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = refreshing.putIfAbsent(refreshKey, mine);
+        if (existing != null) {
+            return existing;
+        }
+        long startedAt = invalidations.get();
+        try {
+            executor.execute(() -> {
+                try {
+                    Object value = valueLoader.call();
+                    if (invalidations.get() == startedAt) {
+                        delegate.put(key, Stamped.now(value));
+                        // Invalidada justo entre la comprobación y el put: se deshace
+                        if (invalidations.get() != startedAt) {
+                            delegate.evict(key);
+                        }
+                    }
+                    refreshSuccess.increment();
+                    mine.complete(value);
+                } catch (Exception e) {
+                    refreshFailure.increment();
+                    mine.completeExceptionally(e);
+                } finally {
+                    refreshing.remove(refreshKey, mine);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(refreshKey, mine);
+            mine.completeExceptionally(e);
+        }
+        return mine;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, Stamped.now(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, Stamped.now(value));
+        return existing != null ? new SimpleValueWrapper(Stamped.of(existing.get()).value()) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidations.incrementAndGet();
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        invalidations.incrementAndGet();
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        invalidations.incrementAndGet();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        invalidations.incrementAndGet();
+        return delegate.invalidate();
+    }
+
+    private static String describe(Exception e) {
+        Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof TimeoutException ? "recálculo en curso" : cause.toString();
+    }
+
+    private Counter refreshes(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("nezhub.cache.refreshes")
+                .description("Recálculos en segundo plano de entradas próximas a caducar")
+                .tag("cache", delegate.getName())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Valor cacheado junto con el instante (epoch millis) en que se calculó.
+     */
+    public record Stamped(Object value, long computedAt) {
+
+        static Stamped now(Object value) {
+            return new Stamped(value, System.currentTimeMillis());
+        }
+
+        static Stamped of(Object cached) {
+            return cached instanceof Stamped stamped ? stamped : new Stamped(cached, 0);
+        }
+    }
+}
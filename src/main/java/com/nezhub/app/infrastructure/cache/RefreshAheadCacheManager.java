@@ -0,0 +1,95 @@
+package com.nezhub.app.infrastructure.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * CacheManager que aplica refresh-ahead (RefreshAheadCache) a las cachés con RefreshPolicy;
+ * el resto se devuelven tal cual del CacheManager delegado.
+ *
+ * Los recálculos en segundo plano usan un pool fijo de hilos daemon.
+ */
+public class RefreshAheadCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final Map<String, RefreshPolicy> policies;
+    private final long loadTimeoutMillis;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+
+    private final ConcurrentMap<String, RefreshAheadCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * loadTimeout: cuánto espera una lectura de una entrada caducada antes de servir el último valor bueno.
+     */
+    public RefreshAheadCacheManager(CacheManager delegate, Map<String, RefreshPolicy> policies,
+                                    Duration loadTimeout, int refreshThreads, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.policies = Map.copyOf(policies);
+        this.loadTimeoutMillis = loadTimeout.toMillis();
+        this.meterRegistry = meterRegistry;
+        this.executor = Executors.newFixedThreadPool(refreshThreads, runnable -> {
+            Thread thread = new Thread(runnable, "cache-refresh-ahead");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        RefreshPolicy policy = policies.get(name);
+        if (policy == null) {
+            return delegate.getCache(name);
+        }
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache cache = delegate.getCache(cacheName);
+            return cache != null
+                    ? new RefreshAheadCache(cache, policy, loadTimeoutMillis, executor, meterRegistry)
+                    : null;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Política de una caché:
+     * - ttl: edad a partir de la cual el valor está caducado
+     * - refreshAhead: fracción del ttl a partir de la cual se recalcula en segundo plano (0-1)
+     * - staleFor: cuánto más se conserva en Redis para servirlo si la base de datos falla
+     */
+    public record RefreshPolicy(Duration ttl, double refreshAhead, Duration staleFor) {
+
+        public RefreshPolicy {
+            if (refreshAhead <= 0 || refreshAhead > 1) {
+                throw new IllegalArgumentException("refreshAhead debe estar en (0, 1]: " + refreshAhead);
+            }
+        }
+
+        public Duration refreshAfter() {
+            return Duration.ofMillis((long) (ttl.toMillis() * refreshAhead));
+        }
+
+        /**
+         * TTL de la entrada en Redis.
+         */
+        public Duration retention() {
+            return ttl.plus(staleFor);
+        }
+    }
+}
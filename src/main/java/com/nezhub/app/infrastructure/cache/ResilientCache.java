@@ -0,0 +1,266 @@
+package com.nezhub.app.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caché de Redis que no bloquea ni falla el request cuando Redis va lento o está caído.
+ *
+ * FUNCIONAMIENTO:
+ * - Cada operación pasa por RedisGuard: pool acotado, timeout y CacheCircuitBreaker compartido
+ * - Un fallo es un miss (get); un put / evict / clear perdido se anota y se repite cuando Redis responde
+ *   (REPETICIÓN)
+ * - Fallback local acotado (Caffeine): guarda lo último leído o escrito en Redis y se consulta
+ *   solo cuando Redis falla. No recibe las invalidaciones de otros nodos: su TTL acota lo obsoleto
+ *
+ * REPETICIÓN (Redis conservaría el valor anterior y los demás nodos no se enteran: el aviso del bus
+ * también se pierde):
+ * - Las claves de put / evict fallidos se guardan (hasta MAX_DROPPED_KEYS; si se superan o falla un clear,
+ *   se recuerda un clear)
+ * - Cuando el circuito se cierra, o en la siguiente llamada correcta de esta caché, se borran de Redis en
+ *   segundo plano y se avisa al resto de nodos (evict); un clear pendiente cambia la generación
+ *
+ * MÉTRICAS (tag cache):
+ * - nezhub.cache.redis.failures{operation, reason=timeout|error|open|rejected} (RedisGuard)
+ * - nezhub.cache.fallback.hits: lecturas servidas desde el fallback local
+ */
+public class ResilientCache implements Cache {
+
+    private static final Object FAILED = RedisGuard.FAILED;
+
+    static final int MAX_DROPPED_KEYS = 10_000;
+
+    private final Cache delegate;
+    private final RedisGuard guard;
+    private final CacheInvalidationBus bus;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> fallback;
+    private final Runnable scheduleReplay;
+
+    private final Set<Object> droppedKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean droppedClear = new AtomicBoolean();
+
+    private final Counter fallbackHits;
+
+    /**
+     * bus: aviso a los demás nodos de las escrituras repetidas (null = sin aviso).
+     * scheduleReplay: programa replayDroppedWrites en segundo plano (ResilientCacheManager).
+     */
+    ResilientCache(Cache delegate, RedisGuard guard, CacheInvalidationBus bus,
+                   com.github.benmanes.caffeine.cache.Cache<String, Object> fallback, MeterRegistry meterRegistry,
+                   Runnable scheduleReplay) {
+        this.delegate = delegate;
+        this.guard = guard;
+        this.bus = bus;
+        this.fallback = fallback;
+        this.scheduleReplay = scheduleReplay;
+        this.fallbackHits = Counter.builder("nezhub.cache.fallback.hits")
+                .description("Lecturas servidas desde el fallback local porque Redis falló")
+                .tag("cache", delegate.getName())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object result = call("get", () -> delegate.get(key));
+        if (result != FAILED) {
+            ValueWrapper remote = (ValueWrapper) result;
+            if (remote != null && remote.get() != null) {
+                fallback.put(localKey, remote.get());
+            }
+            return remote;
+        }
+        Object local = fallback.getIfPresent(localKey);
+        if (local == null) {
+            return null;
+        }
+        fallbackHits.increment();
+        return new SimpleValueWrapper(local);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("El valor cacheado no es del tipo " + type.getName() + ": " + value);
+        }
+        return (T) value;
+    }
+
+    /**
+     * Sin el bloqueo del RedisCache: la coalescencia de cargas la hace TwoLevelCache por encima.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value != null) {
+            fallback.put(localKey(key), value);
+        }
+        Object result = call("put", () -> {
+            delegate.put(key, value);
+            return null;
+        });
+        if (result == FAILED) {
+            dropped(key);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Object result = call("putIfAbsent", () -> delegate.putIfAbsent(key, value));
+        if (result != FAILED) {
+            ValueWrapper existing = (ValueWrapper) result;
+            Object current = existing != null ? existing.get() : value;
+            if (current != null) {
+                fallback.put(localKey(key), current);
+            }
+            return existing;
+        }
+        Object existing = value != null ? fallback.asMap().putIfAbsent(localKey(key), value) : null;
+        return existing != null ? new SimpleValueWrapper(existing) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        fallback.invalidate(localKey(key));
+        Object result = call("evict", () -> {
+            delegate.evict(key);
+            return null;
+        });
+        if (result == FAILED) {
+            dropped(key);
+        }
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        fallback.invalidate(localKey(key));
+        Object result = call("evict", () -> delegate.evictIfPresent(key));
+        if (result == FAILED) {
+            dropped(key);
+            return false;
+        }
+        return (Boolean) result;
+    }
+
+    @Override
+    public void clear() {
+        fallback.invalidateAll();
+        Object result = call("clear", () -> {
+            delegate.clear();
+            return null;
+        });
+        if (result == FAILED) {
+            droppedClear();
+        }
+    }
+
+    @Override
+    public boolean invalidate() {
+        fallback.invalidateAll();
+        Object result = call("clear", delegate::invalidate);
+        if (result == FAILED) {
+            droppedClear();
+            return false;
+        }
+        return (Boolean) result;
+    }
+
+    /**
+     * Repite las escrituras perdidas (ver REPETICIÓN). Si Redis vuelve a fallar, lo que falta
+     * queda anotado para la siguiente vez.
+     */
+    void replayDroppedWrites() {
+        if (droppedClear.getAndSet(false)) {
+            droppedKeys.clear();
+            Object result = guard.call(getName(), "clear", () -> {
+                delegate.clear();
+                return null;
+            });
+            if (result == FAILED) {
+                droppedClear.set(true);
+            }
+            return;
+        }
+        for (Object key : droppedKeys) {
+            droppedKeys.remove(key);
+            Object result = guard.call(getName(), "evict", () -> {
+                delegate.evict(key);
+                return null;
+            });
+            if (result == FAILED) {
+                droppedKeys.add(key);
+                return;
+            }
+            if (bus != null) {
+                bus.publishEvict(getName(), localKey(key));
+            }
+        }
+    }
+
+    boolean hasDroppedWrites() {
+        return droppedClear.get() || !droppedKeys.isEmpty();
+    }
+
+    private Object call(String operation, Callable<?> redisOperation) {
+        Object result = guard.call(getName(), operation, redisOperation);
+        if (result != FAILED && hasDroppedWrites()) {
+            scheduleReplay.run();
+        }
+        return result;
+    }
+
+    private void dropped(Object key) {
+        if (droppedClear.get()) {
+            return;
+        }
+        droppedKeys.add(key);
+        if (droppedKeys.size() > MAX_DROPPED_KEYS) {
+            droppedClear();
+        }
+    }
+
+    private void droppedClear() {
+        droppedClear.set(true);
+        droppedKeys.clear();
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
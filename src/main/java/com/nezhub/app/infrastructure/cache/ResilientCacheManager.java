@@ -0,0 +1,99 @@
+package com.nezhub.app.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * CacheManager que envuelve cada caché de Redis en una ResilientCache: timeout por operación,
+ * circuit breaker compartido y fallback local acotado.
+ *
+ * Las operaciones con Redis pasan por RedisGuard (pool fijo con cola acotada, compartido con el bus
+ * de invalidaciones y el lease): con Redis colgado como mucho esos hilos quedan bloqueados, nunca los del request.
+ * Las escrituras perdidas de todas las cachés se repiten en un hilo aparte cuando el circuito se cierra.
+ */
+public class ResilientCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final RedisGuard guard;
+    private final CacheInvalidationBus bus;
+    private final long fallbackMaxSize;
+    private final Duration fallbackTtl;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService replayExecutor;
+    private final AtomicBoolean replayScheduled = new AtomicBoolean();
+
+    private final ConcurrentMap<String, ResilientCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * bus: aviso a los demás nodos de los evicts repetidos (null = sin aviso).
+     * fallbackMaxSize / fallbackTtl: límites del fallback local de cada caché.
+     */
+    public ResilientCacheManager(CacheManager delegate, RedisGuard guard, CacheInvalidationBus bus,
+                                 long fallbackMaxSize, Duration fallbackTtl, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.guard = guard;
+        this.bus = bus;
+        this.fallbackMaxSize = fallbackMaxSize;
+        this.fallbackTtl = fallbackTtl;
+        this.meterRegistry = meterRegistry;
+        this.replayExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-redis-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        guard.breaker().addRecoveryListener(this::scheduleReplay);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache cache = delegate.getCache(cacheName);
+            if (cache == null) {
+                return null;
+            }
+            com.github.benmanes.caffeine.cache.Cache<String, Object> fallback = Caffeine.newBuilder()
+                    .maximumSize(fallbackMaxSize)
+                    .expireAfterWrite(fallbackTtl)
+                    .build();
+            return new ResilientCache(cache, guard, bus, fallback, meterRegistry, this::scheduleReplay);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public void close() {
+        replayExecutor.shutdownNow();
+    }
+
+    /**
+     * Repite en segundo plano las escrituras perdidas de todas las cachés; una sola repetición pendiente a la vez.
+     */
+    private void scheduleReplay() {
+        if (!replayScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            replayExecutor.execute(() -> {
+                replayScheduled.set(false);
+                caches.values().forEach(ResilientCache::replayDroppedWrites);
+            });
+        } catch (RejectedExecutionException e) {
+            // Manager cerrado
+            replayScheduled.set(false);
+        }
+    }
+}
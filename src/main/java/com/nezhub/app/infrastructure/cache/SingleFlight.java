@@ -0,0 +1,50 @@
+package com.nezhub.app.infrastructure.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalescencia de cargas por clave dentro del nodo: mientras una carga está en curso,
+ * el resto de llamadas con la misma clave esperan su resultado en lugar de repetirla.
+ */
+class SingleFlight {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * RETORNA: el valor cargado y si esta llamada esperó la carga de otra (coalesced)
+     */
+    Result load(String key, Supplier<Object> loader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return new Result(await(existing), true);
+        }
+        try {
+            Object value = loader.get();
+            mine.complete(value);
+            return new Result(value, false);
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    record Result(Object value, boolean coalesced) {}
+}
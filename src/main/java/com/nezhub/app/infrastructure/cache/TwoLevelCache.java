@@ -0,0 +1,361 @@
+package com.nezhub.app.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Caché de dos niveles: L1 local (Caffeine) delante de L2 compartida (Redis).
+ *
+ * LECTURA: L1 -> L2 (el valor encontrado en L2 se copia a L1) -> loader
+ * ESCRITURA / EVICT / CLEAR: primero L2, luego L1 local, y se publica la invalidación
+ * para que el resto de nodos descarte su copia L1 (el clear lo publica CacheGenerations)
+ *
+ * CARGA (get con loader, @Cacheable(sync = true)):
+ * - Single-flight por nodo: las llamadas concurrentes con la misma clave comparten una carga
+ * - Con CacheLoadLease, además una sola carga por clúster: quien no obtiene el lease espera el aviso
+ *   de escritura del otro nodo (CacheInvalidationBus, sin sondear Redis) como mucho lease.maxWait();
+ *   después lee L2 una vez y, si el valor no está, carga él mismo
+ *
+ * RELLENO DE L1 (valor leído de L2): una invalidación puede llegar mientras se lee L2 y el relleno dejaría
+ * en L1 el valor anterior hasta el TTL. Cada invalidación (evict, escritura o clear, local o de otro nodo)
+ * toma una versión nueva y la anota en la franja de su clave; el relleno guarda la versión de antes de
+ * leer L2 y se descarta si su franja (o un clear) es posterior. Compartir franja solo descarta rellenos de más.
+ *
+ * Las claves de L1 son String.valueOf(clave), la misma representación que usa la clave de Redis.
+ * L1 devuelve siempre la misma instancia: los valores cacheados no deben modificarse.
+ *
+ * MÉTRICAS (tag cache):
+ * - nezhub.cache.gets{level=l1|l2, result=hit|miss}
+ * - nezhub.cache.hit.ratio{level=l1|l2}: aciertos / consultas de ese nivel (L2 solo ve los fallos de L1)
+ * - nezhub.cache.l1.size
+ * - nezhub.cache.loads: cargas ejecutadas (llamadas al loader)
+ * - nezhub.cache.coalesced{scope=node|cluster}: esperas que reutilizaron la carga de otro hilo o nodo
+ */
+public class TwoLevelCache implements Cache {
+
+    private static final int INVALIDATION_STRIPES = 256;
+
+    private final String name;
+    private final Cache l2;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> l1;
+    private final CacheInvalidationBus bus;
+    private final CacheLoadLease lease;
+    private final SingleFlight singleFlight = new SingleFlight();
+    // Claves esperando la carga de otro nodo: se completan con su aviso de escritura
+    private final ConcurrentMap<String, CompletableFuture<Void>> remoteLoads = new ConcurrentHashMap<>();
+    // Versión de la última invalidación por franja de claves y del último clear (ver fillLocal)
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLongArray invalidatedAt = new AtomicLongArray(INVALIDATION_STRIPES);
+    private volatile long clearedAt;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter loads;
+    private final Counter nodeCoalesced;
+    private final Counter clusterCoalesced;
+
+    TwoLevelCache(String name, Cache l2, com.github.benmanes.caffeine.cache.Cache<String, Object> l1,
+                  CacheInvalidationBus bus, CacheLoadLease lease, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.l2 = l2;
+        this.l1 = l1;
+        this.bus = bus;
+        this.lease = lease;
+
+        this.l1Hits = gets(meterRegistry, "l1", "hit");
+        this.l1Misses = gets(meterRegistry, "l1", "miss");
+        this.l2Hits = gets(meterRegistry, "l2", "hit");
+        this.l2Misses = gets(meterRegistry, "l2", "miss");
+        this.loads = Counter.builder("nezhub.cache.loads")
+                .description("Cargas ejecutadas tras un fallo de caché")
+                .tag("cache", name)
+                .register(meterRegistry);
+        this.nodeCoalesced = coalesced(meterRegistry, "node");
+        this.clusterCoalesced = coalesced(meterRegistry, "cluster");
+
+        hitRatio(meterRegistry, "l1", l1Hits, l1Misses);
+        hitRatio(meterRegistry, "l2", l2Hits, l2Misses);
+        Gauge.builder("nezhub.cache.l1.size", l1, cache -> cache.estimatedSize())
+                .description("Entradas en la caché local L1")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l2.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object local = l1.getIfPresent(localKey);
+        if (local != null) {
+            l1Hits.increment();
+            return new SimpleValueWrapper(local);
+        }
+        l1Misses.increment();
+
+        ValueWrapper remote = readRemote(key, localKey);
+        if (remote == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("El valor cacheado no es del tipo " + type.getName() + ": " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        SingleFlight.Result result = singleFlight.load(localKey(key), () -> loadOnce(key, valueLoader));
+        if (result.coalesced()) {
+            nodeCoalesced.increment();
+        }
+        return (T) result.value();
+    }
+
+    /**
+     * Carga del nodo: con lease, solo si ningún otro nodo está cargando la misma clave.
+     */
+    private Object loadOnce(Object key, Callable<?> valueLoader) {
+        String localKey = localKey(key);
+        // Otro hilo pudo terminar la carga justo antes de entrar en el single-flight
+        Object local = l1.getIfPresent(localKey);
+        if (local != null) {
+            return local;
+        }
+        if (lease == null) {
+            return load(key, valueLoader);
+        }
+        if (!lease.tryAcquire(name, localKey)) {
+            ValueWrapper remote = awaitRemote(key, localKey);
+            if (remote != null) {
+                clusterCoalesced.increment();
+                return remote.get();
+            }
+            // Sin valor en maxWait (el otro nodo tarda o falló): cargar aquí
+            return load(key, valueLoader);
+        }
+        try {
+            return load(key, valueLoader);
+        } finally {
+            lease.release(name, localKey);
+        }
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        loads.increment();
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Espera el aviso de escritura de la clave (o maxWait) y lee L2 (copiando el valor a L1).
+     * Ya estamos dentro del single-flight: un solo hilo por clave y nodo espera aquí.
+     */
+    private ValueWrapper awaitRemote(Object key, String localKey) {
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        remoteLoads.put(localKey, written);
+        try {
+            // El otro nodo pudo escribir antes de registrar la espera
+            ValueWrapper remote = readRemote(key, localKey);
+            if (remote != null) {
+                return remote;
+            }
+            written.get(lease.maxWait().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            // Sin aviso: última lectura de L2 por si se perdió el mensaje
+        } finally {
+            remoteLoads.remove(localKey, written);
+        }
+        return readRemote(key, localKey);
+    }
+
+    /**
+     * Lee L2 y copia el valor a L1 salvo que la clave se haya invalidado durante la lectura.
+     */
+    private ValueWrapper readRemote(Object key, String localKey) {
+        long readVersion = version.get();
+        ValueWrapper remote = l2.get(key);
+        if (remote != null && remote.get() != null) {
+            fillLocal(localKey, remote.get(), readVersion);
+        }
+        return remote;
+    }
+
+    /**
+     * FUNCIONAMIENTO:
+     * - compute bloquea la entrada de L1: una invalidación anota su versión antes de borrar la entrada,
+     *   así o el relleno ve la versión nueva y no escribe, o escribe antes y la invalidación lo borra
+     * - Si no se rellena se conserva lo que hubiera (la escritura local que causó la invalidación)
+     */
+    private void fillLocal(String localKey, Object value, long readVersion) {
+        l1.asMap().compute(localKey, (k, current) -> invalidatedSince(localKey, readVersion) ? current : value);
+    }
+
+    private boolean invalidatedSince(String localKey, long readVersion) {
+        return clearedAt > readVersion || invalidatedAt.get(stripe(localKey)) > readVersion;
+    }
+
+    private void markInvalidated(String localKey) {
+        invalidatedAt.accumulateAndGet(stripe(localKey), version.incrementAndGet(), Math::max);
+    }
+
+    private static int stripe(String localKey) {
+        return Math.floorMod(localKey.hashCode(), INVALIDATION_STRIPES);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l2.put(key, value);
+        String localKey = localKey(key);
+        // Un relleno con el valor anterior que esté leyendo L2 no debe pisar esta escritura
+        markInvalidated(localKey);
+        if (value != null) {
+            l1.put(localKey, value);
+        } else {
+            l1.invalidate(localKey);
+        }
+        bus.publishEvict(name, localKey);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = l2.putIfAbsent(key, value);
+        String localKey = localKey(key);
+        if (existing == null) {
+            markInvalidated(localKey);
+        }
+        Object current = existing != null ? existing.get() : value;
+        if (current != null) {
+            l1.put(localKey, current);
+        }
+        if (existing == null) {
+            bus.publishEvict(name, localKey);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+        evictLocal(localKey(key));
+        bus.publishEvict(name, localKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = l2.evictIfPresent(key);
+        evictLocal(localKey(key));
+        bus.publishEvict(name, localKey(key));
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        // El clear en L2 cambia de generación y lo publica (CacheGenerations)
+        l2.clear();
+        clearLocal();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = l2.invalidate();
+        clearLocal();
+        return invalidated;
+    }
+
+    /**
+     * Escritura o evict de la clave en otro nodo (CacheInvalidationBus).
+     */
+    void evictLocal(String localKey) {
+        markInvalidated(localKey);
+        l1.invalidate(localKey);
+        CompletableFuture<Void> waiting = remoteLoads.get(localKey);
+        if (waiting != null) {
+            waiting.complete(null);
+        }
+    }
+
+    void clearLocal() {
+        clearedAt = version.incrementAndGet();
+        l1.invalidateAll();
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private Counter coalesced(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("nezhub.cache.coalesced")
+                .description("Fallos de caché que esperaron la carga de otro hilo o nodo")
+                .tag("cache", name)
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    private Counter gets(MeterRegistry meterRegistry, String level, String result) {
+        return Counter.builder("nezhub.cache.gets")
+                .description("Consultas a la caché por nivel y resultado")
+                .tag("cache", name)
+                .tag("level", level)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private void hitRatio(MeterRegistry meterRegistry, String level, Counter hits, Counter misses) {
+        Gauge.builder("nezhub.cache.hit.ratio", () -> {
+                    double total = hits.count() + misses.count();
+                    return total > 0 ? hits.count() / total : 0;
+                })
+                .description("Proporción de aciertos del nivel de caché")
+                .tag("cache", name)
+                .tag("level", level)
+                .register(meterRegistry);
+    }
+}
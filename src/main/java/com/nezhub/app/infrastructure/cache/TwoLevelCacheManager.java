@@ -0,0 +1,88 @@
+package com.nezhub.app.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * CacheManager compuesto: cada caché con L1 configurada es una TwoLevelCache sobre la caché
+ * del CacheManager de Redis; el resto se sirve directamente desde Redis.
+ *
+ * Recibe las invalidaciones de otros nodos (CacheInvalidationBus) y las aplica solo a L1.
+ */
+public class TwoLevelCacheManager implements CacheManager, CacheInvalidationBus.Listener {
+
+    private final CacheManager l2Manager;
+    private final Map<String, L1Spec> l1Specs;
+    private final CacheInvalidationBus bus;
+    private final CacheLoadLease lease;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * lease: null para coalescer los fallos solo dentro de cada nodo.
+     */
+    public TwoLevelCacheManager(CacheManager l2Manager, Map<String, L1Spec> l1Specs,
+                                CacheInvalidationBus bus, CacheLoadLease lease, MeterRegistry meterRegistry) {
+        this.l2Manager = l2Manager;
+        this.l1Specs = Map.copyOf(l1Specs);
+        this.bus = bus;
+        this.lease = lease;
+        this.meterRegistry = meterRegistry;
+        bus.addListener(this);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        L1Spec spec = l1Specs.get(name);
+        if (spec == null) {
+            return l2Manager.getCache(name);
+        }
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache l2 = l2Manager.getCache(cacheName);
+            if (l2 == null) {
+                return null;
+            }
+            com.github.benmanes.caffeine.cache.Cache<String, Object> l1 = Caffeine.newBuilder()
+                    .maximumSize(spec.maxSize())
+                    .expireAfterWrite(spec.ttl())
+                    .build();
+            return new TwoLevelCache(cacheName, l2, l1, bus, lease, meterRegistry);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return l2Manager.getCacheNames();
+    }
+
+    @Override
+    public void onEvict(String cacheName, String key) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocal(key);
+        }
+    }
+
+    @Override
+    public void onClear(String cacheName) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.clearLocal();
+        }
+    }
+
+    /**
+     * Límites de la L1 de una caché. El TTL debe ser menor que el de Redis: acota también
+     * lo que dura una entrada obsoleta si se pierde un mensaje de invalidación.
+     */
+    public record L1Spec(long maxSize, Duration ttl) {}
+}
@@ -1,13 +1,33 @@
 package com.nezhub.app.infrastructure.config;
 
+import com.nezhub.app.infrastructure.cache.CacheCircuitBreaker;
+import com.nezhub.app.infrastructure.cache.CacheGenerations;
+import com.nezhub.app.infrastructure.cache.CacheInvalidationBus;
+import com.nezhub.app.infrastructure.cache.CacheLoadLease;
+import com.nezhub.app.infrastructure.cache.CompactCacheSerializer;
+import com.nezhub.app.infrastructure.cache.GenerationalCacheWriter;
+import com.nezhub.app.infrastructure.cache.MissOnErrorCacheErrorHandler;
+import com.nezhub.app.infrastructure.cache.RedisGuard;
+import com.nezhub.app.infrastructure.cache.RefreshAheadCacheManager;
+import com.nezhub.app.infrastructure.cache.ResilientCacheManager;
+import com.nezhub.app.infrastructure.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -18,7 +38,7 @@ import java.util.Map;
 
 @Configuration
 @EnableCaching
-public class RedisConfig {
+public class RedisConfig implements CachingConfigurer {
 
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
@@ -37,23 +57,165 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * CacheManager de la aplicación: L1 local (Caffeine) delante de Redis (L2).
+     *
+     * - L1 por caché: tamaño máximo y TTL (menor que el de Redis), ver l1Specs()
+     * - Las escrituras y evicts se difunden por Redis pub/sub (CacheInvalidationBus)
+     *   para que el resto de nodos descarte su L1
+     * - nezhub.cache.l1.enabled=false deja solo Redis
+     * - Vaciar una caché (allEntries / clear) es un INCR de su generación, nunca KEYS (CacheGenerations)
+     * - Fallos coalescidos (@Cacheable(sync = true)): una carga por clave y nodo, o por clúster
+     *   con nezhub.cache.single-flight.redis-lease.enabled
+     * - Refresh-ahead en las cachés de estadísticas (refreshPolicies()): se recalculan en segundo
+     *   plano antes de caducar y, si MongoDB falla, se sirve el último valor bueno marcado como obsoleto
+     * - Valores en Smile con cabecera versionada y Zstandard desde nezhub.cache.codec.compression-threshold
+     *   bytes (CompactCacheSerializer); las entradas JSON anteriores se siguen leyendo
+     * - Redis no bloquea los requests (ResilientCacheManager): timeout por operación, circuit breaker
+     *   y fallback local acotado; un fallo de Redis es un miss y los evicts / clears perdidos se repiten
+     *   al cerrarse el circuito
+     */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     CacheGenerations cacheGenerations,
+                                     CacheInvalidationBus invalidationBus,
+                                     RedisGuard redisGuard,
+                                     StringRedisTemplate stringRedisTemplate,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${nezhub.cache.l1.enabled:true}") boolean l1Enabled,
+                                     @Value("${nezhub.cache.single-flight.redis-lease.enabled:false}") boolean leaseEnabled,
+                                     @Value("${nezhub.cache.single-flight.redis-lease.ttl:5s}") Duration leaseTtl,
+                                     @Value("${nezhub.cache.single-flight.redis-lease.max-wait:200ms}") Duration leaseMaxWait,
+                                     @Value("${nezhub.cache.refresh-ahead.enabled:true}") boolean refreshAheadEnabled,
+                                     @Value("${nezhub.cache.refresh-ahead.load-timeout:2s}") Duration refreshLoadTimeout,
+                                     @Value("${nezhub.cache.refresh-ahead.threads:2}") int refreshThreads,
+                                     @Value("${nezhub.cache.codec.format:SMILE}") CompactCacheSerializer.Format codecFormat,
+                                     @Value("${nezhub.cache.codec.compression-threshold:1024}") int compressionThreshold,
+                                     @Value("${nezhub.cache.resilience.enabled:true}") boolean resilienceEnabled,
+                                     @Value("${nezhub.cache.resilience.fallback.max-size:1000}") long fallbackMaxSize,
+                                     @Value("${nezhub.cache.resilience.fallback.ttl:1m}") Duration fallbackTtl) {
+        Map<String, RefreshAheadCacheManager.RefreshPolicy> refreshPolicies =
+                refreshAheadEnabled ? refreshPolicies() : Map.of();
+        CompactCacheSerializer valueSerializer = new CompactCacheSerializer(codecFormat, compressionThreshold);
+        CacheManager cacheManager = redisCacheManager(connectionFactory, cacheGenerations, valueSerializer,
+                refreshPolicies);
+        if (resilienceEnabled) {
+            cacheManager = new ResilientCacheManager(cacheManager, redisGuard, invalidationBus,
+                    fallbackMaxSize, fallbackTtl, meterRegistry);
+        }
+        if (l1Enabled) {
+            CacheLoadLease lease = leaseEnabled
+                    ? new CacheLoadLease(stringRedisTemplate, resilienceEnabled ? redisGuard : null, leaseTtl, leaseMaxWait)
+                    : null;
+            cacheManager = new TwoLevelCacheManager(cacheManager, l1Specs(), invalidationBus, lease, meterRegistry);
+        }
+        if (refreshPolicies.isEmpty()) {
+            return cacheManager;
+        }
+        return new RefreshAheadCacheManager(cacheManager, refreshPolicies, refreshLoadTimeout, refreshThreads,
+                meterRegistry);
+    }
+
+    /**
+     * Errores de caché en las anotaciones: se tratan como miss y no llegan a los resolvers.
+     */
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new MissOnErrorCacheErrorHandler();
+    }
+
+    /**
+     * Estado de Redis compartido por todas las cachés y por el bus de invalidaciones.
+     */
+    @Bean
+    public CacheCircuitBreaker cacheCircuitBreaker(MeterRegistry meterRegistry,
+                                                   @Value("${nezhub.cache.resilience.failure-threshold:5}") int failureThreshold,
+                                                   @Value("${nezhub.cache.resilience.open-duration:10s}") Duration openDuration) {
+        return new CacheCircuitBreaker(failureThreshold, openDuration, meterRegistry);
+    }
+
+    /**
+     * Pool acotado y timeout de las llamadas a Redis de las cachés, el bus de invalidaciones y el lease.
+     */
+    @Bean
+    public RedisGuard cacheRedisGuard(CacheCircuitBreaker circuitBreaker,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${nezhub.cache.resilience.timeout:100ms}") Duration redisTimeout,
+                                      @Value("${nezhub.cache.resilience.threads:16}") int redisThreads) {
+        return new RedisGuard(circuitBreaker, redisTimeout, redisThreads, meterRegistry);
+    }
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate stringRedisTemplate,
+                                                     RedisGuard redisGuard,
+                                                     @Value("${nezhub.cache.resilience.enabled:true}") boolean resilienceEnabled) {
+        return new CacheInvalidationBus(stringRedisTemplate, resilienceEnabled ? redisGuard : null);
+    }
+
+    /**
+     * Generaciones de las cachés de Redis. Se crea antes que la L1: sus listeners del bus van primero.
+     */
+    @Bean
+    public CacheGenerations cacheGenerations(RedisConnectionFactory connectionFactory,
+                                             StringRedisTemplate stringRedisTemplate,
+                                             CacheInvalidationBus invalidationBus,
+                                             @Value("${nezhub.cache.generations.sync-interval:5s}") Duration syncInterval,
+                                             @Value("${nezhub.cache.generations.reclaim:true}") boolean reclaim) {
+        RedisCacheWriter reclaimer = reclaim
+                ? RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(1000))
+                : null;
+        return new CacheGenerations(stringRedisTemplate, invalidationBus, syncInterval, reclaimer);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            CacheInvalidationBus invalidationBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(invalidationBus, new ChannelTopic(CacheInvalidationBus.CHANNEL));
+        return container;
+    }
+
+    /**
+     * L1 por caché. TTL corto en las cachés que cambian con cada escritura.
+     */
+    private static Map<String, TwoLevelCacheManager.L1Spec> l1Specs() {
+        Map<String, TwoLevelCacheManager.L1Spec> specs = new HashMap<>();
+        specs.put(CacheNames.SEARCH_BY_SKILL, new TwoLevelCacheManager.L1Spec(1_000, Duration.ofMinutes(1)));
+        specs.put(CacheNames.PROJECT_DETAILS, new TwoLevelCacheManager.L1Spec(10_000, Duration.ofMinutes(5)));
+        specs.put(CacheNames.SKILL_STATS, new TwoLevelCacheManager.L1Spec(100, Duration.ofMinutes(5)));
+        specs.put(CacheNames.STATUS_STATS, new TwoLevelCacheManager.L1Spec(10, Duration.ofMinutes(5)));
+        return specs;
+    }
+
+    /**
+     * Refresh-ahead por caché: recálculo en segundo plano al 75% del TTL y 24 h de margen
+     * para servir el último valor bueno si MongoDB no responde.
+     */
+    private static Map<String, RefreshAheadCacheManager.RefreshPolicy> refreshPolicies() {
+        Map<String, RefreshAheadCacheManager.RefreshPolicy> policies = new HashMap<>();
+        policies.put(CacheNames.SKILL_STATS,
+                new RefreshAheadCacheManager.RefreshPolicy(Duration.ofHours(2), 0.75, Duration.ofHours(24)));
+        policies.put(CacheNames.STATUS_STATS,
+                new RefreshAheadCacheManager.RefreshPolicy(Duration.ofHours(2), 0.75, Duration.ofHours(24)));
+        return policies;
+    }
+
+    /**
+     * refreshPolicies: las cachés con refresh-ahead conservan sus entradas en Redis ttl + staleFor.
+     */
+    private static RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory,
+                                                       CacheGenerations cacheGenerations,
+                                                       CompactCacheSerializer valueSerializer,
+                                                       Map<String, RefreshAheadCacheManager.RefreshPolicy> refreshPolicies) {
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofHours(1))
-                .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(
-                                new GenericJackson2JsonRedisSerializer()
-                        )
-                )
+                .computePrefixWith(cacheGenerations)
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer))
                 .disableCachingNullValues();
 
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
 
-        cacheConfigurations.put(CacheNames.TRENDING_PROJECTS,
-                defaultConfig.entryTtl(Duration.ofHours(1))
-        );
-
         cacheConfigurations.put(CacheNames.SEARCH_BY_SKILL,
                 defaultConfig.entryTtl(Duration.ofMinutes(30))
         );
@@ -70,14 +232,21 @@ public class RedisConfig {
                 defaultConfig.entryTtl(Duration.ofHours(2))
         );
 
-        return RedisCacheManager.builder(connectionFactory)
+        refreshPolicies.forEach((cacheName, policy) ->
+                cacheConfigurations.put(cacheName, defaultConfig.entryTtl(policy.retention())));
+
+        RedisCacheWriter cacheWriter = new GenerationalCacheWriter(
+                RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), cacheGenerations);
+        RedisCacheManager cacheManager = RedisCacheManager.builder(cacheWriter)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
                 .build();
+        // No es un bean: se inicializa aquí
+        cacheManager.afterPropertiesSet();
+        return cacheManager;
     }
 
     public static class CacheNames {
-        public static final String TRENDING_PROJECTS = "trendingProjects";
         public static final String SEARCH_BY_SKILL = "searchBySkill";
         public static final String PROJECT_DETAILS = "projectDetails";
         public static final String SKILL_STATS = "skillStats";
@@ -46,6 +46,9 @@ public class SecurityConfig {
                         // Endpoints públicos
                         .requestMatchers("/graphql", "/graphiql/**", "/health").permitAll()
 
+                        // Sondas de Kubernetes (liveness / readiness), sin JWT
+                        .requestMatchers("/actuator/health", "/actuator/health/**", "/livez", "/readyz").permitAll()
+
                         // Todos los demás requieren autenticación
                         .anyRequest().authenticated()
                 )
@@ -0,0 +1,21 @@
+package com.nezhub.app.infrastructure.config;
+
+import com.nezhub.app.presentation.rest.AsyncTimeoutInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuración de Spring MVC.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    /**
+     * Timeouts asíncronos por endpoint (ver AsyncTimeoutInterceptor).
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new AsyncTimeoutInterceptor());
+    }
+}
@@ -0,0 +1,79 @@
+package com.nezhub.app.infrastructure.security;
+
+import com.nezhub.app.domain.enums.UserRole;
+import com.nezhub.app.domain.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal del usuario autenticado.
+ *
+ * Guarda los datos que las mutations necesitan (id, email, rol, username)
+ * para que no tengan que volver a leer el usuario de MongoDB.
+ *
+ * NOTA: getUsername() devuelve el email (contrato de Spring Security),
+ * el nombre visible del usuario está en getDisplayName().
+ */
+public class AuthenticatedUser implements UserDetails {
+
+    private final String id;
+    private final String email;
+    private final String displayName;
+    private final UserRole role;
+    private final String password;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(String id, String email, String displayName, UserRole role, String password) {
+        this.id = id;
+        this.email = email;
+        this.displayName = displayName;
+        this.role = role;
+        this.password = password;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(
+                user.getId(),
+                user.getEmail(),
+                user.getUsername(),
+                user.getRole(),
+                user.getPassword()
+        );
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+}
@@ -9,10 +9,28 @@ import org.springframework.security.core.userdetails.UserDetails;
  *
  * PROPÓSITO:
  * - Obtener email del usuario autenticado desde SecurityContext
+ * - Obtener el principal completo (id, email, rol, username) sin consultar MongoDB
  * - Usado en mutations protegidas para saber quién hace la operación
  */
 public class AuthenticationUtils {
 
+    /**
+     * Devuelve el usuario autenticado tal como lo cargó JwtAuthenticationFilter.
+     * No accede a base de datos.
+     */
+    public static AuthenticatedUser getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new IllegalStateException("No hay usuario autenticado");
+        }
+
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+
+        throw new IllegalStateException("Principal no es AuthenticatedUser");
+    }
 
     public static String getCurrentUserEmail() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
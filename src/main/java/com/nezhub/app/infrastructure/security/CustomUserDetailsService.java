@@ -2,14 +2,11 @@ package com.nezhub.app.infrastructure.security;
 
 import com.nezhub.app.domain.model.User;
 import com.nezhub.app.domain.repository.UserRepository;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
@@ -26,12 +23,7 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + email));
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())  // Email como username
-                .password(user.getPassword())  // Password hasheado
-                .authorities(Collections.singletonList(
-                        new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
-                ))
-                .build();
+        // Email como username, password hasheado y rol como authority
+        return AuthenticatedUser.from(user);
     }
 }
\ No newline at end of file
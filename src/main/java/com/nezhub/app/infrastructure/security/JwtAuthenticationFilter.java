@@ -21,10 +21,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final VerifiedTokenCache tokenCache;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService,
+                                   VerifiedTokenCache tokenCache) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.tokenCache = tokenCache;
     }
 
     @Override
@@ -46,17 +49,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             // Extraer token (remover "Bearer " del inicio)
             final String jwt = authHeader.substring(7);
-            final String userEmail = jwtUtil.extractEmail(jwt);
 
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = resolveUserDetails(jwt);
 
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-
-
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-
-                // Validar token
-                if (jwtUtil.validateToken(jwt, userDetails.getUsername())) {
-
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -74,4 +71,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Obtiene el UserDetails del token.
+     *
+     * - Modo stateless: directamente de los claims verificados
+     * - Modo con base de datos: primero VerifiedTokenCache; si no está,
+     *   verifica firma (un único parseo), carga el usuario y lo cachea
+     *
+     * RETORNA: null si el token no es un access token
+     */
+    private UserDetails resolveUserDetails(String jwt) {
+        if (!jwtUtil.isStateless()) {
+            VerifiedTokenCache.Entry cached = tokenCache.get(jwt);
+            if (cached != null) {
+                return cached.userDetails();
+            }
+        }
+
+        // Un único parseo: verifica firma y expiración
+        final JwtUtil.VerifiedToken token = jwtUtil.verify(jwt);
+        if (token.email() == null || !token.isAccessToken()) {
+            return null;
+        }
+
+        // Modo stateless: el principal sale de los claims verificados, sin consultar MongoDB
+        if (jwtUtil.isStateless() && token.hasIdentityClaims()) {
+            return token.toAuthenticatedUser();
+        }
+
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(token.email());
+        tokenCache.put(jwt, token, userDetails);
+        return userDetails;
+    }
+}
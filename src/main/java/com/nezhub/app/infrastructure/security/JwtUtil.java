@@ -1,7 +1,10 @@
 package com.nezhub.app.infrastructure.security;
 
 import com.nezhub.app.domain.enums.UserRole;
+import com.nezhub.app.domain.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -18,34 +21,110 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_USERNAME = "name";
+    public static final String CLAIM_TYPE = "typ";
 
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+
+    private final long accessExpiration;
+    private final long refreshExpiration;
+    private final boolean stateless;
+
+    // Clave y parser se construyen una sola vez: ambos son inmutables y thread-safe
+    private final SecretKey signingKey;
+    private final JwtParser parser;
 
     /**
-     * Genera token JWT para un usuario.
+     * MODO STATELESS (jwt.stateless.enabled):
+     * - El access token lleva userId, rol y username como claims
+     * - JwtAuthenticationFilter construye el Authentication solo con esos claims (sin MongoDB)
+     * - El access token dura poco (jwt.stateless.access-expiration); la revocación
+     *   se apoya en ese TTL corto + el refresh token, que sí vuelve a leer el usuario
+     */
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") Long expiration,
+                   @Value("${jwt.refresh-expiration:604800000}") Long refreshExpiration,
+                   @Value("${jwt.stateless.enabled:false}") boolean stateless,
+                   @Value("${jwt.stateless.access-expiration:900000}") Long statelessAccessExpiration) {
+        this.stateless = stateless;
+        this.accessExpiration = stateless ? statelessAccessExpiration : expiration;
+        this.refreshExpiration = refreshExpiration;
+        this.signingKey = buildSigningKey(secret);
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
+    public boolean isStateless() {
+        return stateless;
+    }
+
+    /**
+     * Genera access token JWT para un usuario.
      *
      * PAYLOAD incluye:
      * - subject: email del usuario
      * - role: rol del usuario (CREATOR/COLLABORATOR)
+     * - uid / name: id y username (usados en modo stateless)
+     * - typ: "access"
      * - issuedAt: fecha de creación
-     * - expiration: fecha de expiración (24 horas por defecto)
+     * - expiration: 24 horas por defecto, 15 minutos en modo stateless
      */
-    public String generateToken(String email, UserRole role) {
+    public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", role.name());
+        claims.put(CLAIM_ROLE, user.getRole().name());
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_USERNAME, user.getUsername());
+        claims.put(CLAIM_TYPE, TYPE_ACCESS);
 
+        return buildToken(claims, user.getEmail(), accessExpiration);
+    }
+
+    /**
+     * Genera refresh token. Solo sirve para la mutation refreshToken,
+     * el filtro lo rechaza como credencial de acceso.
+     */
+    public String generateRefreshToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_TYPE, TYPE_REFRESH);
+
+        return buildToken(claims, user.getEmail(), refreshExpiration);
+    }
+
+    private String buildToken(Map<String, Object> claims, String subject, long ttlMillis) {
+        Date now = new Date();
         return Jwts.builder()
                 .setClaims(claims)
-                .setSubject(email)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setSubject(subject)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + ttlMillis))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verifica firma y expiración del token con un único parseo.
+     *
+     * RETORNA: los datos del token ya verificados
+     * LANZA: JwtException si la firma no es válida, el token está mal formado o ha expirado
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        return new VerifiedToken(
+                claims.getSubject(),
+                role != null ? UserRole.valueOf(role) : null,
+                claims.get(CLAIM_USER_ID, String.class),
+                claims.get(CLAIM_USERNAME, String.class),
+                claims.get(CLAIM_TYPE, String.class),
+                claims.getExpiration()
+        );
+    }
+
     /**
      * Extrae el email (subject) del token.
      */
@@ -57,7 +136,7 @@ public class JwtUtil {
      * Extrae el rol del usuario del token.
      */
     public UserRole extractRole(String token) {
-        String roleStr = extractClaim(token, claims -> claims.get("role", String.class));
+        String roleStr = extractClaim(token, claims -> claims.get(CLAIM_ROLE, String.class));
         return UserRole.valueOf(roleStr);
     }
 
@@ -65,22 +144,12 @@ public class JwtUtil {
      * Valida si el token es válido (firma correcta y no expirado).
      */
     public boolean validateToken(String token, String email) {
-        final String tokenEmail = extractEmail(token);
-        return (tokenEmail.equals(email) && !isTokenExpired(token));
-    }
-
-    /**
-     * Verifica si el token ha expirado.
-     */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    /**
-     * Extrae la fecha de expiración del token.
-     */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        try {
+            VerifiedToken verified = verify(token);
+            return verified.email().equals(email) && !verified.isExpired();
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
     }
 
     /**
@@ -93,22 +162,51 @@ public class JwtUtil {
 
     /**
      * Extrae todos los claims del token.
-     * Valida firma del token.
+     * Valida firma y expiración del token.
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     /**
      * Obtiene la clave de firma desde la configuración.
      * TODO: Cambiar para usar una clave en Base64 (decodificar con Decoders.BASE64.decode(secret))
      */
-    private SecretKey getSigningKey() {
+    private static SecretKey buildSigningKey(String secret) {
         byte[] keyBytes = secret.getBytes();
         return Keys.hmacShaKeyFor(keyBytes);
     }
-}
\ No newline at end of file
+
+    /**
+     * Resultado inmutable de verificar un token.
+     */
+    public record VerifiedToken(String email, UserRole role, String userId, String username,
+                                String type, Date expiration) {
+
+        public boolean isExpired() {
+            return expiration != null && expiration.before(new Date());
+        }
+
+        /**
+         * Tokens emitidos antes de añadir el claim typ se consideran de acceso.
+         */
+        public boolean isAccessToken() {
+            return type == null || TYPE_ACCESS.equals(type);
+        }
+
+        public boolean isRefreshToken() {
+            return TYPE_REFRESH.equals(type);
+        }
+
+        /**
+         * Indica si el token trae todo lo necesario para autenticar sin ir a MongoDB.
+         */
+        public boolean hasIdentityClaims() {
+            return userId != null && role != null && username != null;
+        }
+
+        public AuthenticatedUser toAuthenticatedUser() {
+            return new AuthenticatedUser(userId, email, username, role, null);
+        }
+    }
+}
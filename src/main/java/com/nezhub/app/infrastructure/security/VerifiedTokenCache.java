@@ -0,0 +1,112 @@
+package com.nezhub.app.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caché local de tokens ya verificados (modo con base de datos).
+ *
+ * PROPÓSITO:
+ * - Evitar verificar la firma HMAC y leer el usuario de MongoDB
+ *   cada vez que el cliente reenvía el mismo token
+ *
+ * FUNCIONAMIENTO:
+ * - Clave: SHA-256 del token (el token en claro no se guarda)
+ * - Valor: claims verificados + UserDetails
+ * - Cada entrada expira con el propio token, con un máximo de jwt.token-cache.max-ttl
+ *   para que un cambio de rol hecho en otro nodo no quede cacheado indefinidamente
+ * - invalidateUser() elimina las entradas de un usuario cuando cambia su rol o password
+ *
+ * MÉTRICAS: cache.gets{cache="jwtTokens", result=hit|miss}, cache.size, cache.evictions
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final boolean enabled;
+    private final Cache<String, Entry> cache;
+
+    public VerifiedTokenCache(@Value("${jwt.token-cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.token-cache.max-size:10000}") long maxSize,
+                              @Value("${jwt.token-cache.max-ttl:10m}") Duration maxTtl,
+                              MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(maxTtl.toNanos()))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwtTokens");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Entry get(String token) {
+        return enabled ? cache.getIfPresent(hash(token)) : null;
+    }
+
+    public void put(String token, JwtUtil.VerifiedToken verified, UserDetails userDetails) {
+        if (enabled && !verified.isExpired()) {
+            cache.put(hash(token), new Entry(verified, userDetails));
+        }
+    }
+
+    /**
+     * Elimina todas las entradas de un usuario (cambio de rol o password).
+     */
+    public void invalidateUser(String email) {
+        if (enabled && email != null) {
+            cache.asMap().values().removeIf(entry -> email.equals(entry.token().email()));
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    public record Entry(JwtUtil.VerifiedToken token, UserDetails userDetails) {}
+
+    /**
+     * Expira cada entrada cuando expira su token (acotado por maxTtl).
+     */
+    private record TokenExpiry(long maxTtlNanos) implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            long untilExpiration = entry.token().expiration() != null
+                    ? TimeUnit.MILLISECONDS.toNanos(entry.token().expiration().getTime() - System.currentTimeMillis())
+                    : maxTtlNanos;
+            return Math.max(0, Math.min(untilExpiration, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -43,4 +43,9 @@ public class AuthController {
         request.setPassword(password);
         return authService.login(request);
     }
+
+    @MutationMapping
+    public AuthResponse refreshToken(@Argument String refreshToken) {
+        return authService.refresh(refreshToken);
+    }
 }
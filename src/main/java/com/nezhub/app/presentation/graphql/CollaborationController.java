@@ -4,16 +4,22 @@ import com.nezhub.app.application.service.CollaborationService;
 import com.nezhub.app.application.service.UserService;
 import com.nezhub.app.domain.enums.CollaborationStatus;
 import com.nezhub.app.domain.model.Collaboration;
-import com.nezhub.app.domain.model.User;
+import com.nezhub.app.infrastructure.security.AuthenticatedUser;
 import com.nezhub.app.infrastructure.security.AuthenticationUtils;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
-import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 
 @Controller
@@ -21,11 +27,17 @@ public class CollaborationController {
 
     private final CollaborationService collaborationService;
     private final UserService userService;
+    private final DistributionSummary usernameBatchSize;
 
 
-    public CollaborationController(CollaborationService collaborationService, UserService userService) {
+    public CollaborationController(CollaborationService collaborationService, UserService userService,
+                                   MeterRegistry meterRegistry) {
         this.collaborationService = collaborationService;
         this.userService = userService;
+        this.usernameBatchSize = DistributionSummary.builder("nezhub.graphql.batch.size")
+                .description("Número de claves resueltas por cada carga en lote")
+                .tag("field", "Collaboration.username")
+                .register(meterRegistry);
     }
 
     /**
@@ -34,8 +46,7 @@ public class CollaborationController {
     @MutationMapping
     @PreAuthorize("isAuthenticated()")
     public Collaboration joinProject(@Argument String projectId) {
-        String email = AuthenticationUtils.getCurrentUserEmail();
-        User user = userService.findByEmail(email).orElseThrow();
+        AuthenticatedUser user = AuthenticationUtils.getCurrentUser();
         return collaborationService.joinProject(projectId, user.getId());
     }
 
@@ -45,8 +56,7 @@ public class CollaborationController {
     @MutationMapping
     @PreAuthorize("isAuthenticated()")
     public Collaboration approveCollaboration(@Argument String collaborationId) {
-        String email = AuthenticationUtils.getCurrentUserEmail();
-        User user = userService.findByEmail(email).orElseThrow();
+        AuthenticatedUser user = AuthenticationUtils.getCurrentUser();
         return collaborationService.approveCollaboration(collaborationId, user.getId());
     }
 
@@ -56,8 +66,7 @@ public class CollaborationController {
     @MutationMapping
     @PreAuthorize("isAuthenticated()")
     public Collaboration rejectCollaboration(@Argument String collaborationId) {
-        String email = AuthenticationUtils.getCurrentUserEmail();
-        User user = userService.findByEmail(email).orElseThrow();
+        AuthenticatedUser user = AuthenticationUtils.getCurrentUser();
         return collaborationService.rejectCollaboration(collaborationId, user.getId());
     }
 
@@ -76,8 +85,23 @@ public class CollaborationController {
     }
 
 
-    @SchemaMapping(typeName = "Collaboration", field = "username")
-    public String username(Collaboration collaboration) {
-        return userService.findById(collaboration.getUserId()).getUsername();
+    /**
+     * Resuelve el username de todas las colaboraciones de la respuesta en lote:
+     * un único $in sobre users que solo proyecta el campo username.
+     */
+    @BatchMapping(typeName = "Collaboration", field = "username")
+    public Map<Collaboration, String> username(List<Collaboration> collaborations) {
+        Set<String> userIds = collaborations.stream()
+                .map(Collaboration::getUserId)
+                .collect(Collectors.toSet());
+        usernameBatchSize.record(userIds.size());
+
+        Map<String, String> usernames = userService.findUsernamesByIds(userIds);
+
+        Map<Collaboration, String> result = new LinkedHashMap<>();
+        for (Collaboration collaboration : collaborations) {
+            result.put(collaboration, usernames.get(collaboration.getUserId()));
+        }
+        return result;
     }
 }
@@ -3,10 +3,9 @@ package com.nezhub.app.presentation.graphql;
 import com.nezhub.app.application.dto.request.CreateProjectRequest;
 import com.nezhub.app.application.dto.request.UpdateProjectRequest;
 import com.nezhub.app.application.service.ProjectService;
-import com.nezhub.app.application.service.UserService;
 import com.nezhub.app.domain.enums.ProjectStatus;
 import com.nezhub.app.domain.model.Project;
-import com.nezhub.app.domain.model.User;
+import com.nezhub.app.infrastructure.security.AuthenticatedUser;
 import com.nezhub.app.infrastructure.security.AuthenticationUtils;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
@@ -21,11 +20,9 @@ import java.util.Objects;
 public class ProjectMutationController {
 
     private final ProjectService projectService;
-    private final UserService userService;
 
-    public ProjectMutationController(ProjectService projectService, UserService userService) {
+    public ProjectMutationController(ProjectService projectService) {
         this.projectService = Objects.requireNonNull(projectService);
-        this.userService = Objects.requireNonNull(userService);
     }
 
     /**
@@ -55,10 +52,7 @@ public class ProjectMutationController {
     @PreAuthorize("isAuthenticated()")
     public Project createProject(@Argument CreateProjectInput input) {
 
-        String email = AuthenticationUtils.getCurrentUserEmail();
-
-        User user = userService.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        AuthenticatedUser user = AuthenticationUtils.getCurrentUser();
 
         CreateProjectRequest request = new CreateProjectRequest();
         request.setTitle(input.title());
@@ -95,10 +89,7 @@ public class ProjectMutationController {
     @PreAuthorize("isAuthenticated()")
     public Project updateProject(@Argument String id, @Argument UpdateProjectInput input) {
 
-        String email = AuthenticationUtils.getCurrentUserEmail();
-
-        User user = userService.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        AuthenticatedUser user = AuthenticationUtils.getCurrentUser();
 
         UpdateProjectRequest request = new UpdateProjectRequest();
         request.setTitle(input.title());
@@ -129,10 +120,7 @@ public class ProjectMutationController {
     @PreAuthorize("isAuthenticated()")
     public Boolean deleteProject(@Argument String id) {
 
-        String email = AuthenticationUtils.getCurrentUserEmail();
-
-        User user = userService.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        AuthenticatedUser user = AuthenticationUtils.getCurrentUser();
 
         projectService.deleteProject(id, user.getId());
 
@@ -1,26 +1,42 @@
 package com.nezhub.app.presentation.graphql;
 
 import com.nezhub.app.application.service.ProjectService;
+import com.nezhub.app.application.service.ProjectSearchService;
 import com.nezhub.app.application.service.UserService;
+import com.nezhub.app.domain.enums.TrendingRank;
 import com.nezhub.app.domain.model.Project;
 import com.nezhub.app.domain.model.User;
+import org.dataloader.DataLoader;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
 import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 
 @Controller
 public class ProjectQueryController {
 
     private final ProjectService projectService;
-    private final UserService userService;
 
-    public ProjectQueryController(ProjectService projectService, UserService userService) {
+    /**
+     * Registra el DataLoader de usuarios por ID.
+     *
+     * Todos los creatorId pedidos durante una misma request GraphQL se agrupan
+     * y se resuelven con un único findAllById. El DataLoader es por request,
+     * así que un mismo creador repetido en la lista solo se carga una vez.
+     */
+    public ProjectQueryController(ProjectService projectService, UserService userService,
+                                  BatchLoaderRegistry batchLoaderRegistry) {
         this.projectService = projectService;
-        this.userService = userService;
+
+        batchLoaderRegistry.forTypePair(String.class, User.class)
+                .registerMappedBatchLoader((userIds, env) ->
+                        Mono.fromCallable(() -> userService.findAllByIds(userIds)));
     }
 
 
@@ -44,18 +60,19 @@ public class ProjectQueryController {
     }
 
     /**
-     * Query para obtener proyectos trending (más votados).
+     * Query para obtener proyectos trending (más votados o HOT). limit por defecto 10, máximo MAX_PAGE_SIZE.
      */
     @QueryMapping
-    public List<Project> getTrendingProjects(@Argument(name = "limit") Integer limit) {
-        int actualLimit = (limit != null && limit > 0) ? limit : 10;
-        return projectService.getTrendingProjects(actualLimit);
+    public List<Project> getTrendingProjects(@Argument(name = "limit") Integer limit,
+                                             @Argument(name = "rankBy") TrendingRank rankBy) {
+        int actualLimit = (limit != null && limit > 0) ? Math.min(limit, ProjectSearchService.MAX_PAGE_SIZE) : 10;
+        return projectService.getTrendingProjects(actualLimit, rankBy != null ? rankBy : TrendingRank.VOTES);
     }
 
 
     @SchemaMapping(typeName = "Project", field = "creatorUsername")
-    public String creatorUsername(Project project) {
-        User user = userService.findById(project.getCreatorId());
-        return user != null ? user.getUsername() : null;
+    public CompletableFuture<String> creatorUsername(Project project, DataLoader<String, User> userLoader) {
+        return userLoader.load(project.getCreatorId())
+                .thenApply(user -> user != null ? user.getUsername() : null);
     }
 }
\ No newline at end of file
@@ -1,11 +1,18 @@
 package com.nezhub.app.presentation.graphql;
 
+import com.nezhub.app.application.exception.InvalidCursorException;
 import com.nezhub.app.application.service.ProjectSearchService;
+import com.nezhub.app.application.service.ProjectSearchService.SkillFilter;
+import com.nezhub.app.application.service.SkillBitmapIndex;
 import com.nezhub.app.domain.enums.ProjectStatus;
 import com.nezhub.app.domain.model.Project;
+import org.springframework.data.domain.Window;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.query.ScrollSubrange;
 import org.springframework.stereotype.Controller;
+
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -18,77 +25,163 @@ public class ProjectSearchController {
     }
 
     /**
-     * Query de búsqueda con filtros opcionales.
+     * Query de búsqueda con filtros opcionales, paginada con cursor.
      *
      * CASOS DE USO:
      *
      * 1. Buscar por skill:
      * query {
-     *   searchProjects(skill: "React") {
-     *     id
-     *     title
-     *     requiredSkills
+     *   searchProjects(skill: "React", first: 20) {
+     *     edges { node { id title requiredSkills } }
+     *     pageInfo { hasNextPage endCursor }
      *   }
      * }
      *
-     * 2. Buscar por status:
+     * 2. Buscar por skill + status (usa índice compuesto):
      * query {
-     *   searchProjects(status: OPEN) {
-     *     id
-     *     title
-     *     status
+     *   searchProjects(skill: "React", status: OPEN) {
+     *     edges { node { id title status } }
+     *     pageInfo { hasNextPage endCursor }
      *   }
      * }
      *
-     * 3. Buscar por skill + status (usa índice compuesto):
+     * 3. Proyectos de un creador:
      * query {
-     *   searchProjects(skill: "React", status: OPEN) {
-     *     id
-     *     title
-     *     requiredSkills
-     *     status
+     *   searchProjects(creatorId: "123") {
+     *     edges { node { id title creatorUsername } }
+     *     pageInfo { hasNextPage endCursor }
      *   }
      * }
      *
-     * 4. Buscar proyectos de un creador:
+     * 4. Siguiente página (mismos filtros):
      * query {
-     *   searchProjects(creatorId: "123") {
-     *     id
-     *     title
-     *     creatorUsername
-     *   }
+     *   searchProjects(skill: "React", first: 20, after: "<endCursor>") { ... }
      * }
      *
-     * 5. Sin filtros (retorna todos):
+     * 5. Combinación de skills (AND / OR / NOT):
      * query {
-     *   searchProjects {
-     *     id
-     *     title
+     *   searchProjects(allSkills: ["Java", "Spring"], anySkills: ["React", "Vue"], noneSkills: ["PHP"]) {
+     *     edges { node { id title requiredSkills } }
      *   }
      * }
      *
+     * LÍMITES:
+     * - first por defecto 20, máximo 100 (se aplica en el servidor)
+     * - Sin filtros también se pagina: nunca se devuelve la colección completa
+     *
      * OPTIMIZACIÓN:
-     * - Búsquedas por skill se cachean (30 min)
-     * - Combinaciones skill + status usan índice compuesto
-     * - Búsquedas por creador son rápidas (índice en creatorId)
+     * - Orden votes desc servido por índice compuesto (creatorId / skill / status)
+     * - Combinaciones de skills resueltas con bitmaps en memoria (SkillBitmapIndex)
+     * - Paginación keyset: el coste de una página no depende de su profundidad
      */
     @QueryMapping
-    public List<Project> searchProjects(
+    public Window<Project> searchProjects(
             @Argument(name = "skill") String skill,
+            @Argument(name = "allSkills") List<String> allSkills,
+            @Argument(name = "anySkills") List<String> anySkills,
+            @Argument(name = "noneSkills") List<String> noneSkills,
             @Argument(name = "status") ProjectStatus status,
-            @Argument(name = "creatorId") String creatorId
+            @Argument(name = "creatorId") String creatorId,
+            ScrollSubrange subrange
     ) {
+        return searchWindow(skillFilter(skill, allSkills, anySkills, noneSkills), status, creatorId, subrange);
+    }
 
-        if (creatorId != null && status != null) {
-            return searchService.searchByCreatorAndStatus(creatorId, status);
+    /**
+     * Listado paginado con cursor (Relay connection). Mismos filtros y orden que searchProjects.
+     *
+     * query {
+     *   projectsConnection(first: 20, status: OPEN) {
+     *     edges { cursor node { id title votes } }
+     *     pageInfo { hasNextPage endCursor }
+     *   }
+     * }
+     *
+     * El cursor es opaco y solo es válido con los mismos filtros.
+     */
+    @QueryMapping
+    public Window<Project> projectsConnection(
+            @Argument(name = "skill") String skill,
+            @Argument(name = "allSkills") List<String> allSkills,
+            @Argument(name = "anySkills") List<String> anySkills,
+            @Argument(name = "noneSkills") List<String> noneSkills,
+            @Argument(name = "status") ProjectStatus status,
+            @Argument(name = "creatorId") String creatorId,
+            ScrollSubrange subrange
+    ) {
+        return searchWindow(skillFilter(skill, allSkills, anySkills, noneSkills), status, creatorId, subrange);
+    }
+
+    /**
+     * Búsqueda por palabras clave en title, description y goals (índice invertido en memoria).
+     *
+     * query {
+     *   searchProjectsText(query: "plataforma react tiempo real", first: 20) {
+     *     edges { cursor node { id title votes } }
+     *     pageInfo { hasNextPage endCursor }
+     *   }
+     * }
+     *
+     * Orden: relevancia BM25 mezclada con votos.
+     */
+    @QueryMapping
+    public Window<Project> searchProjectsText(@Argument(name = "query") String query, ScrollSubrange subrange) {
+        if (!subrange.forward()) {
+            throw new InvalidCursorException("Solo se admite paginación hacia delante (first/after)");
         }
+        int first = subrange.count().orElse(ProjectSearchService.DEFAULT_PAGE_SIZE);
+        return searchService.searchText(query, subrange.position().orElse(null), first);
+    }
 
+    /**
+     * Autocompletado de skills (diccionario en memoria, sin consultar MongoDB).
+     *
+     * query {
+     *   suggestSkills(prefix: "rea", limit: 5) { skill count }
+     * }
+     *
+     * Insensible a mayúsculas, acentos y variantes ("reactjs" sugiere "React").
+     * limit por defecto 10, máximo 50.
+     */
+    @QueryMapping
+    public List<SkillBitmapIndex.Suggestion> suggestSkills(
+            @Argument(name = "prefix") String prefix,
+            @Argument(name = "limit") Integer limit
+    ) {
+        int actualLimit = limit != null ? limit : ProjectSearchService.DEFAULT_SUGGESTIONS;
+        return searchService.suggestSkills(prefix, actualLimit);
+    }
+
+    /**
+     * Proyectos OPEN más votados, paginados con cursor.
+     * Equivale a projectsConnection(status: OPEN).
+     */
+    @QueryMapping
+    public Window<Project> trendingProjectsConnection(ScrollSubrange subrange) {
+        return searchWindow(SkillFilter.empty(), ProjectStatus.OPEN, null, subrange);
+    }
 
-        if (creatorId != null) {
-            return searchService.searchByCreator(creatorId);
+    /**
+     * skill equivale a un elemento más de allSkills.
+     */
+    private static SkillFilter skillFilter(String skill, List<String> allSkills,
+                                           List<String> anySkills, List<String> noneSkills) {
+        List<String> all = new ArrayList<>();
+        if (skill != null && !skill.isBlank()) {
+            all.add(skill);
+        }
+        if (allSkills != null) {
+            all.addAll(allSkills);
         }
+        return new SkillFilter(all, anySkills, noneSkills);
+    }
 
-        return searchService.searchWithFilters(skill, status);
+    private Window<Project> searchWindow(SkillFilter skills, ProjectStatus status, String creatorId,
+                                         ScrollSubrange subrange) {
+        if (!subrange.forward()) {
+            throw new InvalidCursorException("Solo se admite paginación hacia delante (first/after)");
+        }
+        int first = subrange.count().orElse(ProjectSearchService.DEFAULT_PAGE_SIZE);
+        return searchService.searchWindow(skills, status, creatorId, subrange.position().orElse(null), first);
     }
 }
-
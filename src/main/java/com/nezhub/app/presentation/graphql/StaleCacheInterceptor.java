@@ -0,0 +1,38 @@
+package com.nezhub.app.presentation.graphql;
+
+import com.nezhub.app.infrastructure.cache.CacheStaleness;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Añade extensions.staleCaches a la respuesta cuando alguna caché sirvió un valor caducado
+ * porque no se pudo recalcular (p. ej. MongoDB caído).
+ *
+ * La marca viaja en el GraphQLContext del request (CacheStaleness.Marker), no en el hilo:
+ * vale aunque los data fetchers se resuelvan en otros hilos y no pasa de un request a otro.
+ */
+@Component
+public class StaleCacheInterceptor implements WebGraphQlInterceptor {
+
+    static final String EXTENSION = "staleCaches";
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        CacheStaleness.Marker marker = CacheStaleness.newMarker();
+        request.configureExecutionInput((input, builder) ->
+                builder.graphQLContext(Map.of(CacheStaleness.CONTEXT_KEY, marker)).build());
+        return chain.next(request).map(response -> {
+            List<String> staleCaches = marker.caches();
+            if (staleCaches.isEmpty()) {
+                return response;
+            }
+            return response.transform(builder -> builder.extensions(Map.of(EXTENSION, staleCaches)));
+        });
+    }
+}
@@ -1,26 +1,28 @@
 package com.nezhub.app.presentation.graphql;
 
-import com.nezhub.app.application.service.UserService;
 import com.nezhub.app.application.service.VoteService;
 import com.nezhub.app.domain.model.Project;
-import com.nezhub.app.domain.model.User;
+import com.nezhub.app.infrastructure.security.AuthenticatedUser;
 import com.nezhub.app.infrastructure.security.AuthenticationUtils;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 
 @Controller
 public class VoteController {
 
     private final VoteService voteService;
-    private final UserService userService;
 
-    public VoteController(VoteService voteService, UserService userService) {
+    public VoteController(VoteService voteService) {
         this.voteService = voteService;
-        this.userService = userService;
     }
 
     /**
@@ -28,10 +30,9 @@ public class VoteController {
      */
     @MutationMapping
     @PreAuthorize("isAuthenticated()")
-    public Project voteProject(@Argument String projectId) {
-        String email = AuthenticationUtils.getCurrentUserEmail();
-        User user = userService.findByEmail(email).orElseThrow();
-        return voteService.voteProject(projectId, user.getId());
+    public Project voteProject(@Argument String projectId, DataFetchingFieldSelectionSet selectionSet) {
+        AuthenticatedUser user = AuthenticationUtils.getCurrentUser();
+        return voteService.voteProject(projectId, user.getId(), projectFields(selectionSet));
     }
 
     /**
@@ -39,10 +40,9 @@ public class VoteController {
      */
     @MutationMapping
     @PreAuthorize("isAuthenticated()")
-    public Project unvoteProject(@Argument String projectId) {
-        String email = AuthenticationUtils.getCurrentUserEmail();
-        User user = userService.findByEmail(email).orElseThrow();
-        return voteService.unvoteProject(projectId, user.getId());
+    public Project unvoteProject(@Argument String projectId, DataFetchingFieldSelectionSet selectionSet) {
+        AuthenticatedUser user = AuthenticationUtils.getCurrentUser();
+        return voteService.unvoteProject(projectId, user.getId(), projectFields(selectionSet));
     }
 
     /**
@@ -51,9 +51,23 @@ public class VoteController {
     @QueryMapping
     @PreAuthorize("isAuthenticated()")
     public Boolean hasVoted(@Argument String projectId) {
-        String email = AuthenticationUtils.getCurrentUserEmail();
-        User user = userService.findByEmail(email).orElseThrow();
+        AuthenticatedUser user = AuthenticationUtils.getCurrentUser();
         return voteService.hasUserVoted(projectId, user.getId());
     }
-}
 
+    /**
+     * Traduce la selección GraphQL a los campos del documento Project que hay que leer.
+     * creatorUsername se resuelve a partir de creatorId.
+     */
+    private static Set<String> projectFields(DataFetchingFieldSelectionSet selectionSet) {
+        Set<String> fields = new LinkedHashSet<>();
+        for (SelectedField field : selectionSet.getImmediateFields()) {
+            switch (field.getName()) {
+                case "__typename" -> { }
+                case "creatorUsername" -> fields.add("creatorId");
+                default -> fields.add(field.getName());
+            }
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,30 @@
+package com.nezhub.app.presentation.rest;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Timeout asíncrono por endpoint: el resto de la aplicación mantiene el de spring.mvc.async.request-timeout.
+ *
+ * FUNCIONAMIENTO:
+ * - El controlador guarda su timeout en el atributo TIMEOUT_ATTRIBUTE del request
+ *   (ProjectExportController con el StreamingResponseBody del export)
+ * - Antes de iniciar el procesamiento asíncrono se aplica al AsyncWebRequest; sin atributo no se toca nada
+ */
+public class AsyncTimeoutInterceptor implements CallableProcessingInterceptor {
+
+    public static final String TIMEOUT_ATTRIBUTE = AsyncTimeoutInterceptor.class.getName() + ".timeout";
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        Object timeout = request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (timeout instanceof Duration duration && request instanceof AsyncWebRequest asyncRequest) {
+            asyncRequest.setTimeout(duration.toMillis());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.nezhub.app.presentation.rest;
+
+import com.nezhub.app.application.service.ProjectExportService;
+import com.nezhub.app.domain.enums.ProjectStatus;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportación del catálogo de proyectos para analítica (requiere autenticación JWT).
+ *
+ * USO:
+ * GET /export/projects                      -> todos los proyectos
+ * GET /export/projects?status=OPEN&skill=Java
+ * GET /export/projects?gzip=true            -> respuesta comprimida (también con Accept-Encoding: gzip, q > 0)
+ *
+ * Respuesta: application/x-ndjson, un proyecto JSON por línea, escrito mientras se lee el cursor.
+ * La duración máxima de la respuesta es nezhub.export.timeout, solo para este endpoint (AsyncTimeoutInterceptor).
+ */
+@RestController
+public class ProjectExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ProjectExportService exportService;
+    private final Duration timeout;
+
+    public ProjectExportController(ProjectExportService exportService,
+                                   @Value("${nezhub.export.timeout:30m}") Duration timeout) {
+        this.exportService = exportService;
+        this.timeout = timeout;
+    }
+
+    @GetMapping("/export/projects")
+    public ResponseEntity<StreamingResponseBody> exportProjects(
+            @RequestParam(name = "status", required = false) ProjectStatus status,
+            @RequestParam(name = "skill", required = false) String skill,
+            @RequestParam(name = "gzip", required = false) Boolean gzip,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request
+    ) {
+        boolean compress = gzip != null ? gzip : acceptsGzip(acceptEncoding);
+        request.setAttribute(AsyncTimeoutInterceptor.TIMEOUT_ATTRIBUTE, timeout);
+
+        StreamingResponseBody body = out -> {
+            if (compress) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024);
+                exportService.exportNdjson(status, skill, gzipOut);
+                gzipOut.finish();
+            } else {
+                exportService.exportNdjson(status, skill, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"projects.ndjson\"");
+        if (compress) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        if (compress || gzip == null) {
+            // La codificación depende de Accept-Encoding: las cachés intermedias no deben mezclar variantes
+            response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        return response.body(body);
+    }
+
+    /**
+     * RETORNA: true si Accept-Encoding admite gzip (gzip o x-gzip, o * si gzip no aparece) con q > 0.
+     * "gzip;q=0" lo rechaza explícitamente.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = qualityOf(parts);
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzipQuality = gzipQuality != null ? Math.max(gzipQuality, quality) : quality;
+            } else if (name.equals("*")) {
+                anyQuality = quality;
+            }
+        }
+        double quality = gzipQuality != null ? gzipQuality : (anyQuality != null ? anyQuality : 0);
+        return quality > 0;
+    }
+
+    private static double qualityOf(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,54 @@
+package com.nezhub.app.presentation.rest;
+
+import com.nezhub.app.application.dto.response.ImportReport;
+import com.nezhub.app.application.service.ProjectImportService;
+import com.nezhub.app.infrastructure.security.AuthenticatedUser;
+import com.nezhub.app.infrastructure.security.AuthenticationUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Importación masiva de proyectos (requiere autenticación JWT).
+ * Los proyectos se crean con el usuario autenticado como creador.
+ *
+ * USO:
+ * POST /import/projects  Content-Type: application/json      -> [ { "title": ..., ... }, ... ]
+ * POST /import/projects  Content-Type: application/x-ndjson  -> un proyecto JSON por línea
+ * POST /import/projects  Content-Type: text/csv              -> title,description,goals,requiredSkills
+ *
+ * Respuesta: ImportReport (recibidos, importados, errores por fila).
+ */
+@RestController
+public class ProjectImportController {
+
+    private final ProjectImportService importService;
+
+    public ProjectImportController(ProjectImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping(
+            value = "/import/projects",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, "text/csv"},
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @PreAuthorize("isAuthenticated()")
+    public ImportReport importProjects(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) throws IOException {
+        AuthenticatedUser user = AuthenticationUtils.getCurrentUser();
+
+        if (MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"))) {
+            return importService.importCsv(body, user.getId());
+        }
+        return importService.importJson(body, user.getId());
+    }
+}
@@ -0,0 +1,137 @@
+package com.nezhub.app.application.service;
+
+import com.nezhub.app.application.service.ProjectStatisticsService.SkillStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * CacheWarmup con los servicios simulados: readiness (health) durante y después de la precarga
+ * y orden de las cargas. Los servicios anotan cada carga en events.
+ */
+class CacheWarmupTest {
+
+    private static final int TOP_SKILLS = 20;
+
+    private final ProjectStatisticsService statisticsService = mock(ProjectStatisticsService.class);
+    private final ProjectService projectService = mock(ProjectService.class);
+    private final SkillBitmapIndex skillIndex = mock(SkillBitmapIndex.class);
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private CacheWarmup warmup;
+
+    @BeforeEach
+    void setUp() {
+        when(skillIndex.isReady()).thenReturn(true);
+        when(statisticsService.getMostPopularSkills(10)).thenAnswer(invocation -> {
+            events.add("skillStats:10");
+            return List.of();
+        });
+        when(statisticsService.getMostPopularSkills(TOP_SKILLS)).thenAnswer(invocation -> {
+            events.add("skillStats:" + TOP_SKILLS);
+            return List.of(skill("React"), skill("Java"));
+        });
+        when(projectService.searchBySkill(anyString())).thenAnswer(invocation -> {
+            events.add("searchBySkill:" + invocation.getArgument(0));
+            return List.of();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (warmup != null) {
+            warmup.stop();
+        }
+    }
+
+    @Test
+    void readinessIsOutOfServiceUntilTheWarmupFinishes() throws InterruptedException {
+        when(statisticsService.getProjectStatsByStatus()).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+        warmup = warmup(Duration.ofMinutes(1));
+
+        warmup.start();
+
+        assertThat(warmup.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        release.countDown();
+        awaitUp();
+        assertThat(warmup.health().getDetails()).containsEntry("finished", true).containsEntry("warmed", 5);
+    }
+
+    @Test
+    void deadlineFlipsReadinessToUpWhileALoadIsStillRunning() throws InterruptedException {
+        when(statisticsService.getProjectStatsByStatus()).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+        Duration deadline = Duration.ofMillis(200);
+        warmup = warmup(deadline);
+
+        warmup.start();
+
+        assertThat(warmup.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        Thread.sleep(deadline.toMillis() + 100);
+        assertThat(warmup.health().getStatus()).isEqualTo(Status.UP);
+        // statusStats sigue cargando: no cuenta como precargada
+        assertThat((Integer) warmup.health().getDetails().get("warmed")).isLessThan(5);
+    }
+
+    @Test
+    void failedLoadDoesNotBlockReadiness() throws InterruptedException {
+        when(statisticsService.getProjectStatsByStatus()).thenThrow(new IllegalStateException("MongoDB no disponible"));
+        warmup = warmup(Duration.ofMinutes(1));
+
+        warmup.start();
+
+        awaitUp();
+        assertThat(warmup.health().getDetails()).containsEntry("failed", 1).containsEntry("warmed", 4);
+    }
+
+    @Test
+    void searchBySkillFansOutAfterTheTopSkillsAreLoaded() throws InterruptedException {
+        warmup = warmup(Duration.ofMinutes(1));
+
+        warmup.start();
+
+        awaitUp();
+        assertThat(events).contains("searchBySkill:React", "searchBySkill:Java");
+        int topSkills = events.indexOf("skillStats:" + TOP_SKILLS);
+        assertThat(topSkills).isNotNegative();
+        assertThat(events.indexOf("searchBySkill:React")).isGreaterThan(topSkills);
+        assertThat(events.indexOf("searchBySkill:Java")).isGreaterThan(topSkills);
+    }
+
+    private CacheWarmup warmup(Duration deadline) {
+        return new CacheWarmup(statisticsService, projectService, skillIndex, true, List.of(10), TOP_SKILLS, 2, deadline);
+    }
+
+    private void awaitUp() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (warmup.health().getStatus() != Status.UP && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(warmup.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    private static SkillStats skill(String name) {
+        SkillStats stats = new SkillStats();
+        stats.setSkill(name);
+        stats.setCount(1);
+        return stats;
+    }
+}
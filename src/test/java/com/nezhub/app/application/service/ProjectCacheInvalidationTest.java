@@ -0,0 +1,194 @@
+package com.nezhub.app.application.service;
+
+import com.nezhub.app.application.dto.request.UpdateProjectRequest;
+import com.nezhub.app.domain.enums.ProjectStatus;
+import com.nezhub.app.domain.model.Project;
+import com.nezhub.app.domain.repository.ProjectRepository;
+import com.nezhub.app.infrastructure.config.RedisConfig.CacheNames;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que editar o eliminar un proyecto solo invalida las entradas de caché que dependen de él.
+ * Caché en memoria (ConcurrentMapCacheManager): no requiere Redis ni Docker.
+ */
+@SpringJUnitConfig(ProjectCacheInvalidationTest.CachingConfig.class)
+class ProjectCacheInvalidationTest {
+
+    private static final String CREATOR = "creator-1";
+
+    @Configuration
+    @EnableCaching
+    @Import({ProjectService.class, ProjectCacheInvalidator.class})
+    static class CachingConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockitoBean
+    private ProjectRepository projectRepository;
+
+    @MockitoBean
+    private MongoTemplate mongoTemplate;
+
+    @MockitoBean
+    private VoteWriteBuffer writeBuffer;
+
+    @MockitoBean
+    private TrendingLeaderboard trendingLeaderboard;
+
+    @MockitoBean
+    private ProjectTextIndex textIndex;
+
+    @MockitoBean
+    private SkillBitmapIndex skillIndex;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void fillCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        cache(CacheNames.PROJECT_DETAILS).put("p1", project("p1", List.of("React"), ProjectStatus.OPEN));
+        cache(CacheNames.PROJECT_DETAILS).put("p2", project("p2", List.of("Go"), ProjectStatus.OPEN));
+        cache(CacheNames.SEARCH_BY_SKILL).put("react", List.of());
+        cache(CacheNames.SEARCH_BY_SKILL).put("java", List.of());
+        cache(CacheNames.SEARCH_BY_SKILL).put("go", List.of());
+        cache(CacheNames.SKILL_STATS).put(10, List.of());
+        cache(CacheNames.STATUS_STATS).put(SimpleKey.EMPTY, List.of());
+
+        when(projectRepository.findById("p1"))
+                .thenReturn(Optional.of(project("p1", List.of("React"), ProjectStatus.OPEN)));
+        // findAndModify aplica los $set sobre el proyecto guardado
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Project.class)))
+                .thenAnswer(invocation -> applySet(project("p1", List.of("React"), ProjectStatus.OPEN),
+                        invocation.getArgument(1)));
+    }
+
+    @Test
+    void updateWritesOnlyTheEditedFieldsAndNeverTheVotes() {
+        Project updated = projectService.updateProject("p1",
+                new UpdateProjectRequest("Nuevo título", null, null, null, null), CREATOR);
+
+        assertThat(updated.getTitle()).isEqualTo("Nuevo título");
+        assertThat(lastSet().keySet()).containsExactlyInAnyOrder("title", "updatedAt");
+    }
+
+    @Test
+    void changingSkillsEvictsOnlyTheProjectAndItsOldAndNewSkills() {
+        projectService.updateProject("p1", new UpdateProjectRequest(null, null, null, List.of("Java"), null), CREATOR);
+
+        assertThat(cached(CacheNames.PROJECT_DETAILS, "p1")).isFalse();
+        assertThat(cached(CacheNames.SEARCH_BY_SKILL, "react")).isFalse();
+        assertThat(cached(CacheNames.SEARCH_BY_SKILL, "java")).isFalse();
+        assertThat(cached(CacheNames.SKILL_STATS, 10)).isFalse();
+
+        assertThat(cached(CacheNames.PROJECT_DETAILS, "p2")).isTrue();
+        assertThat(cached(CacheNames.SEARCH_BY_SKILL, "go")).isTrue();
+        assertThat(cached(CacheNames.STATUS_STATS, SimpleKey.EMPTY)).isTrue();
+    }
+
+    @Test
+    void changingStatusKeepsSkillStats() {
+        projectService.updateProject("p1", new UpdateProjectRequest(null, null, null, null, ProjectStatus.CLOSED), CREATOR);
+
+        assertThat(cached(CacheNames.PROJECT_DETAILS, "p1")).isFalse();
+        assertThat(cached(CacheNames.SEARCH_BY_SKILL, "react")).isFalse();
+        assertThat(cached(CacheNames.STATUS_STATS, SimpleKey.EMPTY)).isFalse();
+
+        assertThat(cached(CacheNames.PROJECT_DETAILS, "p2")).isTrue();
+        assertThat(cached(CacheNames.SEARCH_BY_SKILL, "java")).isTrue();
+        assertThat(cached(CacheNames.SEARCH_BY_SKILL, "go")).isTrue();
+        assertThat(cached(CacheNames.SKILL_STATS, 10)).isTrue();
+    }
+
+    @Test
+    void deletingKeepsOtherProjects() {
+        projectService.deleteProject("p1", CREATOR);
+
+        assertThat(cached(CacheNames.PROJECT_DETAILS, "p1")).isFalse();
+        assertThat(cached(CacheNames.SEARCH_BY_SKILL, "react")).isFalse();
+
+        assertThat(cached(CacheNames.PROJECT_DETAILS, "p2")).isTrue();
+        assertThat(cached(CacheNames.SEARCH_BY_SKILL, "java")).isTrue();
+        assertThat(cached(CacheNames.SEARCH_BY_SKILL, "go")).isTrue();
+    }
+
+    private Document lastSet() {
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(),
+                any(FindAndModifyOptions.class), eq(Project.class));
+        return update.getValue().getUpdateObject().get("$set", Document.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Project applySet(Project project, Update update) {
+        Document set = update.getUpdateObject().get("$set", Document.class);
+        if (set.containsKey("title")) {
+            project.setTitle((String) set.get("title"));
+        }
+        if (set.containsKey("requiredSkills")) {
+            project.setRequiredSkills((List<String>) set.get("requiredSkills"));
+        }
+        if (set.containsKey("status")) {
+            project.setStatus((ProjectStatus) set.get("status"));
+        }
+        return project;
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+
+    private boolean cached(String cacheName, Object key) {
+        return cache(cacheName).get(key) != null;
+    }
+
+    private static Project project(String id, List<String> skills, ProjectStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Project(id, "Proyecto " + id, "Descripción", new ArrayList<>(), new ArrayList<>(skills),
+                status, CREATOR, new ArrayList<>(), 0, now, now);
+    }
+}
@@ -0,0 +1,91 @@
+package com.nezhub.app.application.service;
+
+import com.nezhub.app.domain.model.Project;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProjectIndexMigrationTest {
+
+    private MongoTemplate mongoTemplate;
+    private IndexOperations indexes;
+    private ProjectIndexMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        indexes = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(Project.class)).thenReturn(indexes);
+        migration = new ProjectIndexMigration(mongoTemplate);
+    }
+
+    @Test
+    void dropsTheLegacyIndexesAndMarksItDone() {
+        when(indexes.getIndexInfo()).thenReturn(List.of(
+                index("status_votes_idx", "status", "votes"),
+                index("skill_status_votes_idx", "requiredSkills", "status", "votes"),
+                index("status_votes_id_idx", "status", "votes", "_id")));
+
+        migration.run(null);
+
+        verify(indexes).dropIndex("status_votes_idx");
+        verify(indexes).dropIndex("skill_status_votes_idx");
+        verify(indexes, never()).dropIndex("status_votes_id_idx");
+        verify(mongoTemplate).upsert(any(Query.class), any(Update.class), eq(ProjectIndexMigration.MIGRATIONS_COLLECTION));
+    }
+
+    @Test
+    void keepsAnIndexWithALegacyNameButOtherKeys() {
+        when(indexes.getIndexInfo()).thenReturn(List.of(index("status_votes_idx", "status", "votes", "_id")));
+
+        migration.run(null);
+
+        verify(indexes, never()).dropIndex(anyString());
+    }
+
+    @Test
+    void anIndexAlreadyDroppedByAnotherNodeIsIgnored() {
+        when(indexes.getIndexInfo()).thenReturn(List.of(index("status_votes_idx", "status", "votes")));
+        doThrow(new UncategorizedMongoDbException("index not found", null)).when(indexes).dropIndex("status_votes_idx");
+
+        migration.run(null);
+
+        verify(mongoTemplate).upsert(any(Query.class), any(Update.class), eq(ProjectIndexMigration.MIGRATIONS_COLLECTION));
+    }
+
+    @Test
+    void skipsWhenAlreadyDone() {
+        when(mongoTemplate.exists(any(Query.class), eq(ProjectIndexMigration.MIGRATIONS_COLLECTION))).thenReturn(true);
+
+        migration.run(null);
+
+        verify(mongoTemplate, never()).indexOps(Project.class);
+    }
+
+    private static IndexInfo index(String name, String... keys) {
+        List<IndexField> fields = Arrays.stream(keys)
+                .map(key -> IndexField.create(key, "status".equals(key) || "requiredSkills".equals(key)
+                        ? Sort.Direction.ASC : Sort.Direction.DESC))
+                .toList();
+        return new IndexInfo(fields, name, false, false, null);
+    }
+}
@@ -0,0 +1,145 @@
+package com.nezhub.app.application.service;
+
+import com.nezhub.app.application.service.ProjectSearchService.SkillFilter;
+import com.nezhub.app.domain.enums.ProjectStatus;
+import com.nezhub.app.domain.model.Project;
+import com.nezhub.app.domain.model.SkillKeys;
+import com.sun.management.ThreadMXBean;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que la búsqueda paginada no depende del tamaño de la colección:
+ * con 1M de proyectos, una página (incluida la búsqueda sin filtros) asigna
+ * lo mismo en memoria que con una colección pequeña.
+ * Requiere Docker (MongoDB en Testcontainers); sin Docker el test se omite.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataMongoTest(properties = "spring.data.mongodb.auto-index-creation=true")
+@Import(ProjectSearchService.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProjectSearchServiceMemoryTest {
+
+    private static final int PROJECTS = 1_000_000;
+    private static final int INSERT_BATCH = 10_000;
+    private static final String[] SKILLS = {"Java", "React", "Go", "Python", "Rust"};
+
+    // Materializar 1M de proyectos asignaría varios GB; una página, unos pocos MB
+    private static final long MAX_ALLOCATED_PER_PAGE = 32L * 1024 * 1024;
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7");
+
+    @MockitoBean
+    private ProjectTextIndex textIndex;
+
+    // Sin índice de bitmaps listo: se mide el camino MongoDB
+    @MockitoBean
+    private SkillBitmapIndex skillIndex;
+
+    @Autowired
+    private ProjectSearchService searchService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    void loadFixture() {
+        var collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Project.class));
+        // deleteMany (no drop) para conservar los índices creados al arrancar
+        collection.deleteMany(new Document());
+
+        List<Document> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < PROJECTS; i++) {
+            batch.add(new Document("title", "Proyecto " + i)
+                    .append("description", "Descripción del proyecto " + i)
+                    .append("requiredSkills", List.of(SKILLS[i % SKILLS.length]))
+                    .append("skillKeys", SkillKeys.of(List.of(SKILLS[i % SKILLS.length])))
+                    .append("status", ProjectStatus.values()[i % ProjectStatus.values().length].name())
+                    .append("creatorId", "creator-" + (i % 1_000))
+                    .append("votes", i % 500));
+            if (batch.size() == INSERT_BATCH) {
+                collection.insertMany(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            collection.insertMany(batch);
+        }
+    }
+
+    @Test
+    void unfilteredSearchReturnsOneBoundedPage() {
+        long allocated = allocatedBytes(() -> {
+            Window<Project> page = searchService.searchWindow(SkillFilter.empty(), null, null, null, 10_000);
+
+            assertThat(page.size()).isEqualTo(ProjectSearchService.MAX_PAGE_SIZE);
+            assertThat(page.hasNext()).isTrue();
+        });
+
+        assertThat(allocated).isLessThan(MAX_ALLOCATED_PER_PAGE);
+    }
+
+    @Test
+    void deepPagesCostTheSameAsTheFirst() {
+        Set<String> seen = new HashSet<>();
+        ScrollPosition after = null;
+        long maxAllocated = 0;
+
+        for (int i = 0; i < 200; i++) {
+            ScrollPosition position = after;
+            List<Window<Project>> result = new ArrayList<>(1);
+            maxAllocated = Math.max(maxAllocated, allocatedBytes(() ->
+                    result.add(searchService.searchWindow(new SkillFilter(List.of("Java"), null, null), ProjectStatus.OPEN, null, position, 100))));
+
+            Window<Project> page = result.get(0);
+            assertThat(page.hasNext()).isTrue();
+            page.forEach(project -> assertThat(seen.add(project.getId())).isTrue());
+            after = page.positionAt(page.size() - 1);
+        }
+
+        assertThat(seen).hasSize(200 * 100);
+        assertThat(maxAllocated).isLessThan(MAX_ALLOCATED_PER_PAGE);
+    }
+
+    @Test
+    void creatorSearchIsPaginated() {
+        Window<Project> page = searchService.searchWindow(SkillFilter.empty(), null, "creator-7", null, 50);
+
+        assertThat(page.size()).isEqualTo(50);
+        assertThat(page.hasNext()).isTrue();
+        page.forEach(project -> assertThat(project.getCreatorId()).isEqualTo("creator-7"));
+    }
+
+    /**
+     * Bytes asignados en el hilo actual (incluye la decodificación del driver de MongoDB).
+     */
+    private static long allocatedBytes(Runnable action) {
+        var threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        action.run();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+}
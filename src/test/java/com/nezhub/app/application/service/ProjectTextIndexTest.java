@@ -0,0 +1,173 @@
+package com.nezhub.app.application.service;
+
+import com.nezhub.app.application.service.InMemoryProjectIndex.Hit;
+import com.nezhub.app.domain.enums.ProjectStatus;
+import com.nezhub.app.domain.model.Project;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ProjectTextIndex sin MongoDB (MongoTemplate simulado): ranking BM25, paginación por cursor y reconstrucción.
+ */
+class ProjectTextIndexTest {
+
+    private MongoTemplate mongoTemplate;
+    private ProjectTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        index = index(1);
+    }
+
+    @Test
+    void titleMatchesRankAboveBodyMatches() {
+        index.onProjectsSaved(List.of(
+                project("p1", "Gestor de tareas", "Aplicación con react y graphql", 0),
+                project("p2", "Dashboard React", "Panel de métricas", 0)));
+
+        assertThat(index.search("react", null, null, 10)).extracting(Hit::projectId).containsExactly("p2", "p1");
+    }
+
+    @Test
+    void rareTermsWeighMoreThanCommonOnes() {
+        List<Project> projects = new ArrayList<>();
+        IntStream.range(0, 8).forEach(i -> projects.add(project("c" + i, "Proyecto web", "web", 0)));
+        projects.add(project("rare", "Proyecto web", "kotlin", 0));
+        projects.add(project("common", "Proyecto web", "web web", 0));
+        index.onProjectsSaved(projects);
+
+        List<Hit> hits = index.search("web kotlin", null, null, 20);
+
+        assertThat(hits.get(0).projectId()).isEqualTo("rare");
+    }
+
+    @Test
+    void votesBreakTiesBetweenEquallyRelevantProjects() {
+        index.onProjectsSaved(List.of(
+                project("p1", "Chat en tiempo real", "", 0),
+                project("p2", "Chat en tiempo real", "", 50)));
+
+        assertThat(index.search("chat", null, null, 10)).extracting(Hit::projectId).containsExactly("p2", "p1");
+
+        index.onVotesChanged("p1", 100);
+
+        assertThat(index.search("chat", null, null, 10)).extracting(Hit::projectId).containsExactly("p1", "p2");
+    }
+
+    @Test
+    void cursorPagingVisitsEveryMatchOnceInOrder() {
+        index.onProjectsSaved(IntStream.range(0, 25)
+                .mapToObj(i -> project("p" + (100 + i), "Juego " + "arcade ".repeat(1 + i % 3), "", i % 4))
+                .toList());
+        List<Hit> all = index.search("arcade juego", null, null, 100);
+
+        List<Hit> paged = new ArrayList<>();
+        Hit last = null;
+        while (true) {
+            List<Hit> page = index.search("arcade juego", last != null ? last.score() : null,
+                    last != null ? last.projectId() : null, 4);
+            boolean hasNext = page.size() > 4;
+            List<Hit> pageHits = hasNext ? page.subList(0, 4) : page;
+            paged.addAll(pageHits);
+            if (!hasNext) {
+                break;
+            }
+            last = pageHits.get(pageHits.size() - 1);
+        }
+
+        assertThat(all).hasSize(25);
+        assertThat(paged).isEqualTo(all);
+    }
+
+    @Test
+    void removedAndEditedProjectsLeaveTheIndex() {
+        index.onProjectSaved(project("p1", "Bot de Telegram", "", 0));
+        index.onProjectSaved(project("p2", "Bot de Discord", "", 0));
+
+        index.onProjectRemoved("p1");
+        index.onProjectSaved(project("p2", "Bot de Slack", "", 0));
+
+        assertThat(index.search("telegram", null, null, 10)).isEmpty();
+        assertThat(index.search("discord", null, null, 10)).isEmpty();
+        assertThat(index.search("slack", null, null, 10)).extracting(Hit::projectId).containsExactly("p2");
+    }
+
+    @Test
+    void failedBuildKeepsTheIndexNotReadyUntilARetrySucceeds() {
+        when(mongoTemplate.stream(any(Query.class), eq(Project.class)))
+                .thenThrow(new DataAccessResourceFailureException("sin conexión"))
+                .thenReturn(List.of(project("p1", "Compilador", "", 0)).stream());
+
+        assertThat(index.refresh()).isFalse();
+        assertThat(index.isReady()).isFalse();
+
+        assertThat(index.refresh()).isTrue();
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("compilador", null, null, 10)).extracting(Hit::projectId).containsExactly("p1");
+    }
+
+    @Test
+    void refreshReplacesTheIndexAndKeepsLocalChangesMadeMeanwhile() {
+        index.onProjectSaved(project("gone", "Proyecto borrado en otro nodo", "", 0));
+        AtomicBoolean savedDuringRefresh = new AtomicBoolean();
+        when(mongoTemplate.stream(any(Query.class), eq(Project.class))).thenAnswer(invocation ->
+                List.of(project("p1", "Proyecto en MongoDB", "", 0)).stream().peek(project -> {
+                    if (savedDuringRefresh.compareAndSet(false, true)) {
+                        index.onProjectSaved(project("p2", "Proyecto creado durante la reconstrucción", "", 0));
+                    }
+                }));
+
+        index.refresh();
+
+        assertThat(index.search("proyecto", null, null, 10)).extracting(Hit::projectId)
+                .containsExactlyInAnyOrder("p1", "p2");
+    }
+
+    @Test
+    void sparseAndDenseAccumulatorsRankTheSameWay() {
+        List<Project> projects = IntStream.range(0, 40)
+                .mapToObj(i -> project("p" + (100 + i), "Juego " + "arcade ".repeat(1 + i % 3), i % 5 == 0 ? "retro" : "", i % 4))
+                .toList();
+        index.onProjectsSaved(projects);
+        // Sin acumuladores densos en el pool todas las consultas van por el mapa
+        ProjectTextIndex sparse = index(0);
+        sparse.onProjectsSaved(projects);
+
+        for (String text : List.of("arcade juego", "retro", "retro arcade")) {
+            assertThat(sparse.search(text, null, null, 100)).isEqualTo(index.search(text, null, null, 100));
+        }
+        // El array denso vuelve al pool a cero: repetir la consulta da los mismos scores
+        assertThat(index.search("arcade juego", null, null, 100)).isEqualTo(index.search("arcade juego", null, null, 100));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProjectTextIndex index(int accumulators) {
+        return new ProjectTextIndex(mongoTemplate, new SimpleMeterRegistry(), mock(ObjectProvider.class),
+                0.2, accumulators, Duration.ofMinutes(10), Duration.ofSeconds(30));
+    }
+
+    private static Project project(String id, String title, String description, int votes) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Project(id, title, description, List.of(), List.of(), ProjectStatus.OPEN,
+                "creator-1", List.of(), votes, now, now);
+    }
+}
@@ -0,0 +1,184 @@
+package com.nezhub.app.application.service;
+
+import com.nezhub.app.application.service.InMemoryProjectIndex.Hit;
+import com.nezhub.app.application.service.SkillBitmapIndex.Suggestion;
+import com.nezhub.app.domain.enums.ProjectStatus;
+import com.nezhub.app.domain.model.Project;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * SkillBitmapIndex sin MongoDB: los proyectos se indexan con onProjectSaved.
+ */
+class SkillBitmapIndexTest {
+
+    private MongoTemplate mongoTemplate;
+    private SkillBitmapIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        index = new SkillBitmapIndex(mongoTemplate, new SimpleMeterRegistry(), mock(ObjectProvider.class),
+                Duration.ofMinutes(10), Duration.ofSeconds(30));
+        index.onProjectsSaved(List.of(
+                project("p1", 5, ProjectStatus.OPEN, "React", "Java"),
+                project("p2", 3, ProjectStatus.OPEN, "ReactJS", "Redux"),
+                project("p3", 8, ProjectStatus.CLOSED, "react.js", "Go"),
+                project("p4", 1, ProjectStatus.OPEN, "Redis")
+        ));
+    }
+
+    @Test
+    void suggestMatchesCanonicalPrefixMostUsedFirst() {
+        assertThat(index.suggest("Re", 10)).containsExactly(
+                new Suggestion("React", 3),
+                new Suggestion("Redis", 1),
+                new Suggestion("Redux", 1));
+    }
+
+    @Test
+    void suggestRespectsLimitAndIgnoresEmptyPrefixes() {
+        assertThat(index.suggest("re", 1)).containsExactly(new Suggestion("React", 3));
+        assertThat(index.suggest(" . ", 5)).isEmpty();
+        assertThat(index.suggest("kotlin", 5)).isEmpty();
+    }
+
+    @Test
+    void suggestSkipsSkillsWithoutProjects() {
+        index.onProjectRemoved("p4");
+
+        assertThat(index.suggest("red", 5)).containsExactly(new Suggestion("Redux", 1));
+    }
+
+    @Test
+    void labelOfKeepsTheFirstSpelling() {
+        assertThat(index.labelOf("react")).isEqualTo("React");
+        assertThat(index.labelOf("kotlin")).isEqualTo("kotlin");
+    }
+
+    @Test
+    void allSkillsIntersectsCanonicalSkillsOrderedByVotes() {
+        assertThat(ids(search(Set.of("react"), Set.of(), Set.of(), null))).containsExactly("p3", "p1", "p2");
+        assertThat(ids(search(Set.of("React", "java"), Set.of(), Set.of(), null))).containsExactly("p1");
+        assertThat(ids(search(Set.of("react", "kotlin"), Set.of(), Set.of(), null))).isEmpty();
+    }
+
+    @Test
+    void anySkillsUnitesAndNoneSkillsExcludes() {
+        assertThat(ids(search(Set.of(), Set.of("go", "redis", "kotlin"), Set.of(), null))).containsExactly("p3", "p4");
+        assertThat(ids(search(Set.of(), Set.of("kotlin"), Set.of(), null))).isEmpty();
+        assertThat(ids(search(Set.of("react"), Set.of(), Set.of("redux", "kotlin"), null))).containsExactly("p3", "p1");
+        assertThat(ids(search(Set.of("react"), Set.of("java", "redux"), Set.of("java"), null))).containsExactly("p2");
+    }
+
+    @Test
+    void statusRestrictsTheCandidates() {
+        assertThat(ids(search(Set.of("react"), Set.of(), Set.of(), ProjectStatus.OPEN))).containsExactly("p1", "p2");
+        assertThat(ids(search(Set.of(), Set.of(), Set.of(), ProjectStatus.CLOSED))).containsExactly("p3");
+        assertThat(ids(search(Set.of(), Set.of(), Set.of("react"), null))).containsExactly("p4");
+    }
+
+    @Test
+    void hitsCarryTheIndexedVotesAndAskForOneMoreThanTheLimit() {
+        List<Hit> hits = index.search(Set.of("react"), Set.of(), Set.of(), null, null, null, 1);
+
+        assertThat(hits).containsExactly(new Hit("p3", 8), new Hit("p1", 5));
+    }
+
+    @Test
+    void cursorPagesCoverEveryMatchOnceWithTiesOrderedById() {
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            projects.add(project(String.format("q%02d", i), i % 4, ProjectStatus.OPEN, "Kotlin"));
+        }
+        index.onProjectsSaved(projects);
+
+        List<Hit> all = index.search(Set.of("kotlin"), Set.of(), Set.of(), null, null, null, 100);
+        assertThat(all).hasSize(40);
+        assertThat(all.get(0)).isEqualTo(new Hit("q39", 3));
+        assertThat(all.get(39)).isEqualTo(new Hit("q00", 0));
+
+        assertThat(pageThrough(Set.of("kotlin"), 7)).isEqualTo(all);
+    }
+
+    @Test
+    void votesChangedMoveTheProjectInTheOrderAndTheCursor() {
+        index.onVotesChanged("p2", 10);
+        index.onVotesChanged("p3", -20);
+
+        assertThat(index.search(Set.of("react"), Set.of(), Set.of(), null, null, null, 10))
+                .containsExactly(new Hit("p2", 13), new Hit("p1", 5), new Hit("p3", 0));
+        assertThat(index.search(Set.of("react"), Set.of(), Set.of(), null, 5, "p1", 10))
+                .containsExactly(new Hit("p3", 0));
+    }
+
+    @Test
+    void removedAndEditedProjectsLeaveTheirBitmaps() {
+        index.onProjectRemoved("p3");
+        index.onProjectSaved(project("p1", 5, ProjectStatus.CLOSED, "Java"));
+
+        assertThat(ids(search(Set.of("react"), Set.of(), Set.of(), null))).containsExactly("p2");
+        assertThat(ids(search(Set.of(), Set.of(), Set.of(), ProjectStatus.CLOSED))).containsExactly("p1");
+    }
+
+    @Test
+    void refreshReplacesTheIndexWithTheCollection() {
+        when(mongoTemplate.stream(any(Query.class), eq(Project.class)))
+                .thenReturn(List.of(project("p9", 2, ProjectStatus.OPEN, "Rust")).stream());
+
+        assertThat(index.refresh()).isTrue();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(ids(search(Set.of(), Set.of(), Set.of(), null))).containsExactly("p9");
+        assertThat(index.suggest("re", 5)).isEmpty();
+    }
+
+    private List<Hit> search(Collection<String> all, Collection<String> any, Collection<String> none,
+                             ProjectStatus status) {
+        return index.search(all, any, none, status, null, null, 100);
+    }
+
+    private List<Hit> pageThrough(Collection<String> all, int pageSize) {
+        List<Hit> paged = new ArrayList<>();
+        Hit last = null;
+        while (true) {
+            List<Hit> page = index.search(all, Set.of(), Set.of(), null,
+                    last != null ? (int) last.score() : null, last != null ? last.projectId() : null, pageSize);
+            boolean hasNext = page.size() > pageSize;
+            List<Hit> pageHits = hasNext ? page.subList(0, pageSize) : page;
+            paged.addAll(pageHits);
+            if (!hasNext) {
+                return paged;
+            }
+            last = pageHits.get(pageHits.size() - 1);
+        }
+    }
+
+    private static List<String> ids(List<Hit> hits) {
+        return hits.stream().map(Hit::projectId).toList();
+    }
+
+    static Project project(String id, int votes, ProjectStatus status, String... skills) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Project(id, "Proyecto " + id, "Descripción", List.of(), List.of(skills),
+                status, "creator-1", List.of(), votes, now, now);
+    }
+}
@@ -0,0 +1,100 @@
+package com.nezhub.app.application.service;
+
+import com.nezhub.app.domain.model.Project;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SkillKeysMigrationTest {
+
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulk;
+    private SkillKeysMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Project.class)).thenReturn(bulk);
+        migration = new SkillKeysMigration(mongoTemplate, Duration.ZERO);
+    }
+
+    @Test
+    void fillsSkillKeysInBatchesAndReleasesTheLease() {
+        List<Project> legacy = IntStream.range(0, 1500).mapToObj(i -> legacyProject("p" + i)).toList();
+        when(mongoTemplate.stream(any(Query.class), eq(Project.class))).thenReturn(legacy.stream());
+
+        migration.run(null);
+
+        ArgumentCaptor<Query> sweep = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(sweep.capture(), eq(Project.class));
+        assertThat(sweep.getValue().getHint()).isEqualTo(SkillKeysMigration.SKILL_KEYS_INDEX);
+
+        ArgumentCaptor<Query> targets = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(1500)).updateOne(targets.capture(), updates.capture());
+        verify(bulk, times(2)).execute();
+        assertThat(updates.getAllValues().get(0).getUpdateObject().get("$set", Document.class)
+                .get("skillKeys")).isEqualTo(List.of("react", "node"));
+        // Un nodo nuevo pudo escribir skillKeys mientras tanto: el $set solo aplica si sigue faltando
+        assertThat(targets.getAllValues().get(0).getQueryObject().get("skillKeys"))
+                .isEqualTo(new Document("$exists", false));
+
+        ArgumentCaptor<Update> marker = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), marker.capture(),
+                eq(SkillKeysMigration.MIGRATIONS_COLLECTION));
+        assertThat(marker.getValue().getUpdateObject().get("$set", Document.class).get("migrated"))
+                .isEqualTo(1500L);
+    }
+
+    @Test
+    void everySweepLooksForProjectsSavedWithoutSkillKeysSinceTheLastOne() {
+        when(mongoTemplate.stream(any(Query.class), eq(Project.class)))
+                .thenReturn(Stream.empty())
+                .thenReturn(Stream.of(legacyProject("saved-by-an-old-node")));
+
+        assertThat(migration.sweep()).isZero();
+        assertThat(migration.sweep()).isEqualTo(1);
+
+        verify(mongoTemplate, times(2)).stream(any(Query.class), eq(Project.class));
+    }
+
+    @Test
+    void skipsWhileAnotherNodeSweeps() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(SkillKeysMigration.MIGRATIONS_COLLECTION)))
+                .thenThrow(new DuplicateKeyException("E11000"));
+
+        migration.run(null);
+
+        verify(mongoTemplate, never()).stream(any(Query.class), eq(Project.class));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), any(String.class));
+    }
+
+    private static Project legacyProject(String id) {
+        Project project = new Project();
+        project.setId(id);
+        project.setRequiredSkills(List.of("ReactJS", "Node.js"));
+        project.setSkillKeys(null);
+        return project;
+    }
+}
@@ -0,0 +1,39 @@
+package com.nezhub.app.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextTokenizerTest {
+
+    @Test
+    void lowercasesAndStripsAccents() {
+        assertThat(TextTokenizer.tokenize("Programación en TIEMPO Real"))
+                .containsExactly("programacion", "tiempo", "real");
+    }
+
+    @Test
+    void keepsPlusAndHashInsideTokens() {
+        assertThat(TextTokenizer.tokenize("Motor en C++ y C#, sin .NET"))
+                .containsExactly("motor", "c++", "c#", "net");
+    }
+
+    @Test
+    void dropsSpanishAndEnglishStopwords() {
+        assertThat(TextTokenizer.tokenize("La plataforma para the community of makers"))
+                .containsExactly("plataforma", "community", "makers");
+    }
+
+    @Test
+    void splitsOnPunctuationAndKeepsDigitsAndRepeats() {
+        assertThat(TextTokenizer.tokenize("api-rest/v2: api, API!"))
+                .containsExactly("api", "rest", "v2", "api", "api");
+    }
+
+    @Test
+    void nullAndBlankAreEmpty() {
+        assertThat(TextTokenizer.tokenize(null)).isEmpty();
+        assertThat(TextTokenizer.tokenize("   ")).isEmpty();
+        assertThat(TextTokenizer.tokenize("de la y")).isEmpty();
+    }
+}
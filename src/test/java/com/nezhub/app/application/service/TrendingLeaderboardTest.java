@@ -0,0 +1,120 @@
+package com.nezhub.app.application.service;
+
+import com.nezhub.app.domain.enums.ProjectStatus;
+import com.nezhub.app.domain.model.Project;
+import com.nezhub.app.domain.model.Vote;
+import com.nezhub.app.domain.repository.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reparación del leaderboard tras fallos de escritura en Redis (RedisTemplate y MongoDB simulados).
+ */
+class TrendingLeaderboardTest {
+
+    private StringRedisTemplate redisTemplate;
+    private ZSetOperations<String, String> zset;
+    private ProjectRepository projectRepository;
+    private MongoTemplate mongoTemplate;
+    private TrendingLeaderboard leaderboard;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        zset = mock(ZSetOperations.class);
+        when(redisTemplate.opsForZSet()).thenReturn(zset);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("sin conexión"));
+        projectRepository = mock(ProjectRepository.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.stream(any(Query.class), eq(Vote.class))).thenAnswer(invocation -> Stream.of(
+                new Vote("v1", "p1", "u1", LocalDateTime.now()),
+                new Vote("v2", "p1", "u2", LocalDateTime.now())));
+        leaderboard = new TrendingLeaderboard(redisTemplate, projectRepository, mongoTemplate,
+                mock(ObjectProvider.class), 100, Duration.ofSeconds(5), Duration.ZERO, Duration.ofHours(12));
+    }
+
+    @Test
+    void failedVoteRepairsOnlyThatProjectFromMongo() {
+        when(projectRepository.findAllById(List.of("p1"))).thenReturn(List.of(project("p1", ProjectStatus.OPEN, 2)));
+
+        leaderboard.onVoteAdded(new Vote(null, "p1", "u2", LocalDateTime.now()));
+        leaderboard.repairFailed();
+
+        verify(zset).add(TrendingLeaderboard.VOTES_KEY, "p1", 2d);
+        verify(zset).add(eq(TrendingLeaderboard.HOT_KEY), eq("p1"), anyDouble());
+        // Solo los votos de p1 (por índice), no toda la colección
+        verify(mongoTemplate, times(1)).stream(any(Query.class), eq(Vote.class));
+        verify(mongoTemplate, never()).stream(any(Query.class), eq(Project.class));
+    }
+
+    @Test
+    void repairedProjectsAreNotRepairedAgain() {
+        when(projectRepository.findAllById(List.of("p1"))).thenReturn(List.of(project("p1", ProjectStatus.OPEN, 2)));
+        leaderboard.onVoteAdded(new Vote(null, "p1", "u2", LocalDateTime.now()));
+
+        leaderboard.repairFailed();
+        leaderboard.repairFailed();
+
+        verify(projectRepository, times(1)).findAllById(List.of("p1"));
+    }
+
+    @Test
+    void closedOrDeletedProjectsLeaveTheRankings() {
+        when(projectRepository.findAllById(List.of("p1"))).thenReturn(List.of(project("p1", ProjectStatus.CLOSED, 2)));
+
+        leaderboard.onVoteAdded(new Vote(null, "p1", "u2", LocalDateTime.now()));
+        leaderboard.repairFailed();
+
+        verify(zset).remove(TrendingLeaderboard.VOTES_KEY, "p1");
+        verify(zset).remove(TrendingLeaderboard.HOT_KEY, "p1");
+        verify(zset, never()).add(anyString(), anyString(), anyDouble());
+    }
+
+    @Test
+    void failedRepairIsRetried() {
+        when(projectRepository.findAllById(List.of("p1")))
+                .thenThrow(new IllegalStateException("MongoDB no disponible"))
+                .thenReturn(List.of(project("p1", ProjectStatus.OPEN, 2)));
+        leaderboard.onVoteAdded(new Vote(null, "p1", "u2", LocalDateTime.now()));
+
+        try {
+            leaderboard.repairFailed();
+        } catch (IllegalStateException expected) {
+            // se reintenta en el siguiente refresh
+        }
+        leaderboard.repairFailed();
+
+        verify(zset).add(TrendingLeaderboard.VOTES_KEY, "p1", 2d);
+    }
+
+    private static Project project(String id, ProjectStatus status, int votes) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Project(id, "Proyecto " + id, "", List.of(), List.of(), status, "creator-1", List.of(),
+                votes, now, now);
+    }
+}
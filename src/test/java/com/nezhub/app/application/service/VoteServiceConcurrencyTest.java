@@ -0,0 +1,145 @@
+package com.nezhub.app.application.service;
+
+import com.nezhub.app.application.exception.InvalidProjectDataException;
+import com.nezhub.app.domain.enums.ProjectStatus;
+import com.nezhub.app.domain.model.Project;
+import com.nezhub.app.domain.repository.ProjectRepository;
+import com.nezhub.app.domain.repository.VoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que el contador de votos es exacto con miles de votos concurrentes.
+ * Requiere Docker (MongoDB en Testcontainers); sin Docker el test se omite.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataMongoTest(properties = "spring.data.mongodb.auto-index-creation=true")
+@Import({VoteService.class, VoteWriteBuffer.class})
+class VoteServiceConcurrencyTest {
+
+    private static final int VOTERS = 5_000;
+    private static final int THREADS = 64;
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7");
+
+    @MockitoBean
+    private TrendingLeaderboard trendingLeaderboard;
+
+    @MockitoBean
+    private ProjectTextIndex textIndex;
+
+    @MockitoBean
+    private SkillBitmapIndex skillIndex;
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    private String projectId;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        projectRepository.deleteAll();
+
+        LocalDateTime now = LocalDateTime.now();
+        Project project = projectRepository.save(new Project(
+                null, "Proyecto concurrente", "Descripción", new ArrayList<>(), List.of("Java"),
+                ProjectStatus.OPEN, "creator", new ArrayList<>(), 0, now, now
+        ));
+        projectId = project.getId();
+    }
+
+    @Test
+    void parallelVotesFromDistinctUsersAreAllCounted() throws Exception {
+        List<Callable<Project>> tasks = new ArrayList<>();
+        for (int i = 0; i < VOTERS; i++) {
+            String userId = "user-" + i;
+            tasks.add(() -> voteService.voteProject(projectId, userId, Set.of("votes")));
+        }
+
+        runAll(tasks);
+
+        assertThat(projectRepository.findById(projectId).orElseThrow().getVotes()).isEqualTo(VOTERS);
+        assertThat(voteRepository.count()).isEqualTo(VOTERS);
+    }
+
+    @Test
+    void parallelDuplicateVotesCountOnce() throws Exception {
+        AtomicInteger rejected = new AtomicInteger();
+        List<Callable<Project>> tasks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            tasks.add(() -> {
+                try {
+                    return voteService.voteProject(projectId, "same-user", Set.of("votes"));
+                } catch (InvalidProjectDataException e) {
+                    rejected.incrementAndGet();
+                    return null;
+                }
+            });
+        }
+
+        runAll(tasks);
+
+        assertThat(projectRepository.findById(projectId).orElseThrow().getVotes()).isEqualTo(1);
+        assertThat(rejected.get()).isEqualTo(499);
+    }
+
+    @Test
+    void parallelVoteAndUnvoteKeepCountExact() throws Exception {
+        for (int i = 0; i < 1_000; i++) {
+            voteService.voteProject(projectId, "user-" + i, Set.of("votes"));
+        }
+
+        List<Callable<Project>> tasks = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            String existing = "user-" + i;
+            String fresh = "new-user-" + i;
+            tasks.add(() -> voteService.unvoteProject(projectId, existing, Set.of("votes")));
+            tasks.add(() -> voteService.voteProject(projectId, fresh, Set.of("votes")));
+        }
+
+        runAll(tasks);
+
+        assertThat(projectRepository.findById(projectId).orElseThrow().getVotes()).isEqualTo(1_000);
+        assertThat(voteRepository.count()).isEqualTo(1_000);
+    }
+
+    private static void runAll(List<Callable<Project>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Project> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.nezhub.app.benchmark;
+
+import com.nezhub.app.infrastructure.cache.CacheGenerations;
+import com.nezhub.app.infrastructure.cache.CacheInvalidationBus;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara vaciar una caché con 1M de claves en Redis:
+ * - keysClear: RedisCacheWriter por defecto (KEYS + DEL), bloquea Redis mientras recorre el keyspace
+ * - generationClear: INCR de la generación (CacheGenerations), las claves antiguas caducan por TTL
+ *
+ * Cada iteración vuelve a cargar las claves (pipeline) y mide un único vaciado.
+ *
+ * GET CONCURRENTE: un hilo lanza GETs sin parar durante el vaciado (ConcurrentGet). Métricas secundarias
+ * (@AuxCounters, por iteración): getMaxMicros (latencia máxima de los GETs que se solapan con el vaciado:
+ * lo que espera un request mientras KEYS bloquea Redis) y getsDuringClear.
+ *
+ * EJECUCIÓN (requiere Redis; por defecto localhost:6379, se vacía la base de datos 15):
+ * mvn test-compile
+ * java -Dredis.host=localhost -Dredis.port=6379 \
+ *      -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *      com.nezhub.app.benchmark.CacheClearBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CacheClearBenchmark {
+
+    private static final String CACHE = "projectDetails";
+    private static final int DATABASE = 15;
+    private static final int PIPELINE_BATCH = 10_000;
+    private static final byte[] VALUE = "{\"id\":\"bench\",\"title\":\"Proyecto\",\"votes\":0}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Param("1000000")
+    private int keys;
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisCacheWriter keysWriter;
+    private CacheGenerations generations;
+
+    @Setup(Level.Trial)
+    public void connect() {
+        RedisStandaloneConfiguration config = new RedisStandaloneConfiguration(
+                System.getProperty("redis.host", "localhost"),
+                Integer.getInteger("redis.port", 6379));
+        config.setDatabase(DATABASE);
+        connectionFactory = new LettuceConnectionFactory(config);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+        keysWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.keys());
+        generations = new CacheGenerations(redisTemplate, new CacheInvalidationBus(redisTemplate),
+                Duration.ofSeconds(5), null);
+    }
+
+    @Setup(Level.Iteration)
+    public void populate() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushDb();
+            String prefix = generations.compute(CACHE);
+            for (int from = 0; from < keys; from += PIPELINE_BATCH) {
+                connection.openPipeline();
+                for (int i = from; i < Math.min(from + PIPELINE_BATCH, keys); i++) {
+                    connection.stringCommands().set((prefix + i).getBytes(StandardCharsets.UTF_8), VALUE);
+                }
+                connection.closePipeline();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void disconnect() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushDb();
+        }
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public void keysClear(ConcurrentGet get) {
+        long start = System.nanoTime();
+        keysWriter.clean(CACHE, (generations.compute(CACHE) + "*").getBytes(StandardCharsets.UTF_8));
+        get.clearRan(start, System.nanoTime());
+    }
+
+    @Benchmark
+    public long generationClear(ConcurrentGet get) {
+        long start = System.nanoTime();
+        long generation = generations.increment(CACHE);
+        get.clearRan(start, System.nanoTime());
+        return generation;
+    }
+
+    /**
+     * GETs de otro cliente mientras se vacía la caché. Arranca después de cargar las claves
+     * (depende de CacheClearBenchmark) y los contadores se calculan al terminar la iteración.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ConcurrentGet {
+
+        public long getMaxMicros;
+        public long getsDuringClear;
+
+        private final List<long[]> samples = new ArrayList<>();
+        private volatile boolean running;
+        private Thread reader;
+        private long clearStart;
+        private long clearEnd;
+
+        @Setup(Level.Iteration)
+        public void start(CacheClearBenchmark benchmark) {
+            samples.clear();
+            byte[] key = (benchmark.generations.compute(CACHE) + "0").getBytes(StandardCharsets.UTF_8);
+            running = true;
+            reader = new Thread(() -> {
+                try (RedisConnection connection = benchmark.connectionFactory.getConnection()) {
+                    while (running) {
+                        long start = System.nanoTime();
+                        connection.stringCommands().get(key);
+                        samples.add(new long[]{start, System.nanoTime()});
+                    }
+                }
+            }, "concurrent-get");
+            reader.start();
+        }
+
+        void clearRan(long start, long end) {
+            clearStart = start;
+            clearEnd = end;
+        }
+
+        @TearDown(Level.Iteration)
+        public void stop() throws InterruptedException {
+            running = false;
+            reader.join();
+            for (long[] sample : samples) {
+                if (sample[0] < clearEnd && sample[1] > clearStart) {
+                    getsDuringClear++;
+                    getMaxMicros = Math.max(getMaxMicros, (sample[1] - sample[0]) / 1_000);
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CacheClearBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,151 @@
+package com.nezhub.app.benchmark;
+
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nezhub.app.domain.enums.ProjectStatus;
+import com.nezhub.app.domain.model.Project;
+import com.nezhub.app.infrastructure.cache.CompactCacheSerializer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara los serializadores de valores de la caché con listas de Project como las de searchBySkill:
+ * - json: GenericJackson2JsonRedisSerializer (formato anterior, @class en cada elemento)
+ * - smile: CompactCacheSerializer sin compresión
+ * - smile-zstd: CompactCacheSerializer con Zstandard desde 1 KB (configuración por defecto)
+ *
+ * Mide el tiempo de encode y decode; el tamaño en bytes de cada combinación sale como métrica
+ * secundaria encodedBytes (@AuxCounters en EncodedSize) junto a cada resultado.
+ *
+ * EJECUCIÓN:
+ * mvn test-compile
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *      com.nezhub.app.benchmark.CacheCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+    private static final String[] SKILLS = {
+            "Java", "Spring Boot", "React", "Node.js", "Python", "MongoDB", "Redis", "Docker",
+            "Kubernetes", "GraphQL", "TypeScript", "AWS", "PostgreSQL", "Go", "Rust", "Vue.js"
+    };
+
+    @Param({"10", "100", "1000"})
+    private int projects;
+
+    @Param({"json", "smile", "smile-zstd"})
+    private String codec;
+
+    private RedisSerializer<Object> serializer;
+    private List<Project> value;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        serializer = switch (codec) {
+            case "json" -> new GenericJackson2JsonRedisSerializer()
+                    .configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+            case "smile" -> new CompactCacheSerializer(CompactCacheSerializer.Format.SMILE, 0);
+            case "smile-zstd" -> new CompactCacheSerializer(CompactCacheSerializer.Format.SMILE, 1024);
+            default -> throw new IllegalArgumentException(codec);
+        };
+        value = projects(projects);
+        encoded = serializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] encode(EncodedSize size) {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object decode(EncodedSize size) {
+        return serializer.deserialize(encoded);
+    }
+
+    /**
+     * Tamaño del valor codificado, como métrica secundaria de cada benchmark (no se reinicia por iteración:
+     * es un método, no un campo).
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+
+        private int bytes;
+
+        @Setup
+        public void measure(CacheCodecBenchmark benchmark) {
+            bytes = benchmark.encoded.length;
+        }
+
+        public int encodedBytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * Proyectos con textos y listas de tamaño realista; semilla fija para comparar ejecuciones.
+     */
+    private static List<Project> projects(int count) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<Project> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<String> skills = new ArrayList<>();
+            for (int s = 0; s < 3 + random.nextInt(4); s++) {
+                skills.add(SKILLS[random.nextInt(SKILLS.length)]);
+            }
+            List<String> collaborators = new ArrayList<>();
+            for (int c = 0; c < random.nextInt(6); c++) {
+                collaborators.add("user-" + random.nextInt(10_000));
+            }
+            result.add(new Project(
+                    Integer.toHexString(random.nextInt()) + "f1c2a9b3e4d5c6b7",
+                    "Proyecto " + i + " de " + skills.get(0),
+                    ("Plataforma colaborativa para equipos que trabajan con " + String.join(", ", skills)
+                            + ". Buscamos personas con ganas de aprender y aportar. ").repeat(1 + random.nextInt(3)),
+                    List.of("Publicar una primera versión", "Documentar la API", "Añadir tests de integración"),
+                    skills,
+                    ProjectStatus.values()[random.nextInt(ProjectStatus.values().length)],
+                    "user-" + random.nextInt(10_000),
+                    collaborators,
+                    random.nextInt(500),
+                    now.minusDays(random.nextInt(365)),
+                    now.minusHours(random.nextInt(240))
+            ));
+        }
+        return result;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CacheCodecBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
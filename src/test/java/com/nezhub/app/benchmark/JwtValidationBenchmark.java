@@ -0,0 +1,93 @@
+package com.nezhub.app.benchmark;
+
+import com.nezhub.app.domain.enums.UserRole;
+import com.nezhub.app.domain.model.User;
+import com.nezhub.app.infrastructure.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compara la validación de JWT anterior (tres parseos, clave y parser
+ * reconstruidos en cada llamada) con JwtUtil.verify (un parseo, parser cacheado).
+ *
+ * EJECUCIÓN:
+ * mvn test-compile
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *      com.nezhub.app.benchmark.JwtValidationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "nezhub-super-secret-key-change-in-production-2024";
+    private static final String EMAIL = "bench@nezhub.com";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 86_400_000L, 604_800_000L, false, 900_000L);
+        token = jwtUtil.generateToken(new User("bench-id", "bench", EMAIL, null, UserRole.CREATOR, null));
+    }
+
+    /**
+     * Camino actual: un parseo con clave y parser precalculados.
+     */
+    @Benchmark
+    public boolean singleParse() {
+        JwtUtil.VerifiedToken verified = jwtUtil.verify(token);
+        return verified.email().equals(EMAIL) && !verified.isExpired();
+    }
+
+    /**
+     * Camino anterior: extractEmail en el filtro + validateToken (extractEmail + extractExpiration).
+     */
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String email = legacyExtractClaim(token, Claims::getSubject);
+        String tokenEmail = legacyExtractClaim(token, Claims::getSubject);
+        Date expiration = legacyExtractClaim(token, Claims::getExpiration);
+        return email != null && tokenEmail.equals(EMAIL) && !expiration.before(new Date());
+    }
+
+    private static <T> T legacyExtractClaim(String token, Function<Claims, T> resolver) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        Claims claims = Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        return resolver.apply(claims);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtValidationBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,56 @@
+package com.nezhub.app.domain.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkillKeysTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "React, react",
+            "react, react",
+            "ReactJS, react",
+            "React.js, react",
+            "reactjsjs, react",
+            "Node.js, node",
+            "nextjs, next",
+            "js, js",
+            "jsjs, jsjs",
+            "C++, c++",
+            "Programación, programacion",
+            "'  Spring   Boot ', springboot",
+            "machine_learning, machinelearning",
+            "Vue-JS, vue"
+    })
+    void canonicalForm(String skill, String expected) {
+        assertThat(SkillKeys.canonical(skill)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ReactJS", "reactjsjs", "Node.js", "jsjs", "abcjs", "Programación", "C#", "vuejsjsjs"})
+    void canonicalIsIdempotent(String skill) {
+        String key = SkillKeys.canonical(skill);
+
+        assertThat(SkillKeys.canonical(key)).isEqualTo(key);
+    }
+
+    @Test
+    void nullIsEmpty() {
+        assertThat(SkillKeys.canonical(null)).isEmpty();
+        assertThat(SkillKeys.of(null)).isEmpty();
+    }
+
+    @Test
+    void ofKeepsDistinctNonEmptyKeysInOrder() {
+        List<String> keys = SkillKeys.of(Arrays.asList("React", "Java", "ReactJS", " ", null, "react.js", "Go"));
+
+        assertThat(keys).containsExactly("react", "java", "go");
+    }
+}
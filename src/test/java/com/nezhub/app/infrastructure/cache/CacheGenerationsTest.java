@@ -0,0 +1,137 @@
+package com.nezhub.app.infrastructure.cache;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * CacheGenerations sobre Lettuce y un Redis falso local (FakeRedis). El bus de invalidación es un mock:
+ * se comprueba que se publica el clear y los avisos de otros nodos se simulan con onClear.
+ */
+class CacheGenerationsTest {
+
+    private static final String CACHE = "skillStats";
+    private static final String GENERATION_KEY = "nezhub:cache:generation:" + CACHE;
+    private static final Duration SYNC_INTERVAL = Duration.ofMillis(200);
+
+    private FakeRedis redis;
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private CacheInvalidationBus bus;
+    private final List<CacheGenerations> created = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        redis = new FakeRedis();
+        LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
+                .clientOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP2).build())
+                .build();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("localhost", redis.port()), clientConfig);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        bus = mock(CacheInvalidationBus.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        created.forEach(CacheGenerations::close);
+        connectionFactory.destroy();
+        redis.close();
+    }
+
+    @Test
+    void computePrefixesKeysWithTheStoredGeneration() {
+        assertThat(generations(SYNC_INTERVAL, null).compute(CACHE)).isEqualTo("skillStats::0::");
+
+        redis.stored().put(GENERATION_KEY, "4");
+
+        assertThat(generations(SYNC_INTERVAL, null).compute(CACHE)).isEqualTo("skillStats::4::");
+    }
+
+    @Test
+    void incrementMovesToTheNextGenerationAndPublishesTheClear() {
+        CacheGenerations generations = generations(Duration.ofHours(1), null);
+        generations.compute(CACHE);
+
+        assertThat(generations.increment(CACHE)).isEqualTo(1);
+
+        // Sin releer Redis: el nodo que vacía ve la generación nueva al momento
+        assertThat(generations.compute(CACHE)).isEqualTo("skillStats::1::");
+        assertThat(redis.stored()).containsEntry(GENERATION_KEY, "1");
+        verify(bus).publishClear(CACHE);
+    }
+
+    @Test
+    void onClearDropsTheLocalGenerationSoTheNextReadGoesToRedis() {
+        CacheGenerations generations = generations(Duration.ofHours(1), null);
+        assertThat(generations.current(CACHE)).isZero();
+
+        // Otro nodo vació la caché
+        redis.stored().put(GENERATION_KEY, "3");
+        assertThat(generations.current(CACHE)).isZero();
+
+        generations.onClear(CACHE);
+
+        assertThat(generations.current(CACHE)).isEqualTo(3);
+    }
+
+    @Test
+    void generationIsReadAgainAfterTheSyncIntervalWhenTheClearNoticeIsLost() throws InterruptedException {
+        CacheGenerations generations = generations(SYNC_INTERVAL, null);
+        assertThat(generations.current(CACHE)).isZero();
+        int commands = redis.commands();
+
+        redis.stored().put(GENERATION_KEY, "2");
+        assertThat(generations.current(CACHE)).isZero();
+        assertThat(redis.commands()).isEqualTo(commands);
+
+        Thread.sleep(SYNC_INTERVAL.toMillis() + 50);
+
+        assertThat(generations.current(CACHE)).isEqualTo(2);
+    }
+
+    @Test
+    void reclaimDeletesOnlyThePreviousGenerationKeys() throws InterruptedException {
+        CacheGenerations generations = generations(SYNC_INTERVAL,
+                RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(100)));
+        redis.stored().put("skillStats::0::10", "a");
+        redis.stored().put("skillStats::0::20", "b");
+        redis.stored().put("skillStats::10::30", "otra generación");
+        redis.stored().put("projectDetails::0::p1", "otra caché");
+
+        generations.increment(CACHE);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (redis.stored().containsKey("skillStats::0::10") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(redis.stored()).doesNotContainKeys("skillStats::0::10", "skillStats::0::20")
+                .containsKeys("skillStats::10::30", "projectDetails::0::p1");
+    }
+
+    private CacheGenerations generations(Duration syncInterval, RedisCacheWriter reclaimer) {
+        CacheGenerations generations = new CacheGenerations(redisTemplate, bus, syncInterval, reclaimer);
+        created.add(generations);
+        return generations;
+    }
+}
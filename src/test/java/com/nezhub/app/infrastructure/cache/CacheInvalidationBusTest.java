@@ -0,0 +1,144 @@
+package com.nezhub.app.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * CacheInvalidationBus con Redis simulado: formato del mensaje, mensajes propios, circuito abierto
+ * y PUBLISH lento acotado por el timeout de RedisGuard.
+ */
+class CacheInvalidationBusTest {
+
+    private StringRedisTemplate redisTemplate;
+    private CacheInvalidationBus publisher;
+    private CacheInvalidationBus receiver;
+    private final List<String> received = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        publisher = new CacheInvalidationBus(redisTemplate);
+        receiver = new CacheInvalidationBus(redisTemplate);
+        CacheInvalidationBus.Listener listener = new CacheInvalidationBus.Listener() {
+            @Override
+            public void onEvict(String cacheName, String key) {
+                received.add("evict " + cacheName + " " + key);
+            }
+
+            @Override
+            public void onClear(String cacheName) {
+                received.add("clear " + cacheName);
+            }
+        };
+        publisher.addListener(listener);
+        receiver.addListener(listener);
+    }
+
+    @Test
+    void evictsAndClearsReachTheOtherNodes() {
+        publisher.publishEvict("projectDetails", "p1");
+        publisher.publishClear("skillStats");
+
+        sentMessages().forEach(message -> deliver(receiver, message));
+
+        assertThat(received).containsExactly("evict projectDetails p1", "clear skillStats");
+    }
+
+    @Test
+    void ownMessagesAreIgnored() {
+        publisher.publishEvict("projectDetails", "p1");
+
+        deliver(publisher, sentMessages().get(0));
+
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    void keysMayContainLineBreaks() {
+        publisher.publishEvict("searchBySkill", "java\nspring");
+
+        deliver(receiver, sentMessages().get(0));
+
+        assertThat(received).containsExactly("evict searchBySkill java\nspring");
+    }
+
+    @Test
+    void malformedMessagesAreIgnored() {
+        deliver(receiver, "otro-nodo\nprojectDetails");
+
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    void nothingIsPublishedWhileTheCircuitIsOpen() {
+        CacheCircuitBreaker breaker = new CacheCircuitBreaker(1, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        breaker.onFailure();
+        RedisGuard guard = new RedisGuard(breaker, Duration.ofMillis(100), 1, new SimpleMeterRegistry());
+        CacheInvalidationBus bus = new CacheInvalidationBus(redisTemplate, guard);
+
+        bus.publishEvict("projectDetails", "p1");
+
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+        guard.close();
+    }
+
+    @Test
+    void slowPublishIsBoundedByTheGuardTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(redisTemplate.convertAndSend(eq(CacheInvalidationBus.CHANNEL), anyString())).thenAnswer(invocation -> {
+            release.await();
+            return 1L;
+        });
+        CacheCircuitBreaker breaker = new CacheCircuitBreaker(5, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        RedisGuard guard = new RedisGuard(breaker, Duration.ofMillis(100), 1, new SimpleMeterRegistry());
+        CacheInvalidationBus bus = new CacheInvalidationBus(redisTemplate, guard);
+
+        long start = System.nanoTime();
+        bus.publishEvict("projectDetails", "p1");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        release.countDown();
+        guard.close();
+        assertThat(elapsedMillis).isLessThan(1_000);
+    }
+
+    @Test
+    void publishFailuresAreNotPropagated() {
+        when(redisTemplate.convertAndSend(eq(CacheInvalidationBus.CHANNEL), anyString()))
+                .thenThrow(new RedisConnectionFailureException("sin conexión"));
+
+        assertThatCode(() -> publisher.publishEvict("projectDetails", "p1")).doesNotThrowAnyException();
+    }
+
+    private List<String> sentMessages() {
+        ArgumentCaptor<String> messages = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, atLeastOnce()).convertAndSend(eq(CacheInvalidationBus.CHANNEL), messages.capture());
+        return messages.getAllValues();
+    }
+
+    private static void deliver(CacheInvalidationBus bus, String message) {
+        bus.onMessage(new DefaultMessage(CacheInvalidationBus.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                message.getBytes(StandardCharsets.UTF_8)), null);
+    }
+}
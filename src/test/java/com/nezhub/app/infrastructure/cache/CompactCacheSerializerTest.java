@@ -0,0 +1,137 @@
+package com.nezhub.app.infrastructure.cache;
+
+import com.nezhub.app.application.service.ProjectStatisticsService.SkillStats;
+import com.nezhub.app.application.service.ProjectStatisticsService.StatusStats;
+import com.nezhub.app.domain.enums.ProjectStatus;
+import com.nezhub.app.domain.model.Project;
+import com.nezhub.app.infrastructure.cache.CompactCacheSerializer.Format;
+import com.nezhub.app.infrastructure.cache.RefreshAheadCache.Stamped;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Ida y vuelta de cada tipo que se guarda en la caché de Redis (projectDetails, searchBySkill,
+ * skillStats y statusStats, estas dos dentro de RefreshAheadCache.Stamped) por CompactCacheSerializer.
+ */
+class CompactCacheSerializerTest {
+
+    private static final int COMPRESSION_THRESHOLD = 512;
+
+    private final CompactCacheSerializer smile = new CompactCacheSerializer(Format.SMILE, COMPRESSION_THRESHOLD);
+    private final CompactCacheSerializer legacyJson = new CompactCacheSerializer(Format.JSON, COMPRESSION_THRESHOLD);
+
+    @Test
+    void projectDetailsRoundTrip() {
+        Project project = project("p1", List.of("React", "Java"));
+
+        assertRoundTrip(smile, project);
+        assertRoundTrip(legacyJson, project);
+    }
+
+    @Test
+    void searchBySkillRoundTrip() {
+        // Las consultas de Spring Data devuelven listas de distintos tipos (también inmutables)
+        List<Project> projects = IntStream.range(0, 20)
+                .mapToObj(i -> project("p" + i, List.of("React")))
+                .toList();
+
+        assertRoundTrip(smile, projects);
+        assertRoundTrip(legacyJson, projects);
+        assertRoundTrip(smile, new ArrayList<>(projects));
+        assertRoundTrip(smile, List.of());
+    }
+
+    @Test
+    void skillStatsRoundTrip() {
+        SkillStats react = new SkillStats();
+        react.set_id("react");
+        react.setSkill("React");
+        react.setCount(12);
+        SkillStats go = new SkillStats();
+        go.set_id("go");
+        go.setCount(3);
+        // Como AggregationResults.getMappedResults()
+        Stamped stamped = new Stamped(Collections.unmodifiableList(new ArrayList<>(List.of(react, go))), 1_000L);
+
+        for (CompactCacheSerializer writer : List.of(smile, legacyJson)) {
+            Stamped read = (Stamped) smile.deserialize(writer.serialize(stamped));
+
+            assertThat(read.computedAt()).isEqualTo(stamped.computedAt());
+            @SuppressWarnings("unchecked")
+            List<SkillStats> stats = (List<SkillStats>) read.value();
+            assertThat(stats).extracting(SkillStats::getSkill, SkillStats::getCount)
+                    .containsExactly(tuple("React", 12L), tuple("go", 3L));
+        }
+    }
+
+    @Test
+    void statusStatsRoundTrip() {
+        StatusStats open = new StatusStats();
+        open.set_id(ProjectStatus.OPEN.name());
+        open.setCount(7);
+        StatusStats closed = new StatusStats();
+        closed.set_id(ProjectStatus.CLOSED.name());
+        closed.setCount(2);
+        Stamped stamped = new Stamped(Collections.unmodifiableList(new ArrayList<>(List.of(open, closed))), 1_000L);
+
+        Stamped fromSmile = (Stamped) assertRoundTrip(smile, stamped);
+        assertRoundTrip(legacyJson, stamped);
+
+        @SuppressWarnings("unchecked")
+        List<StatusStats> stats = (List<StatusStats>) fromSmile.value();
+        assertThat(stats).extracting(StatusStats::getStatus).containsExactly(ProjectStatus.OPEN, ProjectStatus.CLOSED);
+    }
+
+    @Test
+    void smileValuesStartWithTheVersionedHeader() {
+        byte[] small = smile.serialize(project("p1", List.of("Go")));
+        byte[] large = smile.serialize(IntStream.range(0, 50).mapToObj(i -> project("p" + i, List.of("Go"))).toList());
+
+        assertThat(small).startsWith(CompactCacheSerializer.MAGIC_0, CompactCacheSerializer.MAGIC_1,
+                CompactCacheSerializer.VERSION, (byte) 0);
+        assertThat(large).startsWith(CompactCacheSerializer.MAGIC_0, CompactCacheSerializer.MAGIC_1,
+                CompactCacheSerializer.VERSION, CompactCacheSerializer.FLAG_ZSTD);
+    }
+
+    @Test
+    void readsLegacyJsonEntries() {
+        Project project = project("p1", List.of("React"));
+        byte[] json = legacyJson.serialize(project);
+
+        assertThat(json[0]).isEqualTo((byte) '{');
+        assertThat(smile.deserialize(json)).usingRecursiveComparison().isEqualTo(project);
+    }
+
+    @Test
+    void unknownVersionIsASerializationError() {
+        byte[] bytes = smile.serialize(project("p1", List.of("Go")));
+        bytes[2] = CompactCacheSerializer.VERSION + 1;
+
+        assertThatThrownBy(() -> smile.deserialize(bytes)).isInstanceOf(SerializationException.class);
+    }
+
+    /**
+     * Escribe con writer y lee con el serializador Smile (el que tienen todos los nodos nuevos).
+     */
+    private Object assertRoundTrip(CompactCacheSerializer writer, Object value) {
+        Object read = smile.deserialize(writer.serialize(value));
+        assertThat(read).usingRecursiveComparison().isEqualTo(value);
+        return read;
+    }
+
+    private static Project project(String id, List<String> skills) {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        return new Project(id, "Proyecto " + id, "Descripción", List.of("objetivo"), skills,
+                ProjectStatus.OPEN, "creator-1", List.of(), 5, now, now);
+    }
+}
@@ -0,0 +1,164 @@
+package com.nezhub.app.infrastructure.cache;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Redis mínimo en memoria para los tests de caché (protocolo RESP2): GET, SET, DEL, INCR, SCAN (una sola
+ * página), PUBLISH (sin suscriptores) y PING, con latencia configurable antes de cada respuesta.
+ * Bajar la latencia también acorta las respuestas que ya están esperando.
+ */
+class FakeRedis implements AutoCloseable {
+
+    private final ServerSocket server;
+    private final Map<String, String> data = new ConcurrentHashMap<>();
+    private final AtomicInteger commands = new AtomicInteger();
+    private volatile long latencyMillis;
+
+    FakeRedis() throws IOException {
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::accept, "fake-redis");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int port() {
+        return server.getLocalPort();
+    }
+
+    void latency(Duration latency) {
+        latencyMillis = latency.toMillis();
+    }
+
+    int commands() {
+        return commands.get();
+    }
+
+    Map<String, String> stored() {
+        return data;
+    }
+
+    @Override
+    public void close() {
+        try {
+            server.close();
+        } catch (IOException ignored) {
+            // Ya cerrado
+        }
+    }
+
+    private void accept() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                Thread handler = new Thread(() -> serve(socket), "fake-redis-connection");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket; InputStream in = new BufferedInputStream(socket.getInputStream());
+             OutputStream out = socket.getOutputStream()) {
+            while (true) {
+                List<String> command = readCommand(in);
+                if (command == null) {
+                    return;
+                }
+                long start = System.nanoTime();
+                while ((System.nanoTime() - start) / 1_000_000 < latencyMillis) {
+                    Thread.sleep(5);
+                }
+                out.write(reply(command).getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        } catch (IOException | InterruptedException e) {
+            // Conexión cerrada por el cliente
+        }
+    }
+
+    private String reply(List<String> command) {
+        String name = command.get(0).toUpperCase();
+        if (!name.equals("PING")) {
+            commands.incrementAndGet();
+        }
+        return switch (name) {
+            case "PING" -> "+PONG\r\n";
+            case "GET" -> {
+                String value = data.get(command.get(1));
+                yield value == null ? "$-1\r\n" : bulk(value);
+            }
+            case "SET" -> {
+                data.put(command.get(1), command.get(2));
+                yield "+OK\r\n";
+            }
+            case "DEL" -> ":" + command.subList(1, command.size()).stream()
+                    .filter(key -> data.remove(key) != null).count() + "\r\n";
+            case "INCR" -> ":" + data.merge(command.get(1), "1",
+                    (current, one) -> String.valueOf(Long.parseLong(current) + 1)) + "\r\n";
+            case "SCAN" -> {
+                int match = command.indexOf("MATCH");
+                String glob = match > 0 ? command.get(match + 1) : "*";
+                Pattern pattern = Pattern.compile(Arrays.stream(glob.split("\\*", -1))
+                        .map(Pattern::quote).collect(Collectors.joining(".*")));
+                List<String> keys = data.keySet().stream().filter(key -> pattern.matcher(key).matches()).toList();
+                StringBuilder reply = new StringBuilder("*2\r\n").append(bulk("0")).append("*").append(keys.size()).append("\r\n");
+                keys.forEach(key -> reply.append(bulk(key)));
+                yield reply.toString();
+            }
+            case "PUBLISH" -> ":0\r\n";
+            default -> "-ERR unknown command '" + name + "'\r\n";
+        };
+    }
+
+    private static String bulk(String value) {
+        return "$" + value.getBytes(StandardCharsets.UTF_8).length + "\r\n" + value + "\r\n";
+    }
+
+    private static List<String> readCommand(InputStream in) throws IOException {
+        String header = readLine(in);
+        if (header == null) {
+            return null;
+        }
+        int count = Integer.parseInt(header.substring(1));
+        List<String> parts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = Integer.parseInt(readLine(in).substring(1));
+            byte[] bytes = in.readNBytes(length);
+            in.readNBytes(2);
+            parts.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return parts;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c == '\r') {
+                in.read();
+                return line.toString();
+            }
+            line.append((char) c);
+        }
+        return null;
+    }
+}
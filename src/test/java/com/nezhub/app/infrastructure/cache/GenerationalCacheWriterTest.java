@@ -0,0 +1,114 @@
+package com.nezhub.app.infrastructure.cache;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * RedisCache con GenerationalCacheWriter y prefijo de CacheGenerations (como en RedisConfig),
+ * sobre un Redis falso local (FakeRedis).
+ */
+class GenerationalCacheWriterTest {
+
+    private static final String CACHE = "projectDetails";
+
+    private FakeRedis redis;
+    private LettuceConnectionFactory connectionFactory;
+    private CacheGenerations generations;
+    private GenerationalCacheWriter writer;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        redis = new FakeRedis();
+        LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
+                .clientOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP2).build())
+                .build();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("localhost", redis.port()), clientConfig);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        generations = new CacheGenerations(new StringRedisTemplate(connectionFactory),
+                mock(CacheInvalidationBus.class), Duration.ofHours(1), null);
+        writer = new GenerationalCacheWriter(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), generations);
+        RedisCacheManager cacheManager = RedisCacheManager.builder(writer)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(Duration.ofMinutes(5))
+                        .computePrefixWith(generations)
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                                RedisSerializer.string())))
+                .build();
+        cacheManager.afterPropertiesSet();
+        cache = cacheManager.getCache(CACHE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        generations.close();
+        connectionFactory.destroy();
+        redis.close();
+    }
+
+    @Test
+    void readsWritesAndEvictsGoToTheCurrentGeneration() {
+        cache.put("p1", "proyecto 1");
+        cache.put("p2", "proyecto 2");
+
+        assertThat(redis.stored()).containsEntry("projectDetails::0::p1", "proyecto 1");
+        assertThat(cache.get("p1").get()).isEqualTo("proyecto 1");
+
+        cache.evict("p2");
+
+        assertThat(redis.stored()).doesNotContainKey("projectDetails::0::p2");
+        assertThat(cache.get("p2")).isNull();
+    }
+
+    @Test
+    void clearSwitchesGenerationWithoutDeletingKeys() {
+        cache.put("p1", "proyecto 1");
+        int commands = redis.commands();
+
+        cache.clear();
+
+        // Un único INCR: ni KEYS ni SCAN ni DEL
+        assertThat(redis.commands()).isEqualTo(commands + 1);
+        assertThat(redis.stored()).containsEntry("nezhub:cache:generation:" + CACHE, "1")
+                .containsKey("projectDetails::0::p1");
+        assertThat(cache.get("p1")).isNull();
+
+        cache.put("p1", "proyecto 1 nuevo");
+
+        assertThat(redis.stored()).containsEntry("projectDetails::1::p1", "proyecto 1 nuevo");
+    }
+
+    @Test
+    void statisticsCollectorKeepsTheGenerationalClear() {
+        RedisCacheWriter withStatistics = writer.withStatisticsCollector(CacheStatisticsCollector.create());
+
+        withStatistics.clean(CACHE, "projectDetails::0::*".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(withStatistics).isInstanceOf(GenerationalCacheWriter.class);
+        assertThat(generations.current(CACHE)).isEqualTo(1);
+    }
+}
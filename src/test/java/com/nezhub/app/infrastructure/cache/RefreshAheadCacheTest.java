@@ -0,0 +1,177 @@
+package com.nezhub.app.infrastructure.cache;
+
+import com.nezhub.app.infrastructure.cache.RefreshAheadCache.Stamped;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RefreshAheadCache sobre una caché en memoria: la edad de cada valor se fija al guardarlo (Stamped).
+ * ttl 1 h, refresh-ahead a partir de 30 min.
+ */
+class RefreshAheadCacheTest {
+
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final long LOAD_TIMEOUT_MILLIS = 200;
+
+    private final ConcurrentMapCache delegate = new ConcurrentMapCache("skillStats");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ExecutorService executor;
+    private RefreshAheadCache cache;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        cache = new RefreshAheadCache(delegate, new RefreshAheadCacheManager.RefreshPolicy(TTL, 0.5, TTL),
+                LOAD_TIMEOUT_MILLIS, executor, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void freshValueIsServedWithoutLoading() {
+        storeAged("10", "antiguo", Duration.ofMinutes(5));
+
+        assertThat(cache.get("10", () -> "nuevo")).isEqualTo("antiguo");
+        assertThat(refreshes("success")).isZero();
+    }
+
+    @Test
+    void missLoadsAndStoresAStampedValue() {
+        assertThat(cache.get("10", () -> "calculado")).isEqualTo("calculado");
+
+        assertThat(delegate.get("10").get()).isInstanceOf(Stamped.class);
+        assertThat(cache.get("10").get()).isEqualTo("calculado");
+    }
+
+    @Test
+    void valueCloseToExpiryIsServedAndRefreshedOnceInBackground() throws Exception {
+        storeAged("10", "antiguo", Duration.ofMinutes(40));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(cache.get("10", () -> {
+                loads.incrementAndGet();
+                release.await();
+                return "nuevo";
+            })).isEqualTo("antiguo");
+        }
+        release.countDown();
+
+        awaitStored("10", "nuevo");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void expiredValueWaitsForTheReload() {
+        storeAged("10", "antiguo", Duration.ofMinutes(90));
+
+        assertThat(cache.get("10", () -> "nuevo")).isEqualTo("nuevo");
+        assertThat(staleServed()).isZero();
+    }
+
+    @Test
+    void expiredValueIsServedStaleAndMarkedWhenTheReloadFails() {
+        storeAged("10", "antiguo", Duration.ofMinutes(90));
+        CacheStaleness.Marker marker = CacheStaleness.newMarker();
+
+        Object[] value = new Object[1];
+        StaleMarkerContext.runWith(marker, () -> value[0] = cache.get("10", () -> {
+            throw new IllegalStateException("MongoDB no disponible");
+        }));
+
+        assertThat(value[0]).isEqualTo("antiguo");
+        assertThat(marker.caches()).containsExactly("skillStats");
+        assertThat(staleServed()).isEqualTo(1);
+        assertThat(refreshes("failure")).isEqualTo(1);
+    }
+
+    @Test
+    void slowReloadServesStaleWithinTheTimeoutAndStoresTheValueLater() throws Exception {
+        storeAged("10", "antiguo", Duration.ofMinutes(90));
+        CountDownLatch release = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        Object value = cache.get("10", () -> {
+            release.await();
+            return "nuevo";
+        });
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        release.countDown();
+
+        assertThat(value).isEqualTo("antiguo");
+        assertThat(elapsedMillis).isLessThan(LOAD_TIMEOUT_MILLIS * 10);
+        awaitStored("10", "nuevo");
+    }
+
+    @Test
+    void clearDuringARefreshDiscardsTheRefreshedValue() throws Exception {
+        storeAged("10", "antiguo", Duration.ofMinutes(40));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        cache.get("10", () -> {
+            loading.countDown();
+            release.await();
+            return "calculado antes del clear";
+        });
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.clear();
+        release.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (refreshes("success") == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(refreshes("success")).isEqualTo(1);
+        assertThat(cache.get("10")).isNull();
+    }
+
+    @Test
+    void staleReadsOutsideARequestAreNotMarked() {
+        storeAged("10", "antiguo", Duration.ofMinutes(90));
+        CacheStaleness.Marker marker = CacheStaleness.newMarker();
+
+        Object value = cache.get("10", () -> {
+            throw new IllegalStateException("MongoDB no disponible");
+        });
+
+        assertThat(value).isEqualTo("antiguo");
+        assertThat(marker.caches()).isEmpty();
+    }
+
+    private void storeAged(String key, Object value, Duration age) {
+        delegate.put(key, new Stamped(value, System.currentTimeMillis() - age.toMillis()));
+    }
+
+    private void awaitStored(String key, Object expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!expected.equals(cache.get(key).get()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(cache.get(key).get()).isEqualTo(expected);
+    }
+
+    private double refreshes(String result) {
+        return meterRegistry.counter("nezhub.cache.refreshes", "cache", "skillStats", "result", result).count();
+    }
+
+    private double staleServed() {
+        return meterRegistry.counter("nezhub.cache.stale.served", "cache", "skillStats").count();
+    }
+}
@@ -0,0 +1,222 @@
+package com.nezhub.app.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * ResilientCacheManager sobre Lettuce y un Redis falso local (FakeRedis) al que se le inyecta latencia.
+ * El circuit breaker usa un reloj manual: el paso de OPEN a HALF_OPEN no depende de esperas.
+ * Los márgenes (timeout frente a latencia inyectada) son amplios para no depender de la carga de la máquina.
+ * El bus de invalidaciones es un mock: se comprueba el aviso de los evicts repetidos.
+ */
+class ResilientCacheTest {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(200);
+    private static final Duration SLOW = Duration.ofSeconds(1);
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(2);
+    private static final int FAILURE_THRESHOLD = 3;
+
+    private final AtomicLong clock = new AtomicLong();
+    private FakeRedis redis;
+    private LettuceConnectionFactory connectionFactory;
+    private CacheCircuitBreaker breaker;
+    private RedisGuard guard;
+    private CacheInvalidationBus bus;
+    private ResilientCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        redis = new FakeRedis();
+
+        LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
+                .commandTimeout(Duration.ofSeconds(5))
+                .clientOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP2).build())
+                .build();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("localhost", redis.port()), clientConfig);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        // Conexión ya abierta: el primer comando no paga el handshake dentro del timeout
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.ping();
+        }
+
+        // SCAN en lugar de KEYS para vaciar: FakeRedis no implementa KEYS
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(
+                        RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(100)))
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(Duration.ofMinutes(5))
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                                RedisSerializer.string())))
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        breaker = new CacheCircuitBreaker(FAILURE_THRESHOLD, OPEN_DURATION, meterRegistry, clock::get);
+        guard = new RedisGuard(breaker, TIMEOUT, 4, meterRegistry);
+        bus = mock(CacheInvalidationBus.class);
+        cacheManager = new ResilientCacheManager(redisCacheManager, guard, bus,
+                100, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+        guard.close();
+        connectionFactory.destroy();
+        redis.close();
+    }
+
+    @Test
+    void slowRedisIsAMissBoundedByTheTimeout() {
+        Cache cache = cacheManager.getCache("projectDetails");
+        cache.put("p1", "proyecto 1");
+        assertThat(redis.stored()).containsKey("projectDetails::p1");
+
+        redis.latency(SLOW);
+
+        long start = System.nanoTime();
+        Cache.ValueWrapper missing = cache.get("p2");
+        Cache.ValueWrapper fromFallback = cache.get("p1");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(missing).isNull();
+        assertThat(fromFallback).isNotNull();
+        assertThat(fromFallback.get()).isEqualTo("proyecto 1");
+        assertThat(elapsedMillis).isLessThan(SLOW.toMillis());
+    }
+
+    @Test
+    void loaderRunsWhenRedisFails() {
+        Cache cache = cacheManager.getCache("skillStats");
+        redis.latency(SLOW);
+
+        String value = cache.get("10", () -> "calculado");
+
+        assertThat(value).isEqualTo("calculado");
+    }
+
+    @Test
+    void openCircuitStopsCallingRedisAndClosesWhenItRecovers() {
+        Cache cache = cacheManager.getCache("searchBySkill");
+        redis.latency(SLOW);
+
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            assertThat(cache.get("java")).isNull();
+        }
+        assertThat(breaker.state()).isEqualTo(CacheCircuitBreaker.State.OPEN);
+
+        int commands = redis.commands();
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            cache.get("java");
+        }
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(TIMEOUT.toMillis());
+        assertThat(redis.commands()).isEqualTo(commands);
+
+        redis.latency(Duration.ZERO);
+        clock.addAndGet(OPEN_DURATION.toNanos());
+        cache.put("java", "proyectos java");
+
+        assertThat(breaker.state()).isEqualTo(CacheCircuitBreaker.State.CLOSED);
+        assertThat(redis.stored()).containsEntry("searchBySkill::java", "proyectos java");
+    }
+
+    @Test
+    void fullPoolIsALocalMissThatDoesNotOpenTheCircuit() {
+        ExecutorService rejecting = Executors.newSingleThreadExecutor();
+        rejecting.shutdown();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ResilientCache cache = new ResilientCache(new ConcurrentMapCache("projectDetails"),
+                new RedisGuard(breaker, TIMEOUT, rejecting, meterRegistry), null,
+                Caffeine.newBuilder().build(), meterRegistry, () -> {
+                });
+
+        cache.put("p1", "proyecto 1");
+        for (int i = 0; i < FAILURE_THRESHOLD * 2; i++) {
+            assertThat(cache.get("p2")).isNull();
+        }
+
+        assertThat(breaker.state()).isEqualTo(CacheCircuitBreaker.State.CLOSED);
+        assertThat(cache.get("p1").get()).isEqualTo("proyecto 1");
+    }
+
+    @Test
+    void evictDroppedWhileTheCircuitIsOpenIsReplayedWhenItCloses() throws InterruptedException {
+        Cache cache = cacheManager.getCache("projectDetails");
+        cache.put("p1", "proyecto 1");
+        redis.latency(SLOW);
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            cache.get("p2");
+        }
+        assertThat(breaker.state()).isEqualTo(CacheCircuitBreaker.State.OPEN);
+
+        cache.evict("p1");
+        assertThat(redis.stored()).containsKey("projectDetails::p1");
+
+        redis.latency(Duration.ZERO);
+        clock.addAndGet(OPEN_DURATION.toNanos());
+        cache.get("p2");
+
+        assertThat(breaker.state()).isEqualTo(CacheCircuitBreaker.State.CLOSED);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (redis.stored().containsKey("projectDetails::p1") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(redis.stored()).doesNotContainKey("projectDetails::p1");
+        verify(bus, timeout(5_000)).publishEvict("projectDetails", "p1");
+    }
+
+    @Test
+    void clearDroppedWhileTheCircuitIsOpenIsReplayedWhenItCloses() throws InterruptedException {
+        Cache cache = cacheManager.getCache("skillStats");
+        cache.put("10", "estadísticas");
+        cache.put("20", "estadísticas");
+        redis.latency(SLOW);
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            cache.get("30");
+        }
+
+        cache.evict("10");
+        cache.clear();
+
+        redis.latency(Duration.ZERO);
+        clock.addAndGet(OPEN_DURATION.toNanos());
+        cache.get("30");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (redis.stored().containsKey("skillStats::20") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(redis.stored()).doesNotContainKeys("skillStats::10", "skillStats::20");
+    }
+}
@@ -0,0 +1,21 @@
+package com.nezhub.app.infrastructure.cache;
+
+import graphql.GraphQLContext;
+import io.micrometer.context.ContextSnapshotFactory;
+
+import java.util.Map;
+
+/**
+ * Ejecuta código de test con un Marker de CacheStaleness como marca del hilo actual, igual que Spring GraphQL
+ * en cada data fetcher: el Marker va en el GraphQLContext y Context Propagation lo restaura alrededor de la acción.
+ */
+final class StaleMarkerContext {
+
+    private StaleMarkerContext() {
+    }
+
+    static void runWith(CacheStaleness.Marker marker, Runnable action) {
+        GraphQLContext context = GraphQLContext.of(Map.of(CacheStaleness.CONTEXT_KEY, marker));
+        ContextSnapshotFactory.builder().build().captureFrom(context).wrap(action).run();
+    }
+}
@@ -0,0 +1,254 @@
+package com.nezhub.app.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Dos nodos (TwoLevelCacheManager) sobre la misma L2 en memoria. El pub/sub de Redis se sustituye por
+ * una entrega síncrona a todos los buses y el lease por uno en memoria compartido. duringNextRead
+ * ejecuta una acción en mitad de la siguiente lectura de L2 (después de leer, antes de rellenar L1).
+ */
+class TwoLevelCacheTest {
+
+    private static final String CACHE = "projectDetails";
+    private static final Duration LEASE_TTL = Duration.ofSeconds(5);
+
+    private final AtomicReference<Runnable> duringNextRead = new AtomicReference<>();
+    private final ConcurrentMapCacheManager l2 = new ConcurrentMapCacheManager() {
+        @Override
+        protected Cache createConcurrentMapCache(String name) {
+            return new ConcurrentMapCache(name) {
+                @Override
+                public ValueWrapper get(Object key) {
+                    ValueWrapper value = super.get(key);
+                    Runnable action = duringNextRead.getAndSet(null);
+                    if (action != null) {
+                        action.run();
+                    }
+                    return value;
+                }
+            };
+        }
+    };
+    private final List<CacheInvalidationBus> buses = new CopyOnWriteArrayList<>();
+    private final Set<String> leases = ConcurrentHashMap.newKeySet();
+    private ExecutorService threads;
+
+    @BeforeEach
+    void setUp() {
+        threads = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    void concurrentMissesOnOneNodeRunTheLoaderOnce() throws Exception {
+        Cache cache = node(Duration.ofMillis(200)).getCache(CACHE);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(threads.submit(() -> cache.get("p1", () -> {
+                loads.incrementAndGet();
+                release.await();
+                return "proyecto 1";
+            })));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("proyecto 1");
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void concurrentMissesOnTwoNodesRunTheLoaderOnceAndWakeOnTheWrite() throws Exception {
+        Cache first = node(LEASE_TTL).getCache(CACHE);
+        Cache second = node(LEASE_TTL).getCache(CACHE);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> loader = threads.submit(() -> first.get("p1", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            release.await();
+            return "proyecto 1";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<String> waiter = threads.submit(() -> second.get("p1", () -> {
+            loads.incrementAndGet();
+            return "cargado dos veces";
+        }));
+        Thread.sleep(100);
+        long released = System.nanoTime();
+        release.countDown();
+
+        assertThat(loader.get(5, TimeUnit.SECONDS)).isEqualTo("proyecto 1");
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("proyecto 1");
+        // Despertado por el aviso de escritura, no por agotar la espera máxima (el ttl del lease)
+        assertThat((System.nanoTime() - released) / 1_000_000).isLessThan(LEASE_TTL.toMillis() / 2);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void waiterLoadsItselfAfterTheShortMaxWait() {
+        Duration maxWait = Duration.ofMillis(100);
+        Cache cache = node(maxWait).getCache(CACHE);
+        // Otro nodo tiene el lease y nunca escribe el valor
+        leases.add(CACHE + "::p1");
+
+        long start = System.nanoTime();
+        Object value = cache.get("p1", () -> "cargado aquí");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(value).isEqualTo("cargado aquí");
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(maxWait.toMillis()).isLessThan(LEASE_TTL.toMillis());
+    }
+
+    @Test
+    void l2HitsAreServedFromL1Afterwards() {
+        Cache cache = node(LEASE_TTL).getCache(CACHE);
+        l2.getCache(CACHE).put("p1", "proyecto 1");
+
+        assertThat(cache.get("p1").get()).isEqualTo("proyecto 1");
+        // Cambio en L2 sin aviso: la copia L1 se mantiene hasta su TTL
+        l2.getCache(CACHE).put("p1", "sin aviso");
+
+        assertThat(cache.get("p1").get()).isEqualTo("proyecto 1");
+    }
+
+    @Test
+    void writesAndEvictsOnOneNodeInvalidateTheOtherNodesL1() {
+        Cache first = node(LEASE_TTL).getCache(CACHE);
+        Cache second = node(LEASE_TTL).getCache(CACHE);
+        second.put("p1", "versión 1");
+        assertThat(first.get("p1").get()).isEqualTo("versión 1");
+
+        second.put("p1", "versión 2");
+        assertThat(first.get("p1").get()).isEqualTo("versión 2");
+
+        second.evict("p1");
+        assertThat(first.get("p1")).isNull();
+    }
+
+    @Test
+    void evictDuringAnL2ReadDoesNotLeaveTheOldValueInL1() {
+        Cache first = node(LEASE_TTL).getCache(CACHE);
+        Cache second = node(LEASE_TTL).getCache(CACHE);
+        second.put("p1", "versión 1");
+        duringNextRead.set(() -> second.put("p1", "versión 2"));
+
+        // La lectura en curso devuelve lo que leyó, pero no lo deja en L1
+        assertThat(first.get("p1").get()).isEqualTo("versión 1");
+        assertThat(first.get("p1").get()).isEqualTo("versión 2");
+    }
+
+    @Test
+    void clearDuringAnL2ReadDoesNotLeaveTheOldValueInL1() {
+        Cache first = node(LEASE_TTL).getCache(CACHE);
+        node(LEASE_TTL);
+        l2.getCache(CACHE).put("p1", "versión 1");
+        duringNextRead.set(() -> {
+            l2.getCache(CACHE).clear();
+            buses.get(1).publishClear(CACHE);
+        });
+
+        assertThat(first.get("p1").get()).isEqualTo("versión 1");
+        assertThat(first.get("p1")).isNull();
+    }
+
+    @Test
+    void localWriteDuringAnL2ReadIsNotOverwrittenByTheOldValue() {
+        Cache cache = node(LEASE_TTL).getCache(CACHE);
+        l2.getCache(CACHE).put("p1", "versión 1");
+        duringNextRead.set(() -> cache.put("p1", "versión 2"));
+
+        cache.get("p1");
+
+        assertThat(cache.get("p1").get()).isEqualTo("versión 2");
+    }
+
+    @Test
+    void invalidationsOfOtherKeysDoNotPreventTheFill() {
+        Cache cache = node(LEASE_TTL).getCache(CACHE);
+        l2.getCache(CACHE).put("p1", "proyecto 1");
+        // p1 y p2 caen en franjas distintas
+        duringNextRead.set(() -> cache.evict("p2"));
+
+        cache.get("p1");
+        l2.getCache(CACHE).put("p1", "sin aviso");
+
+        assertThat(cache.get("p1").get()).isEqualTo("proyecto 1");
+    }
+
+    private TwoLevelCacheManager node(Duration maxWait) {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        doAnswer(invocation -> {
+            byte[] body = invocation.<String>getArgument(1).getBytes(StandardCharsets.UTF_8);
+            buses.forEach(bus -> bus.onMessage(
+                    new DefaultMessage(CacheInvalidationBus.CHANNEL.getBytes(StandardCharsets.UTF_8), body), null));
+            return 1L;
+        }).when(redisTemplate).convertAndSend(eq(CacheInvalidationBus.CHANNEL), anyString());
+        CacheInvalidationBus bus = new CacheInvalidationBus(redisTemplate);
+        buses.add(bus);
+
+        return new TwoLevelCacheManager(l2, Map.of(CACHE, new TwoLevelCacheManager.L1Spec(100, Duration.ofMinutes(1))),
+                bus, new InMemoryLease(maxWait), new SimpleMeterRegistry());
+    }
+
+    /**
+     * Lease compartido por los nodos del test (en lugar de SET NX en Redis).
+     */
+    private class InMemoryLease extends CacheLoadLease {
+
+        InMemoryLease(Duration maxWait) {
+            super(null, null, LEASE_TTL, maxWait);
+        }
+
+        @Override
+        boolean tryAcquire(String cacheName, String key) {
+            return leases.add(cacheName + "::" + key);
+        }
+
+        @Override
+        void release(String cacheName, String key) {
+            leases.remove(cacheName + "::" + key);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.nezhub.app.presentation.graphql;
+
+import com.nezhub.app.infrastructure.cache.RefreshAheadCache.Stamped;
+import com.nezhub.app.infrastructure.cache.RefreshAheadCacheManager;
+import com.nezhub.app.infrastructure.cache.RefreshAheadCacheManager.RefreshPolicy;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.graphql.execution.DefaultExecutionGraphQlService;
+import org.springframework.graphql.execution.GraphQlSource;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * StaleCacheInterceptor con un WebGraphQlHandler real: la marca llega desde data fetchers síncronos
+ * y desde los que se resuelven en otro hilo (executor con Context Propagation, como los Callable
+ * de los controllers), y no pasa de un request al siguiente.
+ */
+class StaleCacheInterceptorTest {
+
+    private static final String SCHEMA = "type Query { skillStats: String, statusStats: String, fresh: String }";
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private final ConcurrentMapCacheManager storage = new ConcurrentMapCacheManager();
+    private RefreshAheadCacheManager cacheManager;
+    private ExecutorService fetchers;
+    private WebGraphQlHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        RefreshPolicy policy = new RefreshPolicy(TTL, 0.5, TTL);
+        cacheManager = new RefreshAheadCacheManager(storage,
+                Map.of("skillStats", policy, "statusStats", policy, "fresh", policy),
+                Duration.ofMillis(200), 2, new SimpleMeterRegistry());
+        fetchers = ContextExecutorService.wrap(Executors.newSingleThreadExecutor(), ContextSnapshotFactory.builder().build());
+
+        GraphQlSource source = GraphQlSource.schemaResourceBuilder()
+                .schemaResources(new ByteArrayResource(SCHEMA.getBytes()))
+                .configureRuntimeWiring(wiring -> wiring.type("Query", type -> type
+                        .dataFetcher("skillStats", env -> failingRead("skillStats"))
+                        .dataFetcher("statusStats", env -> CompletableFuture.supplyAsync(
+                                () -> failingRead("statusStats"), fetchers))
+                        .dataFetcher("fresh", env -> cacheManager.getCache("fresh").get("k", () -> "nuevo"))))
+                .build();
+        handler = WebGraphQlHandler.builder(new DefaultExecutionGraphQlService(source))
+                .interceptor(new StaleCacheInterceptor())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fetchers.shutdownNow();
+        cacheManager.close();
+    }
+
+    @Test
+    void staleReadsFromAnyThreadAreReportedInTheExtensions() {
+        WebGraphQlResponse response = execute("{ skillStats statusStats }");
+
+        assertThat(response.<Map<String, Object>>getData()).containsEntry("skillStats", "antiguo");
+        assertThat(response.getExtensions()).containsKey(StaleCacheInterceptor.EXTENSION);
+        assertThat(response.getExtensions().get(StaleCacheInterceptor.EXTENSION)).asInstanceOf(InstanceOfAssertFactories.LIST)
+                .containsExactlyInAnyOrder("skillStats", "statusStats");
+    }
+
+    @Test
+    void theMarkDoesNotLeakIntoTheNextRequest() {
+        execute("{ skillStats }");
+
+        WebGraphQlResponse response = execute("{ fresh }");
+
+        assertThat(response.getExtensions()).doesNotContainKey(StaleCacheInterceptor.EXTENSION);
+    }
+
+    private String failingRead(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        storage.getCache(cacheName).put("k",
+                new Stamped("antiguo", System.currentTimeMillis() - TTL.multipliedBy(2).toMillis()));
+        return cache.get("k", () -> {
+            throw new IllegalStateException("MongoDB no disponible");
+        });
+    }
+
+    private WebGraphQlResponse execute(String query) {
+        WebGraphQlRequest request = new WebGraphQlRequest(URI.create("http://localhost/graphql"), new HttpHeaders(),
+                new LinkedMultiValueMap<>(), Map.of(), Map.of("query", query), "1", Locale.ROOT);
+        return handler.handleRequest(request).block(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,105 @@
+package com.nezhub.app.presentation.rest;
+
+import com.nezhub.app.application.service.ProjectExportService;
+import com.nezhub.app.infrastructure.config.WebMvcConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ProjectExportController con la configuración MVC de la aplicación (WebMvcConfig) y sin MongoDB:
+ * negociación de gzip y timeout propio del export.
+ */
+@SpringJUnitWebConfig(ProjectExportControllerTest.ExportConfig.class)
+class ProjectExportControllerTest {
+
+    private static final Duration EXPORT_TIMEOUT = Duration.ofMinutes(30);
+
+    @Configuration
+    @EnableWebMvc
+    @Import(WebMvcConfig.class)
+    static class ExportConfig {
+
+        @Bean
+        ProjectExportController projectExportController() throws Exception {
+            ProjectExportService exportService = mock(ProjectExportService.class);
+            doAnswer(invocation -> {
+                invocation.<OutputStream>getArgument(2).write("{\"id\":\"p1\"}\n".getBytes(StandardCharsets.UTF_8));
+                return null;
+            }).when(exportService).exportNdjson(isNull(), isNull(), any(OutputStream.class));
+            return new ProjectExportController(exportService, EXPORT_TIMEOUT);
+        }
+    }
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void exportUsesItsOwnAsyncTimeout() throws Exception {
+        MvcResult result = mockMvc.perform(get("/export/projects"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(EXPORT_TIMEOUT.toMillis());
+    }
+
+    @Test
+    void gzipWithZeroQualityIsNotCompressed() throws Exception {
+        MvcResult result = mockMvc.perform(get("/export/projects").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, br"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(content().string("{\"id\":\"p1\"}\n"));
+    }
+
+    @Test
+    void acceptEncodingQualityValuesAreHonoured() {
+        assertThat(ProjectExportController.acceptsGzip("gzip")).isTrue();
+        assertThat(ProjectExportController.acceptsGzip("deflate, GZIP;q=0.5")).isTrue();
+        assertThat(ProjectExportController.acceptsGzip("x-gzip")).isTrue();
+        assertThat(ProjectExportController.acceptsGzip("*")).isTrue();
+        assertThat(ProjectExportController.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(ProjectExportController.acceptsGzip("gzip; q=0.0, *;q=1")).isFalse();
+        assertThat(ProjectExportController.acceptsGzip("*;q=0")).isFalse();
+        assertThat(ProjectExportController.acceptsGzip("br, deflate")).isFalse();
+        assertThat(ProjectExportController.acceptsGzip("gzip;q=abc")).isFalse();
+        assertThat(ProjectExportController.acceptsGzip(null)).isFalse();
+    }
+}